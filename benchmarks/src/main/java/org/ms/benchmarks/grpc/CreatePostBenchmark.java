@@ -0,0 +1,170 @@
+package org.ms.benchmarks.grpc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.Server;
+import io.grpc.ServerBuilder;
+import org.ms.benchmarks.support.ExistingUserService;
+import org.ms.grpc_prop.prop.UserRequest;
+import org.ms.grpc_prop.prop.UserResponse;
+import org.ms.grpc_prop.prop.UserServiceGrpc;
+import org.ms.post.config.grpc.GrpcChannelPool;
+import org.ms.post.config.grpc.UserGrpcClientProperties;
+import org.ms.post.controller.PostController;
+import org.ms.post.mappers.impl.PostMapper;
+import org.ms.post.model.dto.PostDto;
+import org.ms.post.model.entity.PostEntity;
+import org.ms.post.service.PostService;
+import org.ms.post.service.impl.UserService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.ResponseEntity;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Measures the latency distribution of {@link PostController#createPost(PostDto)} against a
+ * real gRPC user service listening on a local TCP port.
+ * <p>
+ *     The {@code channelPerCall} benchmark reproduces the previous behaviour, where every call
+ *     opened and shut down its own channel, while {@code pooledChannel} goes through the
+ *     {@link GrpcChannelPool}; both bypass the user existence cache. {@code cachedUser} answers
+ *     from the near-cache after the first call. The sample-time mode reports the p50 and p99 latencies.
+ * </p>
+ * <pre>
+ *     java -jar benchmarks/target/benchmarks.jar CreatePostBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CreatePostBenchmark {
+
+    private Server server;
+    private GrpcChannelPool channelPool;
+    private PostController pooledController;
+    private PostController cachedController;
+    private PostController channelPerCallController;
+    private PostDto post;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        server = ServerBuilder.forPort(0).addService(new ExistingUserService()).build().start();
+
+        UserGrpcClientProperties properties = new UserGrpcClientProperties();
+        properties.setTarget("localhost:" + server.getPort());
+        channelPool = new GrpcChannelPool(properties);
+
+        PostMapper postMapper = new PostMapper();
+        ObjectMapper objectMapper = new ObjectMapper();
+        PostService postService = new InMemoryPostService();
+        AsyncCache<Long, Boolean> noCache = Caffeine.newBuilder().maximumSize(0).executor(Runnable::run).buildAsync();
+        pooledController = new PostController(postService,
+                new UserService(channelPool, properties, noCache), postMapper, objectMapper);
+        cachedController = new PostController(postService,
+                new UserService(channelPool, properties, Caffeine.newBuilder().buildAsync()), postMapper, objectMapper);
+        channelPerCallController = new PostController(postService,
+                new ChannelPerCallUserService(channelPool, properties, noCache, server.getPort()), postMapper, objectMapper);
+
+        post = PostDto.builder().userId(1L).body("A post body used by the benchmark").build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        channelPool.close();
+        server.shutdown().awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    @Benchmark
+    public ResponseEntity<PostDto> pooledChannel() {
+        return pooledController.createPost(post);
+    }
+
+    @Benchmark
+    public ResponseEntity<PostDto> cachedUser() {
+        return cachedController.createPost(post);
+    }
+
+    @Benchmark
+    public ResponseEntity<PostDto> channelPerCall() {
+        return channelPerCallController.createPost(post);
+    }
+
+    /**
+     * The previous client behaviour: a new channel is built and shut down for every call.
+     */
+    static class ChannelPerCallUserService extends UserService {
+
+        private final int port;
+
+        ChannelPerCallUserService(GrpcChannelPool channelPool, UserGrpcClientProperties properties,
+                                  AsyncCache<Long, Boolean> cache, int port) {
+            super(channelPool, properties, cache);
+            this.port = port;
+        }
+
+        @Override
+        public boolean getUserById(Long id) {
+            ManagedChannel channel = ManagedChannelBuilder.forAddress("localhost", port).usePlaintext().build();
+
+            UserServiceGrpc.UserServiceBlockingStub stub = UserServiceGrpc.newBlockingStub(channel);
+            UserResponse userResponse = stub.getUserById(UserRequest.newBuilder().setUserId(id).build());
+            channel.shutdown();
+
+            return userResponse.getFound();
+        }
+    }
+
+    /**
+     * A post service that assigns identifiers without touching a database.
+     */
+    static class InMemoryPostService implements PostService {
+
+        private final AtomicLong ids = new AtomicLong();
+
+        @Override
+        public List<PostEntity> getPosts(long after, int limit) {
+            return List.of();
+        }
+
+        @Override
+        public void streamPosts(long after, Consumer<PostEntity> consumer) {
+        }
+
+        @Override
+        public PostEntity createPost(PostEntity post) {
+            post.setId(ids.incrementAndGet());
+            return post;
+        }
+
+        @Override
+        public List<PostEntity> createPosts(List<PostEntity> posts) {
+            posts.forEach(this::createPost);
+            return posts;
+        }
+
+        @Override
+        public PostEntity getPost(Long id) {
+            return null;
+        }
+
+        @Override
+        public List<PostEntity> getPostsByUserId(Long userId, long after, int limit) {
+            return List.of();
+        }
+
+        @Override
+        public PostEntity getPostByUserIdAndPostId(Long userId, Long postId) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package org.ms.benchmarks.grpc;
+
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.ServerInterceptors;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.ms.benchmarks.support.BenchmarkContexts;
+import org.ms.grpc_prop.prop.UserRequest;
+import org.ms.grpc_prop.prop.UserResponse;
+import org.ms.grpc_prop.prop.UserServiceGrpc;
+import org.ms.grpc_prop.prop.UsersRequest;
+import org.ms.grpc_prop.prop.UsersResponse;
+import org.ms.user.config.grpc.GrpcServerMetricsInterceptor;
+import org.ms.user.model.entity.UserEntity;
+import org.ms.user.repository.UserRepository;
+import org.ms.user.service.impl.UserServiceGRPC;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures gRPC round trips to the {@link UserServiceGRPC} of the user application, over the
+ * in-process transport.
+ * <p>
+ *     The calls go through the stubs, the marshallers and the call machinery of gRPC, but not through
+ *     a socket, so the numbers are the cost of the gRPC stack and of the handler and its lookups in
+ *     an in-memory H2 database holding {@value #USERS} users. With {@code metrics}, the server records
+ *     its calls with the {@link GrpcServerMetricsInterceptor}, as the user service does.
+ *     {@code getUsersByIds} checks {@value #BATCH} users per call.
+ * </p>
+ * <pre>
+ *     java -jar benchmarks/target/benchmarks.jar InProcessUserGrpcBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InProcessUserGrpcBenchmark {
+
+    private static final int USERS = 1000;
+    private static final int BATCH = 100;
+
+    @Param({"false", "true"})
+    private boolean metrics;
+
+    private ConfigurableApplicationContext context;
+    private Server server;
+    private ManagedChannel channel;
+    private UserServiceGrpc.UserServiceBlockingStub stub;
+    private List<Long> userIds;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        context = BenchmarkContexts.startUserApplication();
+        List<UserEntity> users = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            users.add(UserEntity.builder().name("benchmark user " + i).build());
+        }
+        userIds = context.getBean(UserRepository.class).saveAll(users).stream().map(UserEntity::getId).toList();
+
+        String name = InProcessServerBuilder.generateName();
+        UserServiceGRPC service = context.getBean(UserServiceGRPC.class);
+        InProcessServerBuilder builder = InProcessServerBuilder.forName(name).directExecutor();
+        if (metrics) {
+            GrpcServerMetricsInterceptor interceptor = new GrpcServerMetricsInterceptor(new SimpleMeterRegistry());
+            builder.addStreamTracerFactory(interceptor).addService(ServerInterceptors.intercept(service, interceptor));
+        } else {
+            builder.addService(service);
+        }
+        server = builder.build().start();
+        channel = InProcessChannelBuilder.forName(name).directExecutor().build();
+        stub = UserServiceGrpc.newBlockingStub(channel);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        server.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        context.close();
+    }
+
+    @Benchmark
+    public UserResponse getUserById() {
+        return stub.getUserById(UserRequest.newBuilder().setUserId(nextUserId()).build());
+    }
+
+    @Benchmark
+    public UsersResponse getUsersByIds() {
+        UsersRequest.Builder request = UsersRequest.newBuilder();
+        for (int i = 0; i < BATCH; i++) {
+            request.addUserIds(nextUserId());
+        }
+        return stub.getUsersByIds(request.build());
+    }
+
+    private long nextUserId() {
+        return userIds.get(ThreadLocalRandom.current().nextInt(userIds.size()));
+    }
+}
@@ -0,0 +1,88 @@
+package org.ms.benchmarks.grpc;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import io.grpc.MethodDescriptor;
+import org.ms.grpc_prop.prop.UserRequest;
+import org.ms.grpc_prop.prop.UserResponse;
+import org.ms.grpc_prop.prop.UserServiceGrpc;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the protobuf encoding and decoding of the {@code getUserById} messages.
+ * <p>
+ *     The {@code encode} benchmarks build a new message for every operation, as the client and the
+ *     handler do, since a message caches its serialized size once it has been computed. The
+ *     {@code unmarshal} benchmarks decode the bytes through the marshallers of the gRPC method, as
+ *     the transport does with the bytes it received. The decoded {@code name} of a response is
+ *     read, since protobuf decodes string fields lazily.
+ * </p>
+ * <pre>
+ *     java -jar benchmarks/target/benchmarks.jar ProtobufCodecBenchmark -prof gc
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProtobufCodecBenchmark {
+
+    private static final MethodDescriptor<UserRequest, UserResponse> GET_USER_BY_ID = UserServiceGrpc.getGetUserByIdMethod();
+    private static final String NAME = "benchmark user";
+
+    private byte[] requestBytes;
+    private byte[] responseBytes;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        requestBytes = UserRequest.newBuilder().setUserId(1_234_567L).build().toByteArray();
+        responseBytes = newResponse(1_234_567L).toByteArray();
+    }
+
+    @Benchmark
+    public byte[] encodeUserRequest() {
+        return UserRequest.newBuilder().setUserId(nextUserId()).build().toByteArray();
+    }
+
+    @Benchmark
+    public UserRequest decodeUserRequest() throws InvalidProtocolBufferException {
+        return UserRequest.parseFrom(requestBytes);
+    }
+
+    @Benchmark
+    public byte[] encodeUserResponse() {
+        return newResponse(nextUserId()).toByteArray();
+    }
+
+    @Benchmark
+    public String decodeUserResponse() throws InvalidProtocolBufferException {
+        return UserResponse.parseFrom(responseBytes).getName();
+    }
+
+    @Benchmark
+    public UserRequest unmarshalUserRequest() {
+        return GET_USER_BY_ID.parseRequest(new ByteArrayInputStream(requestBytes));
+    }
+
+    @Benchmark
+    public String unmarshalUserResponse() {
+        return GET_USER_BY_ID.parseResponse(new ByteArrayInputStream(responseBytes)).getName();
+    }
+
+    private static UserResponse newResponse(long userId) {
+        return UserResponse.newBuilder()
+                .setUserId(userId)
+                .setName(NAME)
+                .setFound(true)
+                .build();
+    }
+
+    private static long nextUserId() {
+        return ThreadLocalRandom.current().nextLong(1, 10_000_000L);
+    }
+}
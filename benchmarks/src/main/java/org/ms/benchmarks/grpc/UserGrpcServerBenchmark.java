@@ -0,0 +1,77 @@
+package org.ms.benchmarks.grpc;
+
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import org.ms.benchmarks.support.BenchmarkContexts;
+import org.ms.grpc_prop.prop.UserRequest;
+import org.ms.grpc_prop.prop.UserResponse;
+import org.ms.grpc_prop.prop.UserServiceGrpc;
+import org.ms.user.config.grpc.GrpcServerLifecycle;
+import org.ms.user.model.entity.UserEntity;
+import org.ms.user.repository.UserRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load test of the unary {@code getUserById} call for each executor of the user service gRPC server.
+ * <p>
+ *     The user application runs with its gRPC server on a free port, against an in-memory H2
+ *     database holding {@value #USERS} users. 16 client threads share one channel and call the
+ *     server back to back.
+ * </p>
+ * <pre>
+ *     java -jar benchmarks/target/benchmarks.jar UserGrpcServerBenchmark
+ *     java -jar benchmarks/target/benchmarks.jar UserGrpcServerBenchmark -p executor=bounded,direct
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(16)
+@Fork(1)
+public class UserGrpcServerBenchmark {
+
+    private static final int USERS = 1000;
+
+    @Param({"bounded", "direct", "virtual"})
+    private String executor;
+
+    private ConfigurableApplicationContext context;
+    private ManagedChannel channel;
+    private UserServiceGrpc.UserServiceBlockingStub stub;
+    private List<Long> userIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContexts.startUserApplication("--grpc.server.executor=" + executor);
+
+        List<UserEntity> users = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            users.add(UserEntity.builder().name("benchmark user " + i).build());
+        }
+        userIds = context.getBean(UserRepository.class).saveAll(users).stream().map(UserEntity::getId).toList();
+
+        int port = context.getBean(GrpcServerLifecycle.class).getPort();
+        channel = ManagedChannelBuilder.forAddress("localhost", port).usePlaintext().build();
+        stub = UserServiceGrpc.newBlockingStub(channel);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        channel.shutdown().awaitTermination(5, TimeUnit.SECONDS);
+        context.close();
+    }
+
+    @Benchmark
+    public UserResponse getUserById() {
+        long userId = userIds.get(ThreadLocalRandom.current().nextInt(userIds.size()));
+        return stub.getUserById(UserRequest.newBuilder().setUserId(userId).build());
+    }
+}
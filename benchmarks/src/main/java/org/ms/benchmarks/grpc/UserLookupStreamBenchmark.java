@@ -0,0 +1,128 @@
+package org.ms.benchmarks.grpc;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import org.ms.benchmarks.support.BenchmarkContexts;
+import org.ms.grpc_prop.prop.UserRequest;
+import org.ms.grpc_prop.prop.UserResponse;
+import org.ms.grpc_prop.prop.UserServiceGrpc;
+import org.ms.post.config.grpc.GrpcChannelPool;
+import org.ms.post.config.grpc.UserGrpcClientProperties;
+import org.ms.post.service.impl.UserLookupStreamClient;
+import org.ms.user.config.grpc.GrpcServerLifecycle;
+import org.ms.user.model.entity.UserEntity;
+import org.ms.user.repository.UserRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the throughput of user existence checks over the {@code lookupUsers} stream with unary
+ * {@code getUserById} calls.
+ * <p>
+ *     The user application runs with its gRPC server on a free port, against an in-memory H2
+ *     database holding {@value #USERS} users; the post side uses its pooled channel. 16 client
+ *     threads check one user at a time ({@code unary}, {@code stream}) or {@value #BURST} users
+ *     at a time without waiting in between ({@code unaryBurst}, {@code streamBurst}). The scores
+ *     are in checks per second.
+ * </p>
+ * <pre>
+ *     java -jar benchmarks/target/benchmarks.jar UserLookupStreamBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(16)
+@Fork(1)
+public class UserLookupStreamBenchmark {
+
+    private static final int USERS = 1000;
+    private static final int BURST = 100;
+
+    private ConfigurableApplicationContext context;
+    private GrpcChannelPool channelPool;
+    private UserServiceGrpc.UserServiceBlockingStub blockingStub;
+    private UserServiceGrpc.UserServiceFutureStub futureStub;
+    private UserLookupStreamClient streamClient;
+    private List<Long> userIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContexts.startUserApplication();
+        List<UserEntity> users = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            users.add(UserEntity.builder().name("benchmark user " + i).build());
+        }
+        userIds = context.getBean(UserRepository.class).saveAll(users).stream().map(UserEntity::getId).toList();
+
+        UserGrpcClientProperties properties = new UserGrpcClientProperties();
+        properties.setTarget("localhost:" + context.getBean(GrpcServerLifecycle.class).getPort());
+        properties.setDeadline(Duration.ofSeconds(10));
+        channelPool = new GrpcChannelPool(properties);
+        blockingStub = UserServiceGrpc.newBlockingStub(channelPool.next());
+        futureStub = UserServiceGrpc.newFutureStub(channelPool.next());
+        streamClient = new UserLookupStreamClient(channelPool, properties);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        streamClient.close();
+        channelPool.close();
+        context.close();
+    }
+
+    @Benchmark
+    public boolean unary() {
+        return blockingStub.getUserById(request()).getFound();
+    }
+
+    @Benchmark
+    public boolean stream() {
+        return streamClient.userExists(nextUserId()).join();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BURST)
+    public int unaryBurst() throws ExecutionException, InterruptedException {
+        List<ListenableFuture<UserResponse>> answers = new ArrayList<>(BURST);
+        for (int i = 0; i < BURST; i++) {
+            answers.add(futureStub.getUserById(request()));
+        }
+        int found = 0;
+        for (ListenableFuture<UserResponse> answer : answers) {
+            found += answer.get().getFound() ? 1 : 0;
+        }
+        return found;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BURST)
+    public int streamBurst() {
+        List<CompletableFuture<Boolean>> answers = new ArrayList<>(BURST);
+        for (int i = 0; i < BURST; i++) {
+            answers.add(streamClient.userExists(nextUserId()));
+        }
+        int found = 0;
+        for (CompletableFuture<Boolean> answer : answers) {
+            found += answer.join() ? 1 : 0;
+        }
+        return found;
+    }
+
+    private UserRequest request() {
+        return UserRequest.newBuilder().setUserId(nextUserId()).build();
+    }
+
+    private long nextUserId() {
+        return userIds.get(ThreadLocalRandom.current().nextInt(userIds.size()));
+    }
+}
@@ -0,0 +1,101 @@
+package org.ms.benchmarks.kafka;
+
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.LongSerializer;
+import org.ms.benchmarks.support.BenchmarkContexts;
+import org.ms.grpc_prop.prop.UserDeletedEvent;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how fast the post service consumes the 'post_user' user deletion events.
+ * <p>
+ *     An embedded Kafka broker is started, and the post application consumes from it against
+ *     an in-memory H2 database. Each invocation publishes {@value #EVENTS} events for new users
+ *     and waits until the listener has recorded all of them; the chunked post deletions are not
+ *     run. With {@code maxPollRecords=1}, the listener handles one event per call, as the
+ *     record-at-a-time listener did.
+ * </p>
+ * <pre>
+ *     java -jar benchmarks/target/benchmarks.jar PostUserListenerBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PostUserListenerBenchmark {
+
+    private static final String TOPIC = "post_user";
+    private static final int PARTITIONS = 3;
+    private static final int EVENTS = 10_000;
+
+    @Param({"1", "500"})
+    private int maxPollRecords;
+
+    @Param({"1", "3"})
+    private int concurrency;
+
+    private EmbeddedKafkaKraftBroker broker;
+    private ConfigurableApplicationContext context;
+    private KafkaProducer<Long, byte[]> producer;
+    private JdbcTemplate jdbcTemplate;
+    private long nextUserId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        broker = new EmbeddedKafkaKraftBroker(1, PARTITIONS, TOPIC);
+        broker.afterPropertiesSet();
+        context = BenchmarkContexts.startPostApplication(0,
+                "--spring.kafka.bootstrap-servers=" + broker.getBrokersAsString(),
+                "--spring.kafka.listener.auto-startup=true",
+                "--kafka.consumer.max-poll-records=" + maxPollRecords,
+                "--kafka.consumer.concurrency=" + concurrency,
+                "--cleanup.posts.poll-interval=3600000");
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        producer = new KafkaProducer<>(Map.of(
+                ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString(),
+                ProducerConfig.LINGER_MS_CONFIG, 5,
+                ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, LongSerializer.class,
+                ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class));
+        nextUserId = 1;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        producer.close();
+        context.close();
+        broker.destroy();
+    }
+
+    @Benchmark
+    public long consume() throws InterruptedException {
+        for (int i = 0; i < EVENTS; i++) {
+            long userId = nextUserId++;
+            byte[] event = UserDeletedEvent.newBuilder().setUserId(userId).build().toByteArray();
+            producer.send(new ProducerRecord<>(TOPIC, userId, event));
+        }
+        producer.flush();
+        long expected = nextUserId - 1;
+        long recorded;
+        while ((recorded = countRecorded()) < expected) {
+            Thread.sleep(5);
+        }
+        return recorded;
+    }
+
+    private long countRecorded() {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM post_cleanups", Long.class);
+        return count == null ? 0 : count;
+    }
+}
@@ -0,0 +1,94 @@
+package org.ms.benchmarks.kafka;
+
+import org.ms.benchmarks.support.BenchmarkContexts;
+import org.ms.user.service.impl.UserEventPublisher;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput of the user deletion events published by {@link UserEventPublisher}.
+ * <p>
+ *     The user application publishes to an embedded Kafka broker, standing in for the real one.
+ *     Each invocation sends {@value #EVENTS} events without waiting, as concurrent deletions do,
+ *     then waits for all their acknowledgements; the {@code events} secondary score reports the
+ *     throughput in events per second for each producer setting.
+ * </p>
+ * <pre>
+ *     java -jar benchmarks/target/benchmarks.jar UserDeletedPublishBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserDeletedPublishBenchmark {
+
+    private static final String TOPIC = UserEventPublisher.USER_DELETED_TOPIC;
+    private static final int PARTITIONS = 3;
+    private static final int EVENTS = 1000;
+
+    @Param({"0ms", "5ms", "20ms"})
+    private String linger;
+
+    @Param({"none", "lz4", "zstd"})
+    private String compressionType;
+
+    @Param({"true"})
+    private boolean idempotence;
+
+    private EmbeddedKafkaKraftBroker broker;
+    private ConfigurableApplicationContext context;
+    private UserEventPublisher publisher;
+    private long nextUserId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        broker = new EmbeddedKafkaKraftBroker(1, PARTITIONS, TOPIC);
+        broker.afterPropertiesSet();
+        context = BenchmarkContexts.startUserApplication(
+                "--spring.kafka.bootstrap-servers=" + broker.getBrokersAsString(),
+                "--kafka.producer.linger=" + linger,
+                "--kafka.producer.compression-type=" + compressionType,
+                "--kafka.producer.idempotence=" + idempotence);
+        publisher = context.getBean(UserEventPublisher.class);
+        nextUserId = 1;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+        broker.destroy();
+    }
+
+    @Benchmark
+    public void publish(EventCounter counter) {
+        CompletableFuture<?>[] sends = new CompletableFuture<?>[EVENTS];
+        for (int i = 0; i < EVENTS; i++) {
+            long userId = nextUserId++;
+            sends[i] = publisher.publish(TOPIC, userId, UserEventPublisher.userDeletedEvent(userId));
+        }
+        CompletableFuture.allOf(sends).join();
+        counter.events += EVENTS;
+    }
+
+    /**
+     * Counts the published events, so JMH reports them as a rate next to the invocation rate.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class EventCounter {
+
+        public long events;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            events = 0;
+        }
+    }
+}
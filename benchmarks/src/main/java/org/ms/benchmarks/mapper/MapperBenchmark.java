@@ -0,0 +1,95 @@
+package org.ms.benchmarks.mapper;
+
+import org.modelmapper.ModelMapper;
+import org.modelmapper.convention.MatchingStrategies;
+import org.ms.post.mappers.impl.PostMapper;
+import org.ms.post.model.dto.PostDto;
+import org.ms.post.model.entity.PostEntity;
+import org.ms.user.mappers.impl.UserMapper;
+import org.ms.user.model.dto.UserDto;
+import org.ms.user.model.entity.UserEntity;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the explicit {@link PostMapper} and {@link UserMapper} with the reflection-based
+ * {@link ModelMapper} they replaced, configured as before with the loose matching strategy.
+ * <p>
+ *     Run with the GC profiler to see the allocation rate per mapped object
+ *     ({@code gc.alloc.rate.norm}, in bytes per operation):
+ * </p>
+ * <pre>
+ *     java -jar benchmarks/target/benchmarks.jar MapperBenchmark -prof gc
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+
+    private ModelMapper modelMapper;
+    private PostMapper postMapper;
+    private UserMapper userMapper;
+
+    private PostEntity postEntity;
+    private PostDto postDto;
+    private UserEntity userEntity;
+    private UserDto userDto;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        modelMapper = new ModelMapper();
+        modelMapper.getConfiguration().setMatchingStrategy(MatchingStrategies.LOOSE);
+        postMapper = new PostMapper();
+        userMapper = new UserMapper();
+
+        postEntity = new PostEntity(42L, 7L, "A post body used by the benchmark", 0L);
+        postDto = new PostDto(42L, 7L, "A post body used by the benchmark");
+        userEntity = new UserEntity(7L, "benchmark user", 0L);
+        userDto = new UserDto(7L, "benchmark user");
+    }
+
+    @Benchmark
+    public PostDto postMapToModelMapper() {
+        return modelMapper.map(postEntity, PostDto.class);
+    }
+
+    @Benchmark
+    public PostDto postMapTo() {
+        return postMapper.mapTo(postEntity);
+    }
+
+    @Benchmark
+    public PostEntity postMapFromModelMapper() {
+        return modelMapper.map(postDto, PostEntity.class);
+    }
+
+    @Benchmark
+    public PostEntity postMapFrom() {
+        return postMapper.mapFrom(postDto);
+    }
+
+    @Benchmark
+    public UserDto userMapToModelMapper() {
+        return modelMapper.map(userEntity, UserDto.class);
+    }
+
+    @Benchmark
+    public UserDto userMapTo() {
+        return userMapper.mapTo(userEntity);
+    }
+
+    @Benchmark
+    public UserEntity userMapFromModelMapper() {
+        return modelMapper.map(userDto, UserEntity.class);
+    }
+
+    @Benchmark
+    public UserEntity userMapFrom() {
+        return userMapper.mapFrom(userDto);
+    }
+}
@@ -0,0 +1,99 @@
+package org.ms.benchmarks.post;
+
+import io.grpc.Server;
+import io.grpc.ServerBuilder;
+import org.ms.benchmarks.support.BenchmarkContexts;
+import org.ms.benchmarks.support.ExistingUserService;
+import org.ms.post.controller.PostController;
+import org.ms.post.model.dto.PostDto;
+import org.ms.post.repository.PostRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the insert throughput of {@code POST /posts/batch} with the per-item {@code POST /posts} path.
+ * <p>
+ *     The post application runs against an in-memory H2 database and a local gRPC user service
+ *     stand-in. Each invocation creates {@code rows} posts; the {@code inserted} secondary score
+ *     reports the throughput in rows per second.
+ * </p>
+ * <pre>
+ *     java -jar benchmarks/target/benchmarks.jar BatchCreatePostBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BatchCreatePostBenchmark {
+
+    @Param({"50", "500"})
+    private int rows;
+
+    private Server server;
+    private ConfigurableApplicationContext context;
+    private PostController postController;
+    private PostRepository postRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        server = ServerBuilder.forPort(0).addService(new ExistingUserService()).build().start();
+        context = BenchmarkContexts.startPostApplication(server.getPort());
+        postController = context.getBean(PostController.class);
+        postRepository = context.getBean(PostRepository.class);
+    }
+
+    @TearDown(Level.Iteration)
+    public void clearPosts() {
+        postRepository.deleteAllInBatch();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        context.close();
+        server.shutdown().awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    @Benchmark
+    public void perItem(RowCounter counter) {
+        for (PostDto post : newPosts()) {
+            postController.createPost(post);
+            counter.inserted++;
+        }
+    }
+
+    @Benchmark
+    public void batch(RowCounter counter) {
+        counter.inserted += postController.createPosts(newPosts()).getBody().size();
+    }
+
+    private List<PostDto> newPosts() {
+        List<PostDto> posts = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            posts.add(PostDto.builder().userId((long) (i % 100)).body("A post body used by the benchmark").build());
+        }
+        return posts;
+    }
+
+    /**
+     * Counts the inserted rows, so JMH reports them as a rate next to the invocation rate.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class RowCounter {
+
+        public long inserted;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            inserted = 0;
+        }
+    }
+}
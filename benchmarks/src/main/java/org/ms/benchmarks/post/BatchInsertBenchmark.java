@@ -0,0 +1,104 @@
+package org.ms.benchmarks.post;
+
+import io.grpc.ServerBuilder;
+import org.ms.benchmarks.support.BenchmarkContexts;
+import org.h2.tools.Server;
+import org.ms.benchmarks.support.ExistingUserService;
+import org.ms.post.model.entity.PostEntity;
+import org.ms.post.repository.PostRepository;
+import org.ms.post.service.PostService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the posts inserted per second by {@link PostService#createPosts(List)} for several
+ * JDBC batch sizes and sequence increments.
+ * <p>
+ *     The post application runs against an in-memory H2 database served over a local TCP port,
+ *     so that each statement or batch costs a round trip, as with a database server. Each invocation inserts
+ *     {@value #ROWS} posts in one transaction, with 'hibernate.jdbc.batch_size' set to
+ *     {@code batchSize} and the "posts_seq" sequence reserving {@code incrementSize} identifiers
+ *     per call; an increment of {@code 1} calls the sequence for every post. The {@code inserted}
+ *     secondary score reports the throughput in rows per second.
+ * </p>
+ * <pre>
+ *     java -jar benchmarks/target/benchmarks.jar BatchInsertBenchmark
+ *     java -jar benchmarks/target/benchmarks.jar BatchInsertBenchmark -p incrementSize=50
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BatchInsertBenchmark {
+
+    private static final int ROWS = 500;
+
+    @Param({"1", "50", "500"})
+    private int batchSize;
+
+    @Param({"1", "50"})
+    private int incrementSize;
+
+    private io.grpc.Server server;
+    private Server database;
+    private ConfigurableApplicationContext context;
+    private PostService postService;
+    private PostRepository postRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, SQLException {
+        server = ServerBuilder.forPort(0).addService(new ExistingUserService()).build().start();
+        database = Server.createTcpServer("-tcpPort", "0", "-ifNotExists").start();
+        context = BenchmarkContexts.startPostApplication(server.getPort(),
+                "--spring.datasource.url=jdbc:h2:tcp://localhost:" + database.getPort() + "/mem:batch-insert;DB_CLOSE_DELAY=-1",
+                "--spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize,
+                "--spring.jpa.properties.ids.sequence.increment-size=" + incrementSize);
+        postService = context.getBean(PostService.class);
+        postRepository = context.getBean(PostRepository.class);
+    }
+
+    @TearDown(Level.Iteration)
+    public void clearPosts() {
+        postRepository.deleteAllInBatch();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        context.close();
+        database.stop();
+        server.shutdown().awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    @Benchmark
+    public void createPosts(RowCounter counter) {
+        List<PostEntity> posts = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            posts.add(PostEntity.builder().userId((long) (i % 100)).body("A post body used by the benchmark").build());
+        }
+        counter.inserted += postService.createPosts(posts).size();
+    }
+
+    /**
+     * Counts the inserted rows, so JMH reports them as a rate next to the invocation rate.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class RowCounter {
+
+        public long inserted;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            inserted = 0;
+        }
+    }
+}
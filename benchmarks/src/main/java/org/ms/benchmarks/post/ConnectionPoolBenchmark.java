@@ -0,0 +1,110 @@
+package org.ms.benchmarks.post;
+
+import io.grpc.ServerBuilder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.ms.benchmarks.support.BenchmarkContexts;
+import org.ms.benchmarks.support.ExistingUserService;
+import org.ms.post.model.entity.PostEntity;
+import org.ms.post.repository.PostRepository;
+import org.ms.post.service.PostService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Load test of the JDBC connection pool of the post service, to find the pool size at which
+ * requests start queueing for a connection.
+ * <p>
+ *     {@value #CLIENTS} client threads run transactions back to back, each reading a post and then
+ *     holding its connection for {@code holdMillis}, the time a query and its round trip take on a
+ *     database server. While the pool is smaller than the number of clients, the transactions wait
+ *     for a connection and their latency grows above {@code holdMillis}; the sample-time mode reports
+ *     the p50 and p99 latencies for each {@code poolSize}. After each trial the p99 and maximum of the
+ *     'hikaricp.connections.acquire' timer, the time spent waiting for a connection, are printed.
+ * </p>
+ * <pre>
+ *     java -jar benchmarks/target/benchmarks.jar ConnectionPoolBenchmark
+ *     java -jar benchmarks/target/benchmarks.jar ConnectionPoolBenchmark -p poolSize=8,12 -p holdMillis=2
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Threads(ConnectionPoolBenchmark.CLIENTS)
+@Fork(1)
+public class ConnectionPoolBenchmark {
+
+    static final int CLIENTS = 16;
+    private static final int POSTS = 1_000;
+
+    @Param({"2", "4", "8", "16", "32"})
+    private int poolSize;
+
+    @Param({"10"})
+    private long holdMillis;
+
+    private io.grpc.Server server;
+    private ConfigurableApplicationContext context;
+    private PostRepository postRepository;
+    private TransactionTemplate transactionTemplate;
+    private MeterRegistry meterRegistry;
+    private long firstId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        server = ServerBuilder.forPort(0).addService(new ExistingUserService()).build().start();
+        context = BenchmarkContexts.startPostApplication(server.getPort(),
+                "--spring.datasource.hikari.pool-name=post-pool",
+                "--spring.datasource.hikari.maximum-pool-size=" + poolSize,
+                "--spring.datasource.hikari.minimum-idle=" + poolSize,
+                "--spring.datasource.hikari.connection-timeout=30000",
+                "--management.metrics.distribution.percentiles.hikaricp.connections.acquire=0.5,0.99",
+                "--logging.level.org.ms=warn");
+        postRepository = context.getBean(PostRepository.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        transactionTemplate.setReadOnly(true);
+        meterRegistry = context.getBean(MeterRegistry.class);
+        List<PostEntity> posts = new ArrayList<>(POSTS);
+        for (int i = 0; i < POSTS; i++) {
+            posts.add(PostEntity.builder().userId((long) (i % 100)).body("A post body used by the benchmark").build());
+        }
+        firstId = context.getBean(PostService.class).createPosts(posts).get(0).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        Timer acquire = meterRegistry.get("hikaricp.connections.acquire").tag("pool", "post-pool").timer();
+        double p99 = 0;
+        for (ValueAtPercentile percentile : acquire.takeSnapshot().percentileValues()) {
+            if (percentile.percentile() == 0.99) {
+                p99 = percentile.value(TimeUnit.MILLISECONDS);
+            }
+        }
+        System.out.printf("%npoolSize=%d: connection acquire p99=%.3f ms, max=%.3f ms%n",
+                poolSize, p99, acquire.max(TimeUnit.MILLISECONDS));
+        context.close();
+        server.shutdown().awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    @Benchmark
+    public PostEntity readPost() {
+        long id = firstId + ThreadLocalRandom.current().nextLong(POSTS);
+        return transactionTemplate.execute(status -> {
+            PostEntity post = postRepository.findById(id).orElseThrow();
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(holdMillis));
+            return post;
+        });
+    }
+}
@@ -0,0 +1,125 @@
+package org.ms.benchmarks.post;
+
+import ch.qos.logback.classic.Logger;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.ms.post.config.grpc.GrpcChannelPool;
+import org.ms.post.config.grpc.UserGrpcClientProperties;
+import org.ms.post.controller.PostController;
+import org.ms.post.mappers.impl.PostMapper;
+import org.ms.post.model.dto.PostDto;
+import org.ms.post.model.entity.PostEntity;
+import org.ms.post.service.PostService;
+import org.ms.post.service.impl.UserService;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Measures {@link PostController#createPost} alone: the body validation, the user check and the
+ * mapping of the post in both directions.
+ * <p>
+ *     The user check is answered by the near-cache of the real {@link UserService}, which holds the
+ *     author, so no gRPC call is made, and the post service stub assigns an ID without a database.
+ *     {@code rejectedBody} sends a body that is too short, and is rejected before the user check.
+ *     The logger of the controller is turned off, so the numbers exclude the logging.
+ * </p>
+ * <pre>
+ *     java -jar benchmarks/target/benchmarks.jar CreatePostControllerBenchmark -prof gc
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CreatePostControllerBenchmark {
+
+    private static final long USER_ID = 7L;
+
+    private GrpcChannelPool channelPool;
+    private PostController postController;
+    private PostDto validPost;
+    private PostDto rejectedPost;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ((Logger) LoggerFactory.getLogger(PostController.class)).setLevel(ch.qos.logback.classic.Level.OFF);
+
+        UserGrpcClientProperties properties = new UserGrpcClientProperties();
+        properties.setTarget("localhost:1");
+        channelPool = new GrpcChannelPool(properties);
+        AsyncCache<Long, Boolean> cache = Caffeine.newBuilder().buildAsync();
+        cache.synchronous().put(USER_ID, true);
+        UserService userService = new UserService(channelPool, properties, cache);
+
+        postController = new PostController(new StubPostService(), userService, new PostMapper(), new ObjectMapper());
+        validPost = new PostDto(null, USER_ID, "A post body used by the benchmark");
+        rejectedPost = new PostDto(null, USER_ID, "too short");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        channelPool.close();
+    }
+
+    @Benchmark
+    public ResponseEntity<PostDto> createPost() {
+        return postController.createPost(validPost);
+    }
+
+    @Benchmark
+    public ResponseEntity<PostDto> rejectedBody() {
+        return postController.createPost(rejectedPost);
+    }
+
+    /**
+     * A post service that only creates posts, assigning them increasing IDs.
+     */
+    private static final class StubPostService implements PostService {
+
+        private final AtomicLong ids = new AtomicLong();
+
+        @Override
+        public PostEntity createPost(PostEntity post) {
+            return new PostEntity(ids.incrementAndGet(), post.getUserId(), post.getBody(), 0L);
+        }
+
+        @Override
+        public List<PostEntity> getPosts(long after, int limit) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void streamPosts(long after, Consumer<PostEntity> consumer) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<PostEntity> createPosts(List<PostEntity> posts) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public PostEntity getPost(Long id) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<PostEntity> getPostsByUserId(Long userId, long after, int limit) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public PostEntity getPostByUserIdAndPostId(Long userId, Long postId) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package org.ms.benchmarks.post;
+
+import org.ms.benchmarks.support.BenchmarkContexts;
+import org.ms.post.model.entity.PostEntity;
+import org.ms.post.repository.PostRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the by-user queries of {@link PostRepository} as the "posts" table grows.
+ * <p>
+ *     For each {@code posts} size, a generated dataset with {@value #POSTS_PER_USER} posts per user
+ *     is written to an H2 file database under the temporary directory and reused by later runs.
+ *     With the {@code (user_id, id)} index, the lookup, page and delete latencies should stay
+ *     flat from 10k to 10M posts.
+ * </p>
+ * <pre>
+ *     java -jar benchmarks/target/benchmarks.jar PostLookupBenchmark
+ *     java -jar benchmarks/target/benchmarks.jar PostLookupBenchmark -p posts=10000,100000
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PostLookupBenchmark {
+
+    private static final int POSTS_PER_USER = 100;
+    private static final int INSERT_CHUNK = 1_000_000;
+    private static final String BODY = "A post body used by the benchmark";
+
+    @Param({"10000", "100000", "1000000", "10000000"})
+    private long posts;
+
+    private long users;
+    private ConfigurableApplicationContext context;
+    private PostRepository postRepository;
+    private JdbcTemplate jdbcTemplate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        users = posts / POSTS_PER_USER;
+        Path database = Path.of(System.getProperty("java.io.tmpdir"), "posts-benchmark-" + posts, "posts");
+        // No gRPC call is made by this benchmark, so the user service port is never used.
+        context = BenchmarkContexts.startPostApplication(0,
+                "--spring.datasource.url=jdbc:h2:file:" + database,
+                "--spring.jpa.hibernate.ddl-auto=update");
+        postRepository = context.getBean(PostRepository.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        generateDataset();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * Fills the table with {@code posts} rows, where post {@code x} belongs to user {@code x % users},
+     * unless a previous run already left exactly that dataset behind.
+     */
+    private void generateDataset() {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM posts", Long.class);
+        if (count != null && count == posts) {
+            return;
+        }
+        jdbcTemplate.update("DELETE FROM posts");
+        for (long from = 1; from <= posts; from += INSERT_CHUNK) {
+            long to = Math.min(posts, from + INSERT_CHUNK - 1);
+            jdbcTemplate.update("INSERT INTO posts (id, user_id, body) SELECT X, MOD(X, ?), ? FROM SYSTEM_RANGE(?, ?)",
+                    users, BODY, from, to);
+        }
+    }
+
+    @Benchmark
+    public Optional<PostEntity> lookupByUserIdAndPostId() {
+        long postId = ThreadLocalRandom.current().nextLong(1, posts + 1);
+        return postRepository.getPostByUserIdAndPostId(postId % users, postId);
+    }
+
+    @Benchmark
+    public List<PostEntity> firstPageByUserId() {
+        long userId = ThreadLocalRandom.current().nextLong(1, users);
+        return postRepository.findPostsByUserIdAfter(userId, 0L, Limit.of(20));
+    }
+
+    @Benchmark
+    public void deleteByUserId(DeletedUser deletedUser) {
+        postRepository.deletePostByUserId(deletedUser.userId);
+    }
+
+    /**
+     * Picks the user whose posts are deleted by an invocation, and puts the posts back afterwards
+     * so that the dataset keeps its size.
+     */
+    @State(Scope.Thread)
+    public static class DeletedUser {
+
+        private long userId;
+
+        @Setup(Level.Invocation)
+        public void pick(PostLookupBenchmark benchmark) {
+            userId = ThreadLocalRandom.current().nextLong(1, benchmark.users);
+        }
+
+        @TearDown(Level.Invocation)
+        public void restore(PostLookupBenchmark benchmark) {
+            benchmark.jdbcTemplate.update(
+                    "MERGE INTO posts (id, user_id, body) KEY (id) SELECT ? + X * ?, ?, ? FROM SYSTEM_RANGE(0, ?)",
+                    userId, benchmark.users, userId, BODY, POSTS_PER_USER - 1);
+        }
+    }
+}
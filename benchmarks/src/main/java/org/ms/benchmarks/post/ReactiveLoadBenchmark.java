@@ -0,0 +1,134 @@
+package org.ms.benchmarks.post;
+
+import io.grpc.Server;
+import io.grpc.ServerBuilder;
+import org.ms.benchmarks.support.BenchmarkContexts;
+import org.ms.benchmarks.support.ExistingUserService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load test of {@code POST /posts} and {@code GET /posts/{id}} over HTTP, served by the Tomcat
+ * stack and by the WebFlux and R2DBC stack of the 'reactive' profile.
+ * <p>
+ *     The post application runs on a free port with an in-memory H2 database. Its user existence
+ *     checks go to a gRPC stand-in answering after {@code userLatencyMillis}, with the near-cache
+ *     disabled, so every create waits on the user service. {@value #CLIENTS} client threads send
+ *     requests back to back: the Tomcat stack holds one of its {@code tomcatThreads} threads per
+ *     request while it waits, the reactive stack serves them all from its event loop. The
+ *     sample-time mode reports the throughput and the p50, p99 and p99.9 latencies for each stack.
+ * </p>
+ * <pre>
+ *     java -jar benchmarks/target/benchmarks.jar ReactiveLoadBenchmark
+ *     java -jar benchmarks/target/benchmarks.jar ReactiveLoadBenchmark -p userLatencyMillis=0
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(ReactiveLoadBenchmark.CLIENTS)
+@Fork(1)
+public class ReactiveLoadBenchmark {
+
+    static final int CLIENTS = 64;
+    private static final long USERS = 1_000;
+
+    @Param({"servlet", "reactive"})
+    private String stack;
+
+    @Param({"20"})
+    private int tomcatThreads;
+
+    @Param({"50"})
+    private long userLatencyMillis;
+
+    private ExecutorService userServiceExecutor;
+    private Server userServer;
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private URI postsUri;
+    private URI firstPostUri;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, InterruptedException {
+        userServiceExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        userServer = ServerBuilder.forPort(0)
+                .executor(userServiceExecutor)
+                .addService(new ExistingUserService(Duration.ofMillis(userLatencyMillis)))
+                .build()
+                .start();
+        String[] args = {
+                "--server.tomcat.threads.max=" + tomcatThreads,
+                "--server.tomcat.max-connections=" + (CLIENTS * 2),
+                "--spring.datasource.hikari.maximum-pool-size=20",
+                "--spring.datasource.hikari.connection-timeout=10000",
+                "--spring.r2dbc.pool.max-size=20",
+                "--spring.r2dbc.pool.max-acquire-time=10s",
+                "--grpc.client.user.deadline=10s",
+                "--grpc.client.user.pool-size=4",
+                "--cache.user-existence.existing-ttl=0s",
+                "--logging.level.org.ms=warn"};
+        context = "reactive".equals(stack)
+                ? BenchmarkContexts.startPostReactiveApplication(userServer.getPort(), args)
+                : BenchmarkContexts.startPostWebApplication(userServer.getPort(), args);
+        int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+        postsUri = URI.create("http://localhost:" + port + "/posts");
+        httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        HttpResponse<String> created = httpClient.send(createRequest(1L), HttpResponse.BodyHandlers.ofString());
+        String body = created.body();
+        String id = body.substring(body.indexOf("\"id\":") + 5, body.indexOf(',', body.indexOf("\"id\":")));
+        firstPostUri = URI.create(postsUri + "/" + id.trim());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        httpClient.close();
+        context.close();
+        userServer.shutdown().awaitTermination(5, TimeUnit.SECONDS);
+        userServiceExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    public int createPost() throws IOException, InterruptedException {
+        long userId = ThreadLocalRandom.current().nextLong(1, USERS + 1);
+        return expectOk(httpClient.send(createRequest(userId), HttpResponse.BodyHandlers.discarding()));
+    }
+
+    @Benchmark
+    public int getPost() throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(firstPostUri).GET().build();
+        return expectOk(httpClient.send(request, HttpResponse.BodyHandlers.discarding()));
+    }
+
+    private HttpRequest createRequest(long userId) {
+        return HttpRequest.newBuilder(postsUri)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"userId\":" + userId + ",\"body\":\"A post body used by the benchmark\"}"))
+                .build();
+    }
+
+    private static int expectOk(HttpResponse<Void> response) {
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(response.request().method() + " " + response.request().uri()
+                    + " answered " + response.statusCode());
+        }
+        return response.statusCode();
+    }
+}
@@ -0,0 +1,111 @@
+package org.ms.benchmarks.post;
+
+import io.grpc.Server;
+import io.grpc.ServerBuilder;
+import org.ms.benchmarks.support.BenchmarkContexts;
+import org.ms.benchmarks.support.ExistingUserService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load test of {@code POST /posts} over HTTP, with the request handling on the Tomcat pool of
+ * platform threads and on virtual threads.
+ * <p>
+ *     The post application runs with its embedded Tomcat server on a free port and an in-memory
+ *     H2 database. Its user existence checks go to a gRPC stand-in answering after
+ *     {@code userLatencyMillis}, with the near-cache disabled, so every request blocks its thread
+ *     on the gRPC call and then on the insert. {@value #CLIENTS} client threads send requests back
+ *     to back, more than the {@code tomcatThreads} platform threads, as in a burst. The sample-time
+ *     mode reports the throughput and the p50, p99 and p99.9 latencies for each mode.
+ * </p>
+ * <pre>
+ *     java -jar benchmarks/target/benchmarks.jar VirtualThreadsLoadBenchmark
+ *     java -jar benchmarks/target/benchmarks.jar VirtualThreadsLoadBenchmark -p userLatencyMillis=10
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(VirtualThreadsLoadBenchmark.CLIENTS)
+@Fork(1)
+public class VirtualThreadsLoadBenchmark {
+
+    static final int CLIENTS = 64;
+    private static final long USERS = 1_000;
+
+    @Param({"false", "true"})
+    private boolean virtualThreads;
+
+    @Param({"20"})
+    private int tomcatThreads;
+
+    @Param({"200"})
+    private long userLatencyMillis;
+
+    private ExecutorService userServiceExecutor;
+    private Server userServer;
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private URI postsUri;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        userServiceExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        userServer = ServerBuilder.forPort(0)
+                .executor(userServiceExecutor)
+                .addService(new ExistingUserService(Duration.ofMillis(userLatencyMillis)))
+                .build()
+                .start();
+        context = BenchmarkContexts.startPostWebApplication(userServer.getPort(),
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--server.tomcat.threads.max=" + tomcatThreads,
+                "--server.tomcat.max-connections=" + (CLIENTS * 2),
+                "--spring.datasource.hikari.maximum-pool-size=20",
+                "--spring.datasource.hikari.connection-timeout=2000",
+                "--grpc.client.user.pool-size=4",
+                "--cache.user-existence.existing-ttl=0s",
+                "--logging.level.org.ms=warn");
+        int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+        postsUri = URI.create("http://localhost:" + port + "/posts");
+        httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        httpClient.close();
+        context.close();
+        userServer.shutdown().awaitTermination(5, TimeUnit.SECONDS);
+        userServiceExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    public int createPost() throws IOException, InterruptedException {
+        long userId = ThreadLocalRandom.current().nextLong(1, USERS + 1);
+        HttpRequest request = HttpRequest.newBuilder(postsUri)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"userId\":" + userId + ",\"body\":\"A post body used by the benchmark\"}"))
+                .build();
+        HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("POST /posts answered " + response.statusCode());
+        }
+        return response.statusCode();
+    }
+}
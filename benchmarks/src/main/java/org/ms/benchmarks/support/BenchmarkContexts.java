@@ -0,0 +1,142 @@
+package org.ms.benchmarks.support;
+
+import org.ms.post.PostApplication;
+import org.ms.user.UsersApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Starts the service applications for the benchmarks that need a full Spring context.
+ * <p>
+ *     The shaded benchmarks jar holds the 'application.properties' files of several modules under
+ *     the same name, so only one of them is visible. The settings the benchmarks rely on are
+ *     therefore passed as command-line arguments, which also take precedence over any file.
+ *     The applications run against an in-memory H2 database, with the Kafka listeners stopped,
+ *     and without a web server unless one is asked for.
+ * </p>
+ * <p>
+ *     The jar also holds the R2DBC drivers of the post service, so the R2DBC auto-configuration is
+ *     turned off for the user application, which has no R2DBC connection factory of its own.
+ * </p>
+ * <p>
+ *     Spring joins repeated command-line options into a comma-separated value, so an extra argument
+ *     replaces the default with the same name instead of being appended after it.
+ * </p>
+ */
+public final class BenchmarkContexts {
+
+    private BenchmarkContexts() {
+    }
+
+    /**
+     * Starts the post application.
+     *
+     * @param userGrpcPort the port of the gRPC user service the application talks to
+     * @param extraArgs additional {@code --name=value} arguments, overriding the defaults
+     * @return the running application context; the caller must close it
+     */
+    public static ConfigurableApplicationContext startPostApplication(int userGrpcPort, String... extraArgs) {
+        return start(PostApplication.class, WebApplicationType.NONE, postDefaults(userGrpcPort), extraArgs);
+    }
+
+    /**
+     * Starts the post application with its embedded Tomcat server on a free port, which is
+     * available from the {@code local.server.port} property of the context environment.
+     *
+     * @param userGrpcPort the port of the gRPC user service the application talks to
+     * @param extraArgs additional {@code --name=value} arguments, overriding the defaults
+     * @return the running application context; the caller must close it
+     */
+    public static ConfigurableApplicationContext startPostWebApplication(int userGrpcPort, String... extraArgs) {
+        List<String> defaults = new ArrayList<>(postDefaults(userGrpcPort));
+        defaults.add("--server.port=0");
+        return start(PostApplication.class, WebApplicationType.SERVLET, defaults, extraArgs);
+    }
+
+    /**
+     * Starts the post application with the 'reactive' profile and its embedded Netty server on a
+     * free port, which is available from the {@code local.server.port} property of the context
+     * environment.
+     *
+     * @param userGrpcPort the port of the gRPC user service the application talks to
+     * @param extraArgs additional {@code --name=value} arguments, overriding the defaults
+     * @return the running application context; the caller must close it
+     */
+    public static ConfigurableApplicationContext startPostReactiveApplication(int userGrpcPort, String... extraArgs) {
+        List<String> defaults = new ArrayList<>(postDefaults(userGrpcPort));
+        defaults.add("--spring.profiles.active=reactive");
+        defaults.add("--server.port=0");
+        return start(PostApplication.class, WebApplicationType.REACTIVE, defaults, extraArgs);
+    }
+
+    /**
+     * Starts the user application, with its gRPC server on a free port.
+     *
+     * @param extraArgs additional {@code --name=value} arguments, overriding the defaults
+     * @return the running application context; the caller must close it
+     */
+    public static ConfigurableApplicationContext startUserApplication(String... extraArgs) {
+        List<String> defaults = List.of(
+                "--spring.autoconfigure.exclude=org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration",
+                "--spring.datasource.url=jdbc:h2:mem:users;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.properties.hibernate.jdbc.batch_size=50",
+                "--spring.jpa.properties.hibernate.order_inserts=true",
+                "--spring.kafka.bootstrap-servers=localhost:9092",
+                "--spring.kafka.admin.auto-create=false",
+                "--spring.cache.type=caffeine",
+                "--spring.cache.cache-names=users",
+                "--spring.cache.caffeine.spec=maximumSize=10000,expireAfterWrite=5m,recordStats",
+                "--grpc.server.port=0");
+        return start(UsersApplication.class, WebApplicationType.NONE, defaults, extraArgs);
+    }
+
+    private static List<String> postDefaults(int userGrpcPort) {
+        return List.of(
+                "--spring.datasource.url=jdbc:h2:mem:posts;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.r2dbc.url=r2dbc:h2:mem:///posts;DB_CLOSE_DELAY=-1",
+                "--spring.r2dbc.username=sa",
+                "--spring.r2dbc.password=",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.properties.hibernate.jdbc.batch_size=50",
+                "--spring.jpa.properties.hibernate.order_inserts=true",
+                "--spring.kafka.bootstrap-servers=localhost:9092",
+                "--spring.kafka.listener.auto-startup=false",
+                "--spring.kafka.admin.auto-create=false",
+                "--spring.cache.type=caffeine",
+                "--spring.cache.cache-names=posts",
+                "--spring.cache.caffeine.spec=maximumSize=10000,expireAfterWrite=5m,recordStats",
+                "--grpc.client.user.target=localhost:" + userGrpcPort);
+    }
+
+    private static ConfigurableApplicationContext start(Class<?> application, WebApplicationType webApplicationType,
+                                                        List<String> defaults, String... extraArgs) {
+        Map<String, String> args = new LinkedHashMap<>();
+        for (String arg : defaults) {
+            args.put(optionName(arg), arg);
+        }
+        for (String arg : extraArgs) {
+            args.put(optionName(arg), arg);
+        }
+        return new SpringApplicationBuilder(application)
+                .web(webApplicationType)
+                .run(args.values().toArray(new String[0]));
+    }
+
+    private static String optionName(String arg) {
+        int separator = arg.indexOf('=');
+        return separator < 0 ? arg : arg.substring(0, separator);
+    }
+}
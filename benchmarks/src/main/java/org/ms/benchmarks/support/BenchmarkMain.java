@@ -0,0 +1,35 @@
+package org.ms.benchmarks.support;
+
+import org.openjdk.jmh.Main;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The entry point of the benchmarks jar.
+ * <p>
+ *     It runs the JMH command line with the given arguments, writing the results as JSON by
+ *     default, to {@code jmh-result.json} in the working directory, so the runs of two commits
+ *     can be compared. The {@code -rf} and {@code -rff} options choose another format or file.
+ * </p>
+ */
+public final class BenchmarkMain {
+
+    private BenchmarkMain() {
+    }
+
+    /**
+     * Runs the benchmarks.
+     *
+     * @param args the JMH command-line arguments
+     * @throws Exception if JMH fails to run the benchmarks
+     */
+    public static void main(String[] args) throws Exception {
+        List<String> arguments = new ArrayList<>(List.of(args));
+        if (!arguments.contains("-rf")) {
+            arguments.add("-rf");
+            arguments.add("json");
+        }
+        Main.main(arguments.toArray(String[]::new));
+    }
+}
@@ -0,0 +1,58 @@
+package org.ms.benchmarks.support;
+
+import io.grpc.stub.StreamObserver;
+import org.ms.grpc_prop.prop.UserRequest;
+import org.ms.grpc_prop.prop.UserResponse;
+import org.ms.grpc_prop.prop.UserServiceGrpc;
+import org.ms.grpc_prop.prop.UsersRequest;
+import org.ms.grpc_prop.prop.UsersResponse;
+
+import java.time.Duration;
+
+/**
+ * A gRPC user service stand-in that answers every lookup with an existing user.
+ * <p>
+ *     It lets the benchmarks exercise the post service's client path without a database
+ *     behind the user service. A latency can be added to {@code getUserById}, to stand for a
+ *     remote user service and its database; the serving thread sleeps for that long.
+ * </p>
+ */
+public class ExistingUserService extends UserServiceGrpc.UserServiceImplBase {
+
+    private final Duration latency;
+
+    /**
+     * Creates a service answering immediately.
+     */
+    public ExistingUserService() {
+        this(Duration.ZERO);
+    }
+
+    /**
+     * Creates a service answering {@code getUserById} after the given latency.
+     *
+     * @param latency how long each {@code getUserById} call takes
+     */
+    public ExistingUserService(Duration latency) {
+        this.latency = latency;
+    }
+
+    @Override
+    public void getUserById(UserRequest request, StreamObserver<UserResponse> responseObserver) {
+        if (!latency.isZero()) {
+            try {
+                Thread.sleep(latency);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        responseObserver.onNext(UserResponse.newBuilder().setUserId(request.getUserId()).setName("user").setFound(true).build());
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public void getUsersByIds(UsersRequest request, StreamObserver<UsersResponse> responseObserver) {
+        responseObserver.onNext(UsersResponse.newBuilder().addAllExistingUserIds(request.getUserIdsList()).build());
+        responseObserver.onCompleted();
+    }
+}
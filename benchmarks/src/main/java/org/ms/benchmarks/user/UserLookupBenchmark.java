@@ -0,0 +1,100 @@
+package org.ms.benchmarks.user;
+
+import io.grpc.stub.StreamObserver;
+import org.ms.benchmarks.support.BenchmarkContexts;
+import org.ms.grpc_prop.prop.UserRequest;
+import org.ms.grpc_prop.prop.UserResponse;
+import org.ms.user.model.entity.UserEntity;
+import org.ms.user.repository.UserRepository;
+import org.ms.user.service.UserService;
+import org.ms.user.service.impl.UserServiceGRPC;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the per-call cost of the {@code getUserById} handler of {@link UserServiceGRPC}, in process.
+ * <p>
+ *     {@code contextLookupAndFindById} reproduces the previous handler: a {@link UserService} lookup in
+ *     the application context followed by a full {@code findById}. {@code injectedSummary} calls the
+ *     current handler, which uses its injected service and reads a projection. The user application
+ *     runs against an in-memory H2 database holding {@value #USERS} users. Run with the GC profiler
+ *     to compare the allocations per call as well:
+ * </p>
+ * <pre>
+ *     java -jar benchmarks/target/benchmarks.jar UserLookupBenchmark -prof gc
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserLookupBenchmark {
+
+    private static final int USERS = 1000;
+
+    private ConfigurableApplicationContext context;
+    private UserServiceGRPC userServiceGRPC;
+    private List<Long> userIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContexts.startUserApplication();
+        userServiceGRPC = context.getBean(UserServiceGRPC.class);
+
+        List<UserEntity> users = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            users.add(UserEntity.builder().name("benchmark user " + i).build());
+        }
+        userIds = context.getBean(UserRepository.class).saveAll(users).stream().map(UserEntity::getId).toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public UserResponse contextLookupAndFindById() {
+        UserService userService = context.getBean(UserService.class);
+        UserEntity userEntity = userService.getUser(nextUserId());
+        if (userEntity == null) {
+            return UserResponse.newBuilder().setUserId(-1L).build();
+        }
+        return UserResponse.newBuilder()
+                .setUserId(userEntity.getId())
+                .setName(userEntity.getName())
+                .build();
+    }
+
+    @Benchmark
+    public void injectedSummary(Blackhole blackhole) {
+        UserRequest request = UserRequest.newBuilder().setUserId(nextUserId()).build();
+        userServiceGRPC.getUserById(request, new StreamObserver<>() {
+            @Override
+            public void onNext(UserResponse response) {
+                blackhole.consume(response);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                blackhole.consume(t);
+            }
+
+            @Override
+            public void onCompleted() {
+            }
+        });
+    }
+
+    private long nextUserId() {
+        return userIds.get(ThreadLocalRandom.current().nextInt(userIds.size()));
+    }
+}
@@ -0,0 +1,131 @@
+package org.ms.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+import org.ms.loadtest.config.LoadTestProperties;
+import org.ms.loadtest.driver.ClosedLoopDriver;
+import org.ms.loadtest.driver.LoadDriver;
+import org.ms.loadtest.driver.OpenLoopDriver;
+import org.ms.loadtest.driver.RequestSender;
+import org.ms.loadtest.local.LocalServices;
+import org.ms.loadtest.report.LoadReport;
+import org.ms.loadtest.workload.Dataset;
+import org.ms.loadtest.workload.Workload;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.SimpleCommandLinePropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs a load test against the post and user services.
+ * <p>
+ *     The services are started locally by {@link LocalServices}, unless {@code load.post-url} and
+ *     {@code load.user-url} point to running ones. Users and posts are seeded through the batch
+ *     endpoints, then each step of the load, an arrival rate of the open model or a number of
+ *     clients of the closed model, is warmed up and measured in turn. The report of each step is
+ *     printed, and written to {@code load.report-dir} as HDR histograms and a CSV summary, so the
+ *     runs before and after a change can be compared.
+ * </p>
+ * <pre>
+ *     java -jar loadtest/target/loadtest-0.0.1-SNAPSHOT-exec.jar --load.rates=100,200,400 --load.duration=60s
+ *     java -jar loadtest/target/loadtest-0.0.1-SNAPSHOT-exec.jar --load.model=closed --load.clients=8,32 \
+ *         --load.profile=write-heavy
+ *     java -jar loadtest/target/loadtest-0.0.1-SNAPSHOT-exec.jar --load.mix.get-post=9 --load.mix.create-post=1 \
+ *         --load.post-url=http://localhost:8080 --load.user-url=http://localhost:8090
+ * </pre>
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    /**
+     * Runs the load test.
+     *
+     * @param args the {@code --load.*} options
+     * @throws Exception if the services cannot be started or seeded, or a report cannot be written
+     */
+    public static void main(String[] args) throws Exception {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new SimpleCommandLinePropertySource(args));
+        LoadTestProperties properties = Binder.get(environment)
+                .bind("load", LoadTestProperties.class)
+                .orElseGet(LoadTestProperties::new);
+
+        if (properties.getPostUrl() != null && properties.getUserUrl() != null) {
+            run(properties, URI.create(properties.getPostUrl()), URI.create(properties.getUserUrl()));
+        } else {
+            try (LocalServices services = LocalServices.start(properties.getLocal())) {
+                run(properties, services.postUrl(), services.userUrl());
+            }
+        }
+    }
+
+    private static void run(LoadTestProperties properties, URI postUrl, URI userUrl)
+            throws IOException, InterruptedException {
+        try (HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build()) {
+            Dataset dataset = new Dataset();
+            Workload workload = new Workload(postUrl, userUrl, properties.weights(), dataset,
+                    properties.getRequestTimeout(), new ObjectMapper());
+            workload.seed(httpClient, properties.getSeed().getUsers(), properties.getSeed().getPostsPerUser());
+            System.out.printf(Locale.ROOT, "Seeded %d users and %d posts; mix %s%n",
+                    dataset.userCount(), dataset.postCount(), properties.weights());
+
+            RequestSender sender = new RequestSender(httpClient);
+            for (int load : properties.steps()) {
+                String step = properties.getModel().name().toLowerCase(Locale.ROOT) + "-" + load;
+                LoadDriver driver = properties.getModel() == LoadTestProperties.Model.OPEN
+                        ? new OpenLoopDriver(workload, sender, load, properties.getArrivals(), properties.getMaxOutstanding())
+                        : new ClosedLoopDriver(workload, sender, load, properties.getThinkTime());
+
+                runPhase(driver, step + " warmup", properties.getWarmup(), properties.getReportInterval(), new LoadReport());
+                sender.awaitIdle(properties.getRequestTimeout());
+                LoadReport report = new LoadReport();
+                runPhase(driver, step, properties.getDuration(), properties.getReportInterval(), report);
+                sender.awaitIdle(properties.getRequestTimeout());
+                report.print(System.out, step, properties.getDuration());
+                report.write(properties.getReportDir(), step, properties.getDuration());
+            }
+            System.out.printf("%nReports written to %s%n", properties.getReportDir().toAbsolutePath());
+        }
+    }
+
+    /**
+     * Runs a driver, printing the throughput and the latencies of the last interval as it goes.
+     */
+    private static void runPhase(LoadDriver driver, String name, Duration duration, Duration interval,
+                                 LoadReport report) throws InterruptedException {
+        if (!duration.isPositive()) {
+            return;
+        }
+        ScheduledExecutorService progress = Executors.newSingleThreadScheduledExecutor();
+        long start = System.nanoTime();
+        long[] last = {start};
+        progress.scheduleAtFixedRate(() -> {
+            long now = System.nanoTime();
+            Histogram histogram = report.harvest();
+            System.out.printf(Locale.ROOT, "%-20s %6.1f s: %8.1f req/s, p50 %8.2f ms, p99 %8.2f ms, max %8.2f ms, outstanding %d%n",
+                    name, (now - start) / 1e9, histogram.getTotalCount() * 1e9 / (now - last[0]),
+                    histogram.getValueAtPercentile(50) / 1000.0, histogram.getValueAtPercentile(99) / 1000.0,
+                    histogram.getMaxValue() / 1000.0, driver.outstanding());
+            last[0] = now;
+        }, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+        try {
+            driver.run(duration, report);
+        } finally {
+            progress.shutdownNow();
+            progress.awaitTermination(1, TimeUnit.SECONDS);
+        }
+    }
+}
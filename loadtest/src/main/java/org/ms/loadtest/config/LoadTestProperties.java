@@ -0,0 +1,216 @@
+package org.ms.loadtest.config;
+
+import lombok.Data;
+import org.ms.loadtest.workload.Endpoint;
+import org.ms.loadtest.workload.WorkloadProfile;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Configuration properties of the load test.
+ * <p>
+ *     The values are bound from the 'load' prefix of the command-line arguments, or of the
+ *     environment variables. For example:
+ *     <pre>
+ *         --load.model=open
+ *         --load.rates=100,200,400
+ *         --load.duration=60s
+ *         --load.profile=read-heavy
+ *         --load.mix.delete-user=5
+ *     </pre>
+ * </p>
+ */
+@Data
+public class LoadTestProperties {
+
+    /**
+     * How the requests are sent.
+     */
+    private Model model = Model.OPEN;
+
+    /**
+     * The arrival rates of the open model, in requests per second; each rate is run as one step,
+     * with its own report.
+     */
+    private List<Integer> rates = List.of(100);
+
+    /**
+     * The numbers of clients of the closed model; each number is run as one step, with its own
+     * report.
+     */
+    private List<Integer> clients = List.of(16);
+
+    /**
+     * How the arrivals of the open model are spaced.
+     */
+    private Arrivals arrivals = Arrivals.POISSON;
+
+    /**
+     * How long a client of the closed model waits between a response and its next request.
+     */
+    private Duration thinkTime = Duration.ZERO;
+
+    /**
+     * How long each step runs before its measurement starts; the responses received meanwhile are
+     * not reported.
+     */
+    private Duration warmup = Duration.ofSeconds(10);
+
+    /**
+     * How long each step is measured.
+     */
+    private Duration duration = Duration.ofSeconds(30);
+
+    /**
+     * How often the progress of a step is printed.
+     */
+    private Duration reportInterval = Duration.ofSeconds(5);
+
+    /**
+     * The maximum number of requests of the open model waiting for their response; the arrivals
+     * beyond it are not sent and are reported as dropped.
+     */
+    private int maxOutstanding = 1000;
+
+    /**
+     * How long a request waits for its response before it is reported as an error.
+     */
+    private Duration requestTimeout = Duration.ofSeconds(5);
+
+    /**
+     * The predefined mix of endpoints, used when no {@code mix} is given.
+     */
+    private WorkloadProfile profile = WorkloadProfile.MIXED;
+
+    /**
+     * The relative weights of the endpoints, replacing the ones of the profile when given; an
+     * endpoint without a weight is not called.
+     */
+    private Map<Endpoint, Integer> mix = new EnumMap<>(Endpoint.class);
+
+    /**
+     * The base URL of the post service; the services are started locally unless both URLs are
+     * given.
+     */
+    private String postUrl;
+
+    /**
+     * The base URL of the user service; the services are started locally unless both URLs are
+     * given.
+     */
+    private String userUrl;
+
+    /**
+     * The directory the HDR histograms and the summary of each step are written to.
+     */
+    private Path reportDir = Path.of("load-reports");
+
+    /**
+     * The data created before the first step.
+     */
+    private Seed seed = new Seed();
+
+    /**
+     * The services started locally.
+     */
+    private Local local = new Local();
+
+    /**
+     * Returns the weights of the endpoints: the {@code mix} when given, otherwise the ones of the
+     * profile.
+     *
+     * @return the weights of the endpoints
+     */
+    public Map<Endpoint, Integer> weights() {
+        return mix.isEmpty() ? profile.getWeights() : mix;
+    }
+
+    /**
+     * Returns the load of each step: the arrival rates of the open model, or the numbers of
+     * clients of the closed model.
+     *
+     * @return the load of each step
+     */
+    public List<Integer> steps() {
+        return model == Model.OPEN ? rates : clients;
+    }
+
+    /**
+     * The load models.
+     */
+    public enum Model {
+
+        /**
+         * Requests arrive at a given rate, whether or not the previous ones were answered, as the
+         * requests of many independent users do.
+         */
+        OPEN,
+
+        /**
+         * A fixed number of clients each send a request once the previous one was answered.
+         */
+        CLOSED
+    }
+
+    /**
+     * How the arrivals of the open model are spaced.
+     */
+    public enum Arrivals {
+
+        /**
+         * Exponentially distributed gaps, as the arrivals of independent users.
+         */
+        POISSON,
+
+        /**
+         * Equal gaps.
+         */
+        UNIFORM
+    }
+
+    /**
+     * The data created before the first step, through the batch endpoints.
+     */
+    @Data
+    public static class Seed {
+
+        /**
+         * The number of users created.
+         */
+        private int users = 200;
+
+        /**
+         * The number of posts created for each user.
+         */
+        private int postsPerUser = 5;
+    }
+
+    /**
+     * The services started locally, against in-memory H2 databases and an embedded Kafka broker.
+     */
+    @Data
+    public static class Local {
+
+        /**
+         * The number of partitions of the 'post_user' topic.
+         */
+        private int kafkaPartitions = 3;
+
+        /**
+         * Properties of the post service overriding its application.properties file, such as
+         * {@code load.local.post-properties.spring.threads.virtual.enabled=true}.
+         */
+        private Map<String, String> postProperties = new HashMap<>();
+
+        /**
+         * Properties of the user service overriding its application.properties file, such as
+         * {@code load.local.user-properties.grpc.server.executor=virtual}.
+         */
+        private Map<String, String> userProperties = new HashMap<>();
+    }
+}
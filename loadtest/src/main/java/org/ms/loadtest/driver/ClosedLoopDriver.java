@@ -0,0 +1,73 @@
+package org.ms.loadtest.driver;
+
+import org.ms.loadtest.report.LoadReport;
+import org.ms.loadtest.workload.Endpoint;
+import org.ms.loadtest.workload.Workload;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Sends requests from a fixed number of clients, each waiting for its response, and then for
+ * the think time, before its next request.
+ * <p>
+ *     The load adapts to the services: when they slow down, fewer requests are sent, so the
+ *     latencies only show the time the services took for the requests that were sent. The open
+ *     model shows how the services behave at a given traffic; this one, how much they serve.
+ * </p>
+ */
+public class ClosedLoopDriver implements LoadDriver {
+
+    private final Workload workload;
+    private final RequestSender sender;
+    private final int clients;
+    private final Duration thinkTime;
+
+    /**
+     * Creates a driver.
+     *
+     * @param workload builds the requests
+     * @param sender sends the requests
+     * @param clients the number of clients
+     * @param thinkTime how long a client waits between a response and its next request
+     */
+    public ClosedLoopDriver(Workload workload, RequestSender sender, int clients, Duration thinkTime) {
+        if (clients <= 0) {
+            throw new IllegalArgumentException("The number of clients must be positive: " + clients);
+        }
+        this.workload = workload;
+        this.sender = sender;
+        this.clients = clients;
+        this.thinkTime = thinkTime;
+    }
+
+    @Override
+    public void run(Duration duration, LoadReport report) throws InterruptedException {
+        long end = System.nanoTime() + duration.toNanos();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                executor.submit(() -> {
+                    while (System.nanoTime() - end < 0) {
+                        Endpoint endpoint = workload.nextEndpoint();
+                        Workload.Call call = workload.newCall(endpoint);
+                        if (call == null) {
+                            report.recordSkipped(endpoint);
+                        } else {
+                            sender.send(call, report);
+                        }
+                        if (thinkTime.isPositive()) {
+                            Thread.sleep(thinkTime);
+                        }
+                    }
+                    return null;
+                });
+            }
+        }
+    }
+
+    @Override
+    public int outstanding() {
+        return sender.outstanding();
+    }
+}
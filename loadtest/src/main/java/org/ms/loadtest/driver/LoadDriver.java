@@ -0,0 +1,28 @@
+package org.ms.loadtest.driver;
+
+import org.ms.loadtest.report.LoadReport;
+
+import java.time.Duration;
+
+/**
+ * Sends the requests of a workload for some time, under a load model.
+ */
+public interface LoadDriver {
+
+    /**
+     * Sends requests for a given time, recording their outcomes; the requests still waiting for
+     * their responses at the end are recorded once they complete.
+     *
+     * @param duration how long requests are sent
+     * @param report the report the outcomes are recorded to
+     * @throws InterruptedException if the thread is interrupted
+     */
+    void run(Duration duration, LoadReport report) throws InterruptedException;
+
+    /**
+     * Returns the number of requests waiting for their responses.
+     *
+     * @return the number of requests waiting for their responses
+     */
+    int outstanding();
+}
@@ -0,0 +1,92 @@
+package org.ms.loadtest.driver;
+
+import org.ms.loadtest.config.LoadTestProperties.Arrivals;
+import org.ms.loadtest.report.LoadReport;
+import org.ms.loadtest.workload.Endpoint;
+import org.ms.loadtest.workload.Workload;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sends requests at a given arrival rate, whatever the time the services take to answer.
+ * <p>
+ *     One thread follows a schedule of arrivals and sends each request without waiting for the
+ *     previous ones, as the requests of many independent users arrive. When the thread falls
+ *     behind, the late requests are sent at once and keep their scheduled time as the start of
+ *     their latency, so a stall of the services or of the generator shows in the latencies instead
+ *     of lowering the load. At most {@code maxOutstanding} requests wait for their responses; the
+ *     arrivals beyond it are reported as dropped, which shows the services no longer keep up.
+ * </p>
+ */
+public class OpenLoopDriver implements LoadDriver {
+
+    private final Workload workload;
+    private final RequestSender sender;
+    private final double meanGapNanos;
+    private final Arrivals arrivals;
+    private final int maxOutstanding;
+
+    /**
+     * Creates a driver.
+     *
+     * @param workload builds the requests
+     * @param sender sends the requests
+     * @param rate the arrival rate, in requests per second
+     * @param arrivals how the arrivals are spaced
+     * @param maxOutstanding the maximum number of requests waiting for their responses
+     */
+    public OpenLoopDriver(Workload workload, RequestSender sender, int rate, Arrivals arrivals, int maxOutstanding) {
+        if (rate <= 0) {
+            throw new IllegalArgumentException("The arrival rate must be positive: " + rate);
+        }
+        this.workload = workload;
+        this.sender = sender;
+        this.meanGapNanos = (double) TimeUnit.SECONDS.toNanos(1) / rate;
+        this.arrivals = arrivals;
+        this.maxOutstanding = maxOutstanding;
+    }
+
+    @Override
+    public void run(Duration duration, LoadReport report) throws InterruptedException {
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        double next = start;
+        while ((long) next - end < 0) {
+            long arrival = (long) next;
+            long wait;
+            while ((wait = arrival - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+            }
+            Endpoint endpoint = workload.nextEndpoint();
+            if (sender.outstanding() >= maxOutstanding) {
+                report.recordDropped(endpoint);
+            } else {
+                Workload.Call call = workload.newCall(endpoint);
+                if (call == null) {
+                    report.recordSkipped(endpoint);
+                } else {
+                    sender.sendAsync(call, arrival, report);
+                }
+            }
+            next += nextGap();
+        }
+    }
+
+    @Override
+    public int outstanding() {
+        return sender.outstanding();
+    }
+
+    private double nextGap() {
+        if (arrivals == Arrivals.UNIFORM) {
+            return meanGapNanos;
+        }
+        return -Math.log(1 - ThreadLocalRandom.current().nextDouble()) * meanGapNanos;
+    }
+}
@@ -0,0 +1,106 @@
+package org.ms.loadtest.driver;
+
+import lombok.extern.slf4j.Slf4j;
+import org.ms.loadtest.report.LoadReport;
+import org.ms.loadtest.workload.Workload;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends the calls of a workload and records their outcomes.
+ */
+@Slf4j
+public class RequestSender {
+
+    private final HttpClient httpClient;
+    private final AtomicInteger outstanding = new AtomicInteger();
+
+    /**
+     * Creates a sender.
+     *
+     * @param httpClient the client sending the requests
+     */
+    public RequestSender(HttpClient httpClient) {
+        this.httpClient = httpClient;
+    }
+
+    /**
+     * Sends a call without waiting for its response.
+     *
+     * @param call the call
+     * @param intendedStartNanos the {@link System#nanoTime()} at which the call was meant to be sent,
+     *                           from which its latency is measured
+     * @param report the report the outcome is recorded to
+     * @return a future completed once the outcome is recorded
+     */
+    public CompletableFuture<Void> sendAsync(Workload.Call call, long intendedStartNanos, LoadReport report) {
+        outstanding.incrementAndGet();
+        return httpClient.sendAsync(call.request(), HttpResponse.BodyHandlers.ofString())
+                .handle((response, e) -> {
+                    outstanding.decrementAndGet();
+                    record(call, intendedStartNanos, response, e, report);
+                    return null;
+                });
+    }
+
+    /**
+     * Sends a call and waits for its response.
+     *
+     * @param call the call
+     * @param report the report the outcome is recorded to
+     * @throws InterruptedException if the thread is interrupted while waiting for the response
+     */
+    public void send(Workload.Call call, LoadReport report) throws InterruptedException {
+        long start = System.nanoTime();
+        outstanding.incrementAndGet();
+        try {
+            HttpResponse<String> response = httpClient.send(call.request(), HttpResponse.BodyHandlers.ofString());
+            outstanding.decrementAndGet();
+            record(call, start, response, null, report);
+        } catch (IOException e) {
+            outstanding.decrementAndGet();
+            record(call, start, null, e, report);
+        }
+    }
+
+    /**
+     * Returns the number of requests waiting for their responses.
+     *
+     * @return the number of requests waiting for their responses
+     */
+    public int outstanding() {
+        return outstanding.get();
+    }
+
+    /**
+     * Waits until no request is waiting for its response, or the timeout elapses.
+     *
+     * @param timeout the maximum time to wait
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public void awaitIdle(Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (outstanding.get() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static void record(Workload.Call call, long startNanos, HttpResponse<String> response, Throwable e,
+                               LoadReport report) {
+        long latency = System.nanoTime() - startNanos;
+        if (response == null) {
+            log.debug("{} {} failed", call.request().method(), call.request().uri(), e);
+            report.recordFailure(call.endpoint(), latency);
+            return;
+        }
+        report.recordResponse(call.endpoint(), response.statusCode(), latency);
+        if (response.statusCode() / 100 == 2 && call.onSuccess() != null) {
+            call.onSuccess().accept(response.body());
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package org.ms.loadtest.local;
+
+import org.ms.loadtest.config.LoadTestProperties;
+import org.ms.post.PostApplication;
+import org.ms.user.UsersApplication;
+import org.ms.user.config.grpc.GrpcServerLifecycle;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+
+import java.net.URI;
+import java.net.URL;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Runs the user and post services in this JVM, against in-memory H2 databases and an embedded
+ * Kafka broker, so the load test needs nothing installed.
+ * <p>
+ *     Each service reads its own application.properties file, found next to its application class,
+ *     since the load test classpath holds several files of that name. The properties set here only
+ *     replace the database, the broker and the ports, so the services otherwise run with their
+ *     usual configuration; the {@code load.local.*-properties} change any other property, including
+ *     the active profiles. The web servers and the gRPC server of the user service listen on free
+ *     ports. The logback.xml file of the load test only logs the warnings.
+ * </p>
+ * <p>
+ *     The services share the CPUs with each other, the broker and the load generator, so the
+ *     results are for comparing the configurations and the commits, not for sizing a deployment.
+ * </p>
+ */
+public class LocalServices implements AutoCloseable {
+
+    /**
+     * The topic of the user deletion events, consumed by the post service.
+     */
+    private static final String USER_DELETED_TOPIC = "post_user";
+
+    private final EmbeddedKafkaKraftBroker broker;
+    private final ConfigurableApplicationContext userContext;
+    private final ConfigurableApplicationContext postContext;
+
+    private LocalServices(EmbeddedKafkaKraftBroker broker, ConfigurableApplicationContext userContext,
+                          ConfigurableApplicationContext postContext) {
+        this.broker = broker;
+        this.userContext = userContext;
+        this.postContext = postContext;
+    }
+
+    /**
+     * Starts the broker, then the user service, then the post service.
+     *
+     * @param properties the settings of the local services
+     * @return the running services; the caller must close them
+     */
+    public static LocalServices start(LoadTestProperties.Local properties) {
+        EmbeddedKafkaKraftBroker broker = new EmbeddedKafkaKraftBroker(1, properties.getKafkaPartitions(), USER_DELETED_TOPIC);
+        broker.afterPropertiesSet();
+        ConfigurableApplicationContext userContext = null;
+        try {
+            Map<String, String> userArgs = new LinkedHashMap<>(commonArgs("users", broker));
+            userArgs.put("spring.autoconfigure.exclude", "org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration");
+            userArgs.put("grpc.server.port", "0");
+            userArgs.putAll(properties.getUserProperties());
+            userContext = run(UsersApplication.class, userArgs);
+
+            int userGrpcPort = userContext.getBean(GrpcServerLifecycle.class).getPort();
+            Map<String, String> postArgs = new LinkedHashMap<>(commonArgs("posts", broker));
+            postArgs.put("spring.r2dbc.url", "r2dbc:h2:mem:///posts;DB_CLOSE_DELAY=-1");
+            postArgs.put("spring.r2dbc.username", "sa");
+            postArgs.put("spring.r2dbc.password", "");
+            postArgs.put("grpc.client.user.target", "localhost:" + userGrpcPort);
+            postArgs.putAll(properties.getPostProperties());
+            return new LocalServices(broker, userContext, run(PostApplication.class, postArgs));
+        } catch (RuntimeException e) {
+            if (userContext != null) {
+                userContext.close();
+            }
+            broker.destroy();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the base URL of the post service.
+     *
+     * @return the base URL of the post service
+     */
+    public URI postUrl() {
+        return baseUrl(postContext);
+    }
+
+    /**
+     * Returns the base URL of the user service.
+     *
+     * @return the base URL of the user service
+     */
+    public URI userUrl() {
+        return baseUrl(userContext);
+    }
+
+    @Override
+    public void close() {
+        postContext.close();
+        userContext.close();
+        broker.destroy();
+    }
+
+    private static Map<String, String> commonArgs(String database, EmbeddedKafkaKraftBroker broker) {
+        Map<String, String> args = new LinkedHashMap<>();
+        args.put("spring.datasource.url", "jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1");
+        args.put("spring.datasource.driver-class-name", "org.h2.Driver");
+        args.put("spring.datasource.username", "sa");
+        args.put("spring.datasource.password", "");
+        args.put("spring.jpa.hibernate.ddl-auto", "create-drop");
+        args.put("spring.kafka.bootstrap-servers", broker.getBrokersAsString());
+        args.put("server.port", "0");
+        args.put("spring.main.banner-mode", "off");
+        return args;
+    }
+
+    private static ConfigurableApplicationContext run(Class<?> application, Map<String, String> args) {
+        args.putIfAbsent("spring.config.location", ownApplicationProperties(application));
+        return new SpringApplicationBuilder(application)
+                .web(WebApplicationType.SERVLET)
+                .run(args.entrySet().stream()
+                        .map(arg -> "--" + arg.getKey() + "=" + arg.getValue())
+                        .toArray(String[]::new));
+    }
+
+    /**
+     * Returns the URL of the application.properties file at the root of the jar or directory
+     * holding an application class.
+     */
+    private static String ownApplicationProperties(Class<?> application) {
+        String classFile = application.getName().replace('.', '/') + ".class";
+        URL classUrl = application.getClassLoader().getResource(classFile);
+        if (classUrl == null) {
+            throw new IllegalStateException("Cannot locate " + classFile);
+        }
+        String url = classUrl.toString();
+        return url.substring(0, url.length() - classFile.length()) + "application.properties";
+    }
+
+    private static URI baseUrl(ConfigurableApplicationContext context) {
+        return URI.create("http://localhost:" + context.getEnvironment().getRequiredProperty("local.server.port"));
+    }
+}
@@ -0,0 +1,105 @@
+package org.ms.loadtest.report;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The outcomes and latencies of the requests to one endpoint.
+ * <p>
+ *     The latencies are recorded in microseconds into an HDR {@link Recorder}, which the
+ *     requesting threads write to without locking. {@link #harvest()} moves what was recorded
+ *     since its previous call into the total histogram.
+ * </p>
+ */
+class EndpointStats {
+
+    private final Recorder recorder = new Recorder(3);
+    private final Histogram total = new Histogram(3);
+    private final LongAdder ok = new LongAdder();
+    private final LongAdder clientErrors = new LongAdder();
+    private final LongAdder serverErrors = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+    private Histogram interval;
+
+    void recordResponse(int status, long latencyMicros) {
+        recorder.recordValue(latencyMicros);
+        if (status >= 500) {
+            serverErrors.increment();
+        } else if (status >= 400) {
+            clientErrors.increment();
+        } else {
+            ok.increment();
+        }
+    }
+
+    void recordFailure(long latencyMicros) {
+        recorder.recordValue(latencyMicros);
+        failures.increment();
+    }
+
+    void recordDropped() {
+        dropped.increment();
+    }
+
+    void recordSkipped() {
+        skipped.increment();
+    }
+
+    /**
+     * Moves the latencies recorded since the previous call into the total histogram.
+     *
+     * @return the latencies recorded since the previous call; the histogram is reused by the next call
+     */
+    synchronized Histogram harvest() {
+        interval = recorder.getIntervalHistogram(interval);
+        total.add(interval);
+        return interval;
+    }
+
+    /**
+     * Adds the totals of other stats to these ones.
+     *
+     * @param other the stats to add
+     */
+    void merge(EndpointStats other) {
+        total.add(other.total);
+        ok.add(other.ok());
+        clientErrors.add(other.clientErrors());
+        serverErrors.add(other.serverErrors());
+        failures.add(other.failures());
+        dropped.add(other.dropped());
+        skipped.add(other.skipped());
+    }
+
+    Histogram total() {
+        return total;
+    }
+
+    long ok() {
+        return ok.sum();
+    }
+
+    long clientErrors() {
+        return clientErrors.sum();
+    }
+
+    long serverErrors() {
+        return serverErrors.sum();
+    }
+
+    long failures() {
+        return failures.sum();
+    }
+
+    long dropped() {
+        return dropped.sum();
+    }
+
+    long skipped() {
+        return skipped.sum();
+    }
+}
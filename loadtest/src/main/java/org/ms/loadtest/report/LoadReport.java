@@ -0,0 +1,197 @@
+package org.ms.loadtest.report;
+
+import org.HdrHistogram.Histogram;
+import org.ms.loadtest.workload.Endpoint;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The latencies and outcomes of the requests of one step, by endpoint.
+ * <p>
+ *     The latency of a request runs from the time it was meant to be sent to the time its response
+ *     was received, so the time a request of the open model waited behind a late schedule is
+ *     counted, rather than hidden. The responses with a 4xx or 5xx status and the requests
+ *     receiving no response, such as the timeouts, are counted apart, but their latencies are
+ *     recorded too. A dropped request is an arrival of the open model not sent because too many
+ *     requests were waiting; a skipped request is one the dataset had no user or post for.
+ * </p>
+ * <p>
+ *     The throughput of an endpoint is the number of its responses, whatever their status, per
+ *     second of the measured time.
+ * </p>
+ */
+public class LoadReport {
+
+    private static final double MICROS_PER_MILLI = 1000.0;
+    private static final String SUMMARY_HEADER = "step,endpoint,count,throughput,ok,client_errors,server_errors,"
+            + "failures,dropped,skipped,p50_ms,p90_ms,p99_ms,p99_9_ms,max_ms";
+
+    private final Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+
+    /**
+     * Creates an empty report.
+     */
+    public LoadReport() {
+        for (Endpoint endpoint : Endpoint.values()) {
+            stats.put(endpoint, new EndpointStats());
+        }
+    }
+
+    /**
+     * Records a response.
+     *
+     * @param endpoint the endpoint called
+     * @param status the HTTP status of the response
+     * @param latencyNanos the latency of the request
+     */
+    public void recordResponse(Endpoint endpoint, int status, long latencyNanos) {
+        stats.get(endpoint).recordResponse(status, toMicros(latencyNanos));
+    }
+
+    /**
+     * Records a request that received no response.
+     *
+     * @param endpoint the endpoint called
+     * @param latencyNanos the time until the request failed
+     */
+    public void recordFailure(Endpoint endpoint, long latencyNanos) {
+        stats.get(endpoint).recordFailure(toMicros(latencyNanos));
+    }
+
+    /**
+     * Records an arrival of the open model that was not sent because too many requests were waiting.
+     *
+     * @param endpoint the endpoint that would have been called
+     */
+    public void recordDropped(Endpoint endpoint) {
+        stats.get(endpoint).recordDropped();
+    }
+
+    /**
+     * Records a request that was not sent because the dataset had no user or post for it.
+     *
+     * @param endpoint the endpoint that would have been called
+     */
+    public void recordSkipped(Endpoint endpoint) {
+        stats.get(endpoint).recordSkipped();
+    }
+
+    /**
+     * Moves the latencies recorded since the previous call into the totals of the endpoints.
+     *
+     * @return the latencies of all the endpoints recorded since the previous call
+     */
+    public Histogram harvest() {
+        Histogram interval = new Histogram(3);
+        for (EndpointStats endpointStats : stats.values()) {
+            interval.add(endpointStats.harvest());
+        }
+        return interval;
+    }
+
+    /**
+     * Prints the throughput, the outcomes and the latency percentiles of each endpoint called, and
+     * of all of them.
+     *
+     * @param out the stream printed to
+     * @param step the name of the step
+     * @param elapsed the measured time
+     */
+    public void print(PrintStream out, String step, Duration elapsed) {
+        harvest();
+        out.printf(Locale.ROOT, "%n%s, measured for %.1f s%n", step, elapsed.toMillis() / 1000.0);
+        out.printf(Locale.ROOT, "%-36s %9s %9s %9s %7s %7s %7s %8s %8s %9s %9s %9s %9s %9s%n",
+                "endpoint", "count", "req/s", "ok", "4xx", "5xx", "failed", "dropped", "skipped",
+                "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Map.Entry<Endpoint, EndpointStats> entry : stats.entrySet()) {
+            EndpointStats endpointStats = entry.getValue();
+            if (endpointStats.total().getTotalCount() > 0 || endpointStats.dropped() > 0 || endpointStats.skipped() > 0) {
+                printRow(out, entry.getKey().getLabel(), endpointStats, elapsed);
+            }
+        }
+        printRow(out, "all", merge(), elapsed);
+    }
+
+    /**
+     * Writes the percentile distribution of each endpoint called to an {@code .hgrm} file of a
+     * directory named after the step, which HdrHistogram's plotter reads, and appends a row per
+     * endpoint to the {@code summary.csv} file.
+     *
+     * @param directory the directory the files are written to
+     * @param step the name of the step
+     * @param elapsed the measured time
+     * @throws IOException if a file cannot be written
+     */
+    public void write(Path directory, String step, Duration elapsed) throws IOException {
+        harvest();
+        Path stepDirectory = Files.createDirectories(directory.resolve(step));
+        StringBuilder summary = new StringBuilder();
+        for (Map.Entry<Endpoint, EndpointStats> entry : stats.entrySet()) {
+            EndpointStats endpointStats = entry.getValue();
+            if (endpointStats.total().getTotalCount() == 0) {
+                continue;
+            }
+            String name = entry.getKey().name().toLowerCase(Locale.ROOT).replace('_', '-');
+            try (PrintStream out = new PrintStream(Files.newOutputStream(stepDirectory.resolve(name + ".hgrm")))) {
+                endpointStats.total().outputPercentileDistribution(out, MICROS_PER_MILLI);
+            }
+            appendSummary(summary, step, name, endpointStats, elapsed);
+        }
+        appendSummary(summary, step, "all", merge(), elapsed);
+        Path summaryFile = directory.resolve("summary.csv");
+        if (Files.notExists(summaryFile)) {
+            Files.writeString(summaryFile, SUMMARY_HEADER + System.lineSeparator());
+        }
+        Files.writeString(summaryFile, summary, StandardOpenOption.APPEND);
+    }
+
+    private EndpointStats merge() {
+        EndpointStats all = new EndpointStats();
+        for (EndpointStats endpointStats : stats.values()) {
+            all.merge(endpointStats);
+        }
+        return all;
+    }
+
+    private static void printRow(PrintStream out, String label, EndpointStats endpointStats, Duration elapsed) {
+        Histogram histogram = endpointStats.total();
+        out.printf(Locale.ROOT, "%-36s %9d %9.1f %9d %7d %7d %7d %8d %8d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                label, histogram.getTotalCount(), throughput(histogram, elapsed),
+                endpointStats.ok(), endpointStats.clientErrors(), endpointStats.serverErrors(),
+                endpointStats.failures(), endpointStats.dropped(), endpointStats.skipped(),
+                millis(histogram, 50), millis(histogram, 90), millis(histogram, 99), millis(histogram, 99.9),
+                histogram.getTotalCount() == 0 ? 0 : histogram.getMaxValue() / MICROS_PER_MILLI);
+    }
+
+    private static void appendSummary(StringBuilder summary, String step, String name, EndpointStats endpointStats,
+                                      Duration elapsed) {
+        Histogram histogram = endpointStats.total();
+        summary.append(String.format(Locale.ROOT, "%s,%s,%d,%.1f,%d,%d,%d,%d,%d,%d,%.3f,%.3f,%.3f,%.3f,%.3f%n",
+                step, name, histogram.getTotalCount(), throughput(histogram, elapsed),
+                endpointStats.ok(), endpointStats.clientErrors(), endpointStats.serverErrors(),
+                endpointStats.failures(), endpointStats.dropped(), endpointStats.skipped(),
+                millis(histogram, 50), millis(histogram, 90), millis(histogram, 99), millis(histogram, 99.9),
+                histogram.getTotalCount() == 0 ? 0 : histogram.getMaxValue() / MICROS_PER_MILLI));
+    }
+
+    private static double throughput(Histogram histogram, Duration elapsed) {
+        return histogram.getTotalCount() * 1000.0 / Math.max(1, elapsed.toMillis());
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getTotalCount() == 0 ? 0 : histogram.getValueAtPercentile(percentile) / MICROS_PER_MILLI;
+    }
+
+    private static long toMicros(long latencyNanos) {
+        return Math.max(0, TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+    }
+}
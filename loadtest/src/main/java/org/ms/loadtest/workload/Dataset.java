@@ -0,0 +1,135 @@
+package org.ms.loadtest.workload;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The users and posts known to exist, from which the requests pick their IDs.
+ * <p>
+ *     The users created or seeded are added with their posts, and a user picked for deletion is
+ *     forgotten along with its posts before the deletion is sent, so the reads only ask for posts
+ *     that were not deleted. A post is picked through a random user having posts, so the posts
+ *     of the users with fewer posts are picked more often.
+ * </p>
+ */
+public class Dataset {
+
+    /**
+     * How many users having no posts are tried before a post lookup gives up.
+     */
+    private static final int POST_ATTEMPTS = 8;
+
+    private final List<User> users = new ArrayList<>();
+    private final Map<Long, User> usersById = new HashMap<>();
+
+    /**
+     * Adds a user.
+     *
+     * @param userId the ID of the user
+     */
+    public synchronized void addUser(long userId) {
+        if (!usersById.containsKey(userId)) {
+            User user = new User(userId, users.size());
+            users.add(user);
+            usersById.put(userId, user);
+        }
+    }
+
+    /**
+     * Adds a post of a known user; the post is ignored if the user was forgotten meanwhile.
+     *
+     * @param userId the ID of the user who owns the post
+     * @param postId the ID of the post
+     */
+    public synchronized void addPost(long userId, long postId) {
+        User user = usersById.get(userId);
+        if (user != null) {
+            user.postIds.add(postId);
+        }
+    }
+
+    /**
+     * Picks a random user.
+     *
+     * @return the ID of the user, or {@code -1} if no user is known
+     */
+    public synchronized long randomUserId() {
+        if (users.isEmpty()) {
+            return -1;
+        }
+        return users.get(ThreadLocalRandom.current().nextInt(users.size())).id;
+    }
+
+    /**
+     * Picks a random post.
+     *
+     * @return the ID of the user who owns the post and the ID of the post, or {@code null} if no
+     * post was found
+     */
+    public synchronized long[] randomPost() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < POST_ATTEMPTS && !users.isEmpty(); i++) {
+            User user = users.get(random.nextInt(users.size()));
+            if (!user.postIds.isEmpty()) {
+                return new long[]{user.id, user.postIds.get(random.nextInt(user.postIds.size()))};
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Picks a random user to delete and forgets it along with its posts; the last user is kept.
+     *
+     * @return the ID of the user, or {@code -1} if at most one user is known
+     */
+    public synchronized long removeRandomUser() {
+        if (users.size() <= 1) {
+            return -1;
+        }
+        User user = users.get(ThreadLocalRandom.current().nextInt(users.size()));
+        User last = users.remove(users.size() - 1);
+        if (last != user) {
+            users.set(user.index, last);
+            last.index = user.index;
+        }
+        usersById.remove(user.id);
+        return user.id;
+    }
+
+    /**
+     * Returns the number of known users.
+     *
+     * @return the number of known users
+     */
+    public synchronized int userCount() {
+        return users.size();
+    }
+
+    /**
+     * Returns the number of known posts.
+     *
+     * @return the number of known posts
+     */
+    public synchronized int postCount() {
+        int count = 0;
+        for (User user : users) {
+            count += user.postIds.size();
+        }
+        return count;
+    }
+
+    private static final class User {
+
+        private final long id;
+        private final List<Long> postIds = new ArrayList<>();
+        private int index;
+
+        private User(long id, int index) {
+            this.id = id;
+            this.index = index;
+        }
+    }
+}
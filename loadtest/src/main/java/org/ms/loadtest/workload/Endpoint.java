@@ -0,0 +1,47 @@
+package org.ms.loadtest.workload;
+
+/**
+ * The endpoints called by the load test.
+ */
+public enum Endpoint {
+
+    /**
+     * {@code POST /posts}, for a known user.
+     */
+    CREATE_POST("POST /posts"),
+
+    /**
+     * {@code GET /posts/{id}}, for a known post.
+     */
+    GET_POST("GET /posts/{id}"),
+
+    /**
+     * {@code GET /users/{userId}/posts/{postId}}, for a known post.
+     */
+    GET_USER_POST("GET /users/{userId}/posts/{postId}"),
+
+    /**
+     * {@code POST /users}.
+     */
+    CREATE_USER("POST /users"),
+
+    /**
+     * {@code DELETE /users/{id}}, for a known user, which is forgotten along with its posts.
+     */
+    DELETE_USER("DELETE /users/{id}");
+
+    private final String label;
+
+    Endpoint(String label) {
+        this.label = label;
+    }
+
+    /**
+     * Returns the method and path of the endpoint, as shown in the reports.
+     *
+     * @return the method and path of the endpoint
+     */
+    public String getLabel() {
+        return label;
+    }
+}
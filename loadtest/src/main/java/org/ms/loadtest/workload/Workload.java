@@ -0,0 +1,201 @@
+package org.ms.loadtest.workload;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Builds the requests of the load test, picking the endpoints by their weights and the IDs from
+ * the {@link Dataset}.
+ * <p>
+ *     The responses of the successful creations add the new users and posts to the dataset, so
+ *     the later reads and deletions use them.
+ * </p>
+ */
+public class Workload {
+
+    /**
+     * The maximum number of users or posts created by one seeding request.
+     */
+    private static final int SEED_BATCH_SIZE = 500;
+
+    private static final String POST_BODY = "A post body written by the load test";
+
+    private final URI postUrl;
+    private final URI userUrl;
+    private final Dataset dataset;
+    private final Duration requestTimeout;
+    private final ObjectMapper objectMapper;
+    private final Endpoint[] endpoints;
+    private final int[] cumulativeWeights;
+    private final AtomicLong userNames = new AtomicLong();
+
+    /**
+     * Creates a workload.
+     *
+     * @param postUrl the base URL of the post service
+     * @param userUrl the base URL of the user service
+     * @param weights the relative weights of the endpoints
+     * @param dataset the users and posts known to exist
+     * @param requestTimeout how long a request waits for its response
+     * @param objectMapper reads the created users and posts
+     */
+    public Workload(URI postUrl, URI userUrl, Map<Endpoint, Integer> weights, Dataset dataset,
+                    Duration requestTimeout, ObjectMapper objectMapper) {
+        this.postUrl = postUrl;
+        this.userUrl = userUrl;
+        this.dataset = dataset;
+        this.requestTimeout = requestTimeout;
+        this.objectMapper = objectMapper;
+        this.endpoints = weights.entrySet().stream()
+                .filter(entry -> entry.getValue() > 0)
+                .map(Map.Entry::getKey)
+                .sorted()
+                .toArray(Endpoint[]::new);
+        if (endpoints.length == 0) {
+            throw new IllegalArgumentException("The workload has no endpoint with a positive weight");
+        }
+        this.cumulativeWeights = new int[endpoints.length];
+        int total = 0;
+        for (int i = 0; i < endpoints.length; i++) {
+            total += weights.get(endpoints[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    /**
+     * Picks an endpoint by the weights of the workload.
+     *
+     * @return the endpoint
+     */
+    public Endpoint nextEndpoint() {
+        int value = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (value < cumulativeWeights[i]) {
+                return endpoints[i];
+            }
+        }
+        throw new IllegalStateException("No endpoint for the weight " + value);
+    }
+
+    /**
+     * Builds a request to an endpoint.
+     *
+     * @param endpoint the endpoint
+     * @return the call, or {@code null} if the dataset has no user or post to call the endpoint with
+     */
+    public Call newCall(Endpoint endpoint) {
+        return switch (endpoint) {
+            case CREATE_POST -> {
+                long userId = dataset.randomUserId();
+                yield userId < 0 ? null : new Call(endpoint,
+                        post(postUrl.resolve("/posts"), "{\"userId\":" + userId + ",\"body\":\"" + POST_BODY + "\"}"),
+                        body -> dataset.addPost(userId, readId(body)));
+            }
+            case GET_POST -> {
+                long[] post = dataset.randomPost();
+                yield post == null ? null : new Call(endpoint, get(postUrl.resolve("/posts/" + post[1])), null);
+            }
+            case GET_USER_POST -> {
+                long[] post = dataset.randomPost();
+                yield post == null ? null
+                        : new Call(endpoint, get(postUrl.resolve("/users/" + post[0] + "/posts/" + post[1])), null);
+            }
+            case CREATE_USER -> new Call(endpoint,
+                    post(userUrl.resolve("/users"), "{\"name\":\"" + nextUserName() + "\"}"),
+                    body -> dataset.addUser(readId(body)));
+            case DELETE_USER -> {
+                long userId = dataset.removeRandomUser();
+                yield userId < 0 ? null : new Call(endpoint,
+                        request(userUrl.resolve("/users/" + userId)).DELETE().build(), null);
+            }
+        };
+    }
+
+    /**
+     * Creates users and their posts through the batch endpoints, and adds them to the dataset.
+     *
+     * @param httpClient the client sending the requests
+     * @param users the number of users to create
+     * @param postsPerUser the number of posts to create for each user
+     * @throws IOException if a request fails
+     * @throws InterruptedException if the thread is interrupted while waiting for a response
+     */
+    public void seed(HttpClient httpClient, int users, int postsPerUser) throws IOException, InterruptedException {
+        for (int created = 0; created < users; created += SEED_BATCH_SIZE) {
+            StringBuilder batch = new StringBuilder("[");
+            for (int i = 0; i < Math.min(SEED_BATCH_SIZE, users - created); i++) {
+                batch.append(i == 0 ? "" : ",").append("{\"name\":\"").append(nextUserName()).append("\"}");
+            }
+            for (JsonNode user : sendSeed(httpClient, post(userUrl.resolve("/users/batch"), batch.append(']').toString()))) {
+                dataset.addUser(user.get("id").asLong());
+            }
+        }
+        int posts = dataset.userCount() * postsPerUser;
+        for (int created = 0; created < posts; created += SEED_BATCH_SIZE) {
+            StringBuilder batch = new StringBuilder("[");
+            for (int i = 0; i < Math.min(SEED_BATCH_SIZE, posts - created); i++) {
+                batch.append(i == 0 ? "" : ",").append("{\"userId\":").append(dataset.randomUserId())
+                        .append(",\"body\":\"").append(POST_BODY).append("\"}");
+            }
+            for (JsonNode post : sendSeed(httpClient, post(postUrl.resolve("/posts/batch"), batch.append(']').toString()))) {
+                dataset.addPost(post.get("userId").asLong(), post.get("id").asLong());
+            }
+        }
+    }
+
+    private JsonNode sendSeed(HttpClient httpClient, HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IOException(request.method() + " " + request.uri() + " answered " + response.statusCode());
+        }
+        return objectMapper.readTree(response.body());
+    }
+
+    private HttpRequest get(URI uri) {
+        return request(uri).GET().build();
+    }
+
+    private HttpRequest post(URI uri, String json) {
+        return request(uri)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private HttpRequest.Builder request(URI uri) {
+        return HttpRequest.newBuilder(uri).timeout(requestTimeout);
+    }
+
+    private String nextUserName() {
+        return "load user " + userNames.incrementAndGet();
+    }
+
+    private long readId(String body) {
+        try {
+            return objectMapper.readTree(body).get("id").asLong();
+        } catch (IOException e) {
+            throw new IllegalStateException("Unexpected response body: " + body, e);
+        }
+    }
+
+    /**
+     * A request to an endpoint.
+     *
+     * @param endpoint the endpoint called
+     * @param request the HTTP request
+     * @param onSuccess reads the body of a successful response, or {@code null} if it is not needed
+     */
+    public record Call(Endpoint endpoint, HttpRequest request, Consumer<String> onSuccess) {
+    }
+}
@@ -0,0 +1,56 @@
+package org.ms.loadtest.workload;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Predefined mixes of endpoints.
+ */
+public enum WorkloadProfile {
+
+    /**
+     * Mostly post reads, with some posts created and a few users churning.
+     */
+    MIXED(Map.of(
+            Endpoint.CREATE_POST, 20,
+            Endpoint.GET_POST, 40,
+            Endpoint.GET_USER_POST, 30,
+            Endpoint.CREATE_USER, 6,
+            Endpoint.DELETE_USER, 4)),
+
+    /**
+     * Almost only post reads.
+     */
+    READ_HEAVY(Map.of(
+            Endpoint.CREATE_POST, 4,
+            Endpoint.GET_POST, 50,
+            Endpoint.GET_USER_POST, 44,
+            Endpoint.CREATE_USER, 1,
+            Endpoint.DELETE_USER, 1)),
+
+    /**
+     * Mostly posts created, with user churn publishing deletion events to the post service.
+     */
+    WRITE_HEAVY(Map.of(
+            Endpoint.CREATE_POST, 60,
+            Endpoint.GET_POST, 10,
+            Endpoint.GET_USER_POST, 10,
+            Endpoint.CREATE_USER, 12,
+            Endpoint.DELETE_USER, 8));
+
+    private final Map<Endpoint, Integer> weights;
+
+    WorkloadProfile(Map<Endpoint, Integer> weights) {
+        this.weights = Collections.unmodifiableMap(new EnumMap<>(weights));
+    }
+
+    /**
+     * Returns the relative weights of the endpoints.
+     *
+     * @return the relative weights of the endpoints
+     */
+    public Map<Endpoint, Integer> getWeights() {
+        return weights;
+    }
+}
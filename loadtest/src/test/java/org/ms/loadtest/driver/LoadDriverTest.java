@@ -0,0 +1,97 @@
+package org.ms.loadtest.driver;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.ms.loadtest.config.LoadTestProperties.Arrivals;
+import org.ms.loadtest.report.LoadReport;
+import org.ms.loadtest.workload.Dataset;
+import org.ms.loadtest.workload.Endpoint;
+import org.ms.loadtest.workload.Workload;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoadDriverTest {
+
+    private static final Duration SERVICE_TIME = Duration.ofMillis(100);
+
+    private HttpServer server;
+    private HttpClient httpClient;
+    private RequestSender sender;
+    private Workload workload;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/", exchange -> {
+            try {
+                Thread.sleep(SERVICE_TIME);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = "{}".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+
+        httpClient = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+        sender = new RequestSender(httpClient);
+        URI url = URI.create("http://localhost:" + server.getAddress().getPort());
+        Dataset dataset = new Dataset();
+        dataset.addUser(1L);
+        dataset.addPost(1L, 10L);
+        workload = new Workload(url, url, Map.of(Endpoint.GET_POST, 1), dataset, Duration.ofSeconds(5), new ObjectMapper());
+    }
+
+    @AfterEach
+    void tearDown() {
+        httpClient.close();
+        server.stop(0);
+    }
+
+    @Test
+    void openModelKeepsTheArrivalRateWhateverTheServiceTime() throws InterruptedException {
+        LoadReport report = new LoadReport();
+
+        new OpenLoopDriver(workload, sender, 50, Arrivals.UNIFORM, 1000).run(Duration.ofSeconds(1), report);
+        sender.awaitIdle(Duration.ofSeconds(5));
+
+        Histogram latencies = report.harvest();
+        assertThat(latencies.getTotalCount()).isEqualTo(50);
+        assertThat(latencies.getValueAtPercentile(50)).isGreaterThanOrEqualTo(SERVICE_TIME.toNanos() / 1000);
+    }
+
+    @Test
+    void openModelDropsTheArrivalsBeyondTheOutstandingLimit() throws InterruptedException {
+        LoadReport report = new LoadReport();
+
+        new OpenLoopDriver(workload, sender, 100, Arrivals.UNIFORM, 1).run(Duration.ofMillis(500), report);
+        sender.awaitIdle(Duration.ofSeconds(5));
+
+        assertThat(report.harvest().getTotalCount()).isBetween(3L, 10L);
+    }
+
+    @Test
+    void closedModelWaitsForEachResponse() throws InterruptedException {
+        LoadReport report = new LoadReport();
+
+        new ClosedLoopDriver(workload, sender, 1, Duration.ZERO).run(Duration.ofSeconds(1), report);
+
+        assertThat(report.harvest().getTotalCount()).isBetween(5L, 11L);
+    }
+}
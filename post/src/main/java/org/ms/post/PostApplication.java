@@ -3,6 +3,7 @@ package org.ms.post;
 import com.google.protobuf.InvalidProtocolBufferException;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcTransactionManagerAutoConfiguration;
 
 /**
  * The main entry point for the Post application.
@@ -11,9 +12,14 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  * {@link SpringApplication}. It starts the application and initializes the
  * necessary components to handle incoming requests.
  * </p>
+ * <p>
+ *     The R2DBC transaction manager is not configured: the reactive profile runs single statements
+ *     only, and a second transaction manager would make {@code @Transactional} ambiguous for the
+ *     JPA services.
+ * </p>
  *
  */
-@SpringBootApplication
+@SpringBootApplication(exclude = R2dbcTransactionManagerAutoConfiguration.class)
 public class PostApplication {
 
     /**
@@ -1,14 +1,13 @@
 package org.ms.post.config;
 
-import org.modelmapper.ModelMapper;
-import org.modelmapper.convention.MatchingStrategies;
+import org.ms.post.mappers.impl.PostMapper;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 /**
- * Configuration class for setting up a ModelMapper bean.
+ * Configuration class for setting up the mapper beans.
  * <p>
- *     This class configures the ModelMapper, which is used for mapping objects between
+ *     This class provides the mappers which are used for mapping objects between
  *     different layers of the application, such as mapping between DTOs (Data Transfer Objects)
  *     and entity models.
  * </p>
@@ -17,19 +16,16 @@ import org.springframework.context.annotation.Configuration;
 public class MapperConfig {
 
     /**
-     * Configures and provides a {@link ModelMapper} bean.
+     * Provides the {@link PostMapper} bean.
      * <p>
-     *     The ModelMapper is set with a loose matching strategy, which means it will map
-     *     properties with similar names more flexibly, even if they do not match exactly.
-     *     This is particularly useful when mapping between objects with slightly different structures.
+     *     The mapper copies the fields explicitly instead of matching properties by reflection,
+     *     so a conversion costs no more than the allocation of the target object.
      * </p>
      *
-     * @return a configured {@link ModelMapper} instance with loose matching strategy.
+     * @return a {@link PostMapper} instance.
      */
     @Bean
-    public ModelMapper modelMapper() {
-        ModelMapper modelMapper = new ModelMapper();
-        modelMapper.getConfiguration().setMatchingStrategy(MatchingStrategies.LOOSE);
-        return modelMapper;
+    public PostMapper postMapper() {
+        return new PostMapper();
     }
 }
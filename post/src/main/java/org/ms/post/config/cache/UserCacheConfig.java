@@ -0,0 +1,59 @@
+package org.ms.post.config.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for the near-cache of user existence checks.
+ * <p>
+ *     The cache maps a user id to whether the user exists in the user service, so that
+ *     repeated posts by the same user do not need a gRPC round trip. Existing and missing
+ *     users expire after different durations, and the cache statistics are published as
+ *     'cache.*' metrics tagged with {@code cache=userExistence}.
+ * </p>
+ */
+@Configuration
+@EnableConfigurationProperties(UserCacheProperties.class)
+public class UserCacheConfig {
+
+    /**
+     * Creates the user existence cache and binds its metrics to the meter registry.
+     *
+     * @param properties the cache properties bound from the application.properties file
+     * @param meterRegistry the registry the hit, miss and eviction metrics are published to
+     * @return a bounded {@link AsyncCache} of user ids to their existence, holding the pending
+     *         answers of the calls in flight
+     */
+    @Bean
+    public AsyncCache<Long, Boolean> userExistenceCache(UserCacheProperties properties, MeterRegistry meterRegistry) {
+        long existingTtlNanos = properties.getExistingTtl().toNanos();
+        long missingTtlNanos = properties.getMissingTtl().toNanos();
+        AsyncCache<Long, Boolean> cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfter(new Expiry<Long, Boolean>() {
+                    @Override
+                    public long expireAfterCreate(Long userId, Boolean exists, long currentTime) {
+                        return exists ? existingTtlNanos : missingTtlNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(Long userId, Boolean exists, long currentTime, long currentDuration) {
+                        return exists ? existingTtlNanos : missingTtlNanos;
+                    }
+
+                    @Override
+                    public long expireAfterRead(Long userId, Boolean exists, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .buildAsync();
+        return CaffeineCacheMetrics.monitor(meterRegistry, cache, "userExistence");
+    }
+}
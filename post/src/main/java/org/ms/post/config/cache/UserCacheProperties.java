@@ -0,0 +1,44 @@
+package org.ms.post.config.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the near-cache of user existence checks.
+ * <p>
+ *     The values are bound from the 'cache.user-existence' prefix in the application.properties file.
+ *     For example:
+ *     <pre>
+ *         cache.user-existence.maximum-size=100000
+ *         cache.user-existence.existing-ttl=10m
+ *         cache.user-existence.missing-ttl=5s
+ *     </pre>
+ * </p>
+ */
+@Data
+@ConfigurationProperties(prefix = "cache.user-existence")
+public class UserCacheProperties {
+
+    /**
+     * The maximum number of user ids kept in the cache.
+     */
+    private long maximumSize = 100_000;
+
+    /**
+     * How long a user known to exist is remembered.
+     * <p>
+     *     Deleted users are evicted by the 'post_user' Kafka listener, so this can be long.
+     * </p>
+     */
+    private Duration existingTtl = Duration.ofMinutes(10);
+
+    /**
+     * How long a user known to be missing is remembered.
+     * <p>
+     *     Nothing evicts these entries when the user is created, so this should stay short.
+     * </p>
+     */
+    private Duration missingTtl = Duration.ofSeconds(5);
+}
@@ -0,0 +1,18 @@
+package org.ms.post.config.cleanup;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Configuration class for the chunked deletion of deleted users' posts.
+ * <p>
+ *     The deletions are run by a scheduled task, on the scheduler thread, so that the Kafka
+ *     listener only has to record them.
+ * </p>
+ */
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(PostCleanupProperties.class)
+public class PostCleanupConfig {
+}
@@ -0,0 +1,47 @@
+package org.ms.post.config.cleanup;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the chunked deletion of deleted users' posts.
+ * <p>
+ *     The values are bound from the 'cleanup.posts' prefix in the application.properties file.
+ *     For example:
+ *     <pre>
+ *         cleanup.posts.batch-size=1000
+ *         cleanup.posts.pause=50ms
+ *         cleanup.posts.poll-interval=1000
+ *     </pre>
+ * </p>
+ */
+@Data
+@ConfigurationProperties(prefix = "cleanup.posts")
+public class PostCleanupProperties {
+
+    /**
+     * The maximum number of posts deleted by one chunk, in its own transaction.
+     */
+    private int batchSize = 1000;
+
+    /**
+     * How long to wait between two chunks, giving other transactions and the WAL writer room.
+     */
+    private Duration pause = Duration.ofMillis(50);
+
+    /**
+     * How often the pending deletions are checked when there is nothing to do.
+     * <p>
+     *     The value is also read by {@code @Scheduled}, which only accepts milliseconds or the
+     *     ISO-8601 format, so it is given in milliseconds.
+     * </p>
+     */
+    private Duration pollInterval = Duration.ofSeconds(1);
+
+    /**
+     * The maximum number of pending deletions loaded per check.
+     */
+    private int pendingLimit = 100;
+}
@@ -0,0 +1,166 @@
+package org.ms.post.config.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A {@link DataSource} handing out the connections of several replicas in turn.
+ * <p>
+ *     A replica whose connection cannot be obtained is ejected: it is skipped for the
+ *     {@code ejectFor} duration, then tried again by the next request. When every replica is
+ *     ejected, the connections are taken from the fallback data source, the primary.
+ * </p>
+ * <p>
+ *     Each connection handed out is counted by the 'datasource.route' counter, tagged with the
+ *     route, a replica pool name or "primary", and 'access=read-only'. The ejections are counted
+ *     by the 'datasource.replica.ejections' counter, tagged with the replica.
+ * </p>
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private final List<Replica> replicas = new ArrayList<>();
+    private final DataSource fallback;
+    private final Counter fallbackRoutes;
+    private final long ejectForNanos;
+    private final AtomicInteger next = new AtomicInteger();
+
+    /**
+     * Creates the data source.
+     *
+     * @param replicas the data sources of the replicas by route name, in the order they are used
+     * @param fallback the data source used while every replica is ejected
+     * @param ejectFor how long a failing replica is skipped
+     * @param meterRegistry the registry of the route and ejection counters
+     */
+    public ReplicaRoutingDataSource(Map<String, ? extends DataSource> replicas, DataSource fallback,
+                                    Duration ejectFor, MeterRegistry meterRegistry) {
+        for (Map.Entry<String, ? extends DataSource> replica : replicas.entrySet()) {
+            this.replicas.add(new Replica(replica.getKey(), replica.getValue(),
+                    routeCounter(meterRegistry, replica.getKey()),
+                    Counter.builder("datasource.replica.ejections")
+                            .description("Number of times a replica was ejected after a failed connection")
+                            .tag("replica", replica.getKey())
+                            .register(meterRegistry)));
+        }
+        this.fallback = fallback;
+        this.fallbackRoutes = routeCounter(meterRegistry, "primary");
+        this.ejectForNanos = ejectFor.toNanos();
+    }
+
+    /**
+     * Takes a connection from the next replica that is not ejected, or from the fallback data
+     * source when every replica is ejected.
+     *
+     * @return the connection
+     * @throws SQLException if the fallback data source fails to provide a connection
+     */
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route(DataSource::getConnection);
+    }
+
+    /**
+     * Takes a connection for the given credentials from the next replica that is not ejected, or
+     * from the fallback data source when every replica is ejected.
+     *
+     * @param username the database user
+     * @param password the password of the user
+     * @return the connection
+     * @throws SQLException if the fallback data source fails to provide a connection
+     */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    private Connection route(ConnectionSource source) throws SQLException {
+        int start = next.getAndIncrement();
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get(Math.floorMod(start + i, replicas.size()));
+            if (replica.isEjected()) {
+                continue;
+            }
+            try {
+                Connection connection = source.getConnection(replica.dataSource);
+                replica.routes.increment();
+                return connection;
+            } catch (SQLException | RuntimeException e) {
+                replica.eject();
+                log.warn("Ejecting replica {} for {} ms after a failed connection: {}",
+                        replica.name, ejectForNanos / 1_000_000, e.getMessage());
+            }
+        }
+        fallbackRoutes.increment();
+        return source.getConnection(fallback);
+    }
+
+    /**
+     * Closes the data sources of the replicas that can be closed, such as their connection pools.
+     *
+     * @throws Exception if a data source fails to close
+     */
+    @Override
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private static Counter routeCounter(MeterRegistry meterRegistry, String route) {
+        return Counter.builder("datasource.route")
+                .description("Number of connections handed out per route")
+                .tag("route", route)
+                .tag("access", "read-only")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Obtains a connection from a data source, with or without credentials.
+     */
+    @FunctionalInterface
+    private interface ConnectionSource {
+
+        Connection getConnection(DataSource dataSource) throws SQLException;
+    }
+
+    private final class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private final Counter routes;
+        private final Counter ejections;
+        private volatile long ejectedUntil;
+        private volatile boolean ejected;
+
+        private Replica(String name, DataSource dataSource, Counter routes, Counter ejections) {
+            this.name = name;
+            this.dataSource = dataSource;
+            this.routes = routes;
+            this.ejections = ejections;
+        }
+
+        private boolean isEjected() {
+            return ejected && System.nanoTime() - ejectedUntil < 0;
+        }
+
+        private void eject() {
+            ejectedUntil = System.nanoTime() + ejectForNanos;
+            ejected = true;
+            ejections.increment();
+        }
+    }
+}
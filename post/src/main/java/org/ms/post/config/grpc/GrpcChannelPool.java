@@ -0,0 +1,81 @@
+package org.ms.post.config.grpc;
+
+import io.grpc.ClientInterceptor;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A fixed-size pool of long-lived gRPC channels.
+ * <p>
+ *     The channels are created once and shared by all callers, so requests reuse the
+ *     established HTTP/2 connections instead of paying for a new handshake on every call.
+ *     Channels are handed out in round-robin order and are shut down when the pool is closed.
+ * </p>
+ */
+@Slf4j
+public class GrpcChannelPool implements AutoCloseable {
+
+    private final ManagedChannel[] channels;
+    private final AtomicInteger next = new AtomicInteger();
+    private final long shutdownTimeoutMillis;
+
+    /**
+     * Creates the pool and all of its channels from the given properties.
+     *
+     * @param properties the client properties describing the target and the channel settings
+     * @param interceptors the interceptors every call of the channels goes through
+     */
+    public GrpcChannelPool(UserGrpcClientProperties properties, ClientInterceptor... interceptors) {
+        this.channels = new ManagedChannel[Math.max(1, properties.getPoolSize())];
+        this.shutdownTimeoutMillis = properties.getShutdownTimeout().toMillis();
+        for (int i = 0; i < channels.length; i++) {
+            channels[i] = ManagedChannelBuilder.forTarget(properties.getTarget())
+                    .usePlaintext()
+                    .keepAliveTime(properties.getKeepAliveTime().toMillis(), TimeUnit.MILLISECONDS)
+                    .keepAliveTimeout(properties.getKeepAliveTimeout().toMillis(), TimeUnit.MILLISECONDS)
+                    .keepAliveWithoutCalls(properties.isKeepAliveWithoutCalls())
+                    .idleTimeout(properties.getIdleTimeout().toMillis(), TimeUnit.MILLISECONDS)
+                    .maxInboundMessageSize(properties.getMaxInboundMessageSize())
+                    .intercept(interceptors)
+                    .build();
+        }
+        log.info("Created {} gRPC channel(s) to {}", channels.length, properties.getTarget());
+    }
+
+    /**
+     * Returns the next channel of the pool in round-robin order.
+     *
+     * @return a shared {@link ManagedChannel}; callers must not shut it down
+     */
+    public ManagedChannel next() {
+        return channels[Math.floorMod(next.getAndIncrement(), channels.length)];
+    }
+
+    /**
+     * Shuts down all channels, waiting for in-flight calls up to the configured timeout
+     * before forcing the remaining ones to close.
+     */
+    @Override
+    public void close() {
+        for (ManagedChannel channel : channels) {
+            channel.shutdown();
+        }
+        try {
+            for (ManagedChannel channel : channels) {
+                if (!channel.awaitTermination(shutdownTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                    channel.shutdownNow();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            for (ManagedChannel channel : channels) {
+                channel.shutdownNow();
+            }
+        }
+        log.info("Closed {} gRPC channel(s)", channels.length);
+    }
+}
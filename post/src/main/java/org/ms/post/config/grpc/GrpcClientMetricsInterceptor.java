@@ -0,0 +1,137 @@
+package org.ms.post.config.grpc;
+
+import com.google.protobuf.MessageLite;
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.ClientInterceptor;
+import io.grpc.ForwardingClientCall;
+import io.grpc.ForwardingClientCallListener;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Records the metrics of the calls made through the gRPC channels, per method.
+ * <p>
+ *     The following metrics are published, all tagged with the full method name:
+ *     <ul>
+ *         <li>{@code grpc.client.call.duration}: the time from the start of a call to its close, also
+ *         tagged with the status code; compared with the {@code grpc.server.call.*} metrics of the
+ *         user service, it tells the time spent on the network from the time spent by the server;</li>
+ *         <li>{@code grpc.client.calls.active}: the number of calls in progress;</li>
+ *         <li>{@code grpc.client.message.size}: the serialized size of each message, tagged with the
+ *         'sent' or 'received' direction.</li>
+ *     </ul>
+ * </p>
+ * <p>
+ *     A stream, such as 'lookupUsers', is a single call for its whole lifetime.
+ * </p>
+ */
+public class GrpcClientMetricsInterceptor implements ClientInterceptor {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, MethodMetrics> methods = new ConcurrentHashMap<>();
+
+    /**
+     * Creates the interceptor publishing to the given registry.
+     *
+     * @param meterRegistry the registry the metrics are published to
+     */
+    public GrpcClientMetricsInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public <ReqT, RespT> ClientCall<ReqT, RespT> interceptCall(MethodDescriptor<ReqT, RespT> method,
+                                                               CallOptions callOptions, Channel next) {
+        MethodMetrics metrics = methods.computeIfAbsent(method.getFullMethodName(), MethodMetrics::new);
+        return new ForwardingClientCall.SimpleForwardingClientCall<>(next.newCall(method, callOptions)) {
+            @Override
+            public void start(Listener<RespT> responseListener, Metadata headers) {
+                long start = System.nanoTime();
+                metrics.active.incrementAndGet();
+                try {
+                    super.start(new ForwardingClientCallListener.SimpleForwardingClientCallListener<>(responseListener) {
+                        @Override
+                        public void onMessage(RespT message) {
+                            metrics.record(metrics.received, message);
+                            super.onMessage(message);
+                        }
+
+                        @Override
+                        public void onClose(Status status, Metadata trailers) {
+                            metrics.finish(status.getCode(), start);
+                            super.onClose(status, trailers);
+                        }
+                    }, headers);
+                } catch (RuntimeException e) {
+                    metrics.finish(Status.Code.UNKNOWN, start);
+                    throw e;
+                }
+            }
+
+            @Override
+            public void sendMessage(ReqT message) {
+                metrics.record(metrics.sent, message);
+                super.sendMessage(message);
+            }
+        };
+    }
+
+    /**
+     * The meters of one method.
+     */
+    private final class MethodMetrics {
+
+        private final String method;
+        private final AtomicInteger active = new AtomicInteger();
+        private final DistributionSummary sent;
+        private final DistributionSummary received;
+        private final Map<Status.Code, Timer> durations = new ConcurrentHashMap<>();
+
+        private MethodMetrics(String method) {
+            this.method = method;
+            Gauge.builder("grpc.client.calls.active", active, AtomicInteger::get)
+                    .description("gRPC calls in progress")
+                    .tag("method", method)
+                    .register(meterRegistry);
+            this.sent = messageSize(method, "sent");
+            this.received = messageSize(method, "received");
+        }
+
+        private DistributionSummary messageSize(String method, String direction) {
+            return DistributionSummary.builder("grpc.client.message.size")
+                    .description("Serialized size of the gRPC messages")
+                    .baseUnit("bytes")
+                    .tag("method", method)
+                    .tag("direction", direction)
+                    .register(meterRegistry);
+        }
+
+        private void record(DistributionSummary size, Object message) {
+            if (message instanceof MessageLite protobufMessage) {
+                size.record(protobufMessage.getSerializedSize());
+            }
+        }
+
+        private void finish(Status.Code code, long start) {
+            active.decrementAndGet();
+            durations.computeIfAbsent(code, c -> Timer.builder("grpc.client.call.duration")
+                            .description("Duration of the gRPC calls, from their start to their close")
+                            .tag("method", method)
+                            .tag("status", c.name())
+                            .register(meterRegistry))
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package org.ms.post.config.grpc;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for the gRPC client used to reach the user service.
+ * <p>
+ *     This class binds the {@link UserGrpcClientProperties} and exposes a {@link GrpcChannelPool}
+ *     whose lifecycle follows the application context: the channels are opened on startup
+ *     and shut down when the context is closed. The metrics of the calls are recorded by a
+ *     {@link GrpcClientMetricsInterceptor}.
+ * </p>
+ */
+@Configuration
+@EnableConfigurationProperties(UserGrpcClientProperties.class)
+public class UserGrpcClientConfig {
+
+    /**
+     * Creates the pool of channels to the user service.
+     *
+     * @param properties the client properties bound from the application.properties file
+     * @param meterRegistry the registry the metrics of the calls are published to
+     * @return a new {@link GrpcChannelPool}, closed by Spring on context shutdown
+     */
+    @Bean(destroyMethod = "close")
+    public GrpcChannelPool userChannelPool(UserGrpcClientProperties properties, MeterRegistry meterRegistry) {
+        return new GrpcChannelPool(properties, new GrpcClientMetricsInterceptor(meterRegistry));
+    }
+}
@@ -0,0 +1,85 @@
+package org.ms.post.config.grpc;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the gRPC client used to reach the user service.
+ * <p>
+ *     The values are bound from the 'grpc.client.user' prefix in the application.properties file.
+ *     For example:
+ *     <pre>
+ *         grpc.client.user.target=localhost:9090
+ *         grpc.client.user.pool-size=2
+ *         grpc.client.user.deadline=500ms
+ *     </pre>
+ * </p>
+ */
+@Data
+@ConfigurationProperties(prefix = "grpc.client.user")
+public class UserGrpcClientProperties {
+
+    /**
+     * The target of the user service, in {@code host:port} form or as a gRPC name resolver URI.
+     */
+    private String target = "localhost:9090";
+
+    /**
+     * The number of long-lived channels kept open to the user service.
+     * <p>
+     *     Each channel owns one HTTP/2 connection, and the server limits the number of
+     *     concurrent streams per connection. The pool size therefore multiplies the number
+     *     of calls that can be in flight at the same time.
+     * </p>
+     */
+    private int poolSize = 1;
+
+    /**
+     * The interval between HTTP/2 PING frames sent to keep the connection alive.
+     * <p>
+     *     A gRPC server only permits a PING every 5 minutes by default, and answers more frequent
+     *     ones with a GOAWAY that drops the connection, so shorter intervals need the server's
+     *     permitted keepalive time lowered to match.
+     * </p>
+     */
+    private Duration keepAliveTime = Duration.ofMinutes(5);
+
+    /**
+     * How long to wait for a PING acknowledgement before the connection is considered dead.
+     */
+    private Duration keepAliveTimeout = Duration.ofSeconds(10);
+
+    /**
+     * Whether keepalive PINGs are sent while no call is active on the channel; a gRPC server
+     * does not permit them by default.
+     */
+    private boolean keepAliveWithoutCalls = false;
+
+    /**
+     * How long a channel may stay idle before its connection is released.
+     */
+    private Duration idleTimeout = Duration.ofMinutes(30);
+
+    /**
+     * The maximum size, in bytes, of a message received from the user service.
+     */
+    private int maxInboundMessageSize = 4 * 1024 * 1024;
+
+    /**
+     * The deadline applied to every call made to the user service.
+     */
+    private Duration deadline = Duration.ofSeconds(2);
+
+    /**
+     * The maximum number of checks waiting for an answer on the {@code lookupUsers} stream;
+     * further checks fail at once until the user service catches up.
+     */
+    private int lookupMaxPending = 10_000;
+
+    /**
+     * How long to wait for in-flight calls to finish when the channels are shut down.
+     */
+    private Duration shutdownTimeout = Duration.ofSeconds(5);
+}
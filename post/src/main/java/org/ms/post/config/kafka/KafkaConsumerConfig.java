@@ -1,14 +1,19 @@
 package org.ms.post.config.kafka;
 
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
-import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.config.KafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.MicrometerConsumerListener;
 import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
 
 import java.util.HashMap;
@@ -20,10 +25,24 @@ import java.util.Map;
  * <p>
  *     This class configures the Kafka consumer to connect to the Kafka broker,
  *     deserialize incoming messages, and manage Kafka listener containers.
+ *     Keys and values are read as raw bytes and decoded by the listeners, so a malformed
+ *     message never fails the poll.
+ *     The listener containers deliver each poll as one batch, whose size, fetch behavior and
+ *     concurrency are set by the {@link KafkaConsumerProperties}.
+ *     When 'spring.threads.virtual.enabled' is set, the consumer threads of the containers are
+ *     virtual threads, like the request handling threads. The Kafka client waits for records under
+ *     a lock rather than a monitor, so a waiting consumer does not pin its carrier thread; only the
+ *     coordinator lookup, while the broker is unreachable, does.
+ * </p>
+ * <p>
+ *     The metrics of the Kafka clients, such as the {@code kafka.consumer.fetch.manager.records.lag.max}
+ *     lag of the consumers, are published to Micrometer, along with the number of records handed
+ *     to the listener by each poll as the {@code kafka.consumer.poll.records} summary.
  * </p>
  *
  */
 @Configuration
+@EnableConfigurationProperties(KafkaConsumerProperties.class)
 public class KafkaConsumerConfig {
 
     /**
@@ -46,6 +65,32 @@ public class KafkaConsumerConfig {
     @Value("${spring.kafka.bootstrap-servers}")
     private String bootstrapAddress;
 
+    /**
+     * Whether the listener containers start with the application context.
+     */
+    @Value("${spring.kafka.listener.auto-startup:true}")
+    private boolean autoStartup;
+
+    /**
+     * Whether the listener containers run their consumers on virtual threads.
+     */
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    /**
+     * The poll, fetch and concurrency settings bound from the 'kafka.consumer' prefix.
+     */
+    private final KafkaConsumerProperties properties;
+
+    /**
+     * Creates the configuration with the given consumer properties.
+     *
+     * @param properties the poll, fetch and concurrency settings
+     */
+    public KafkaConsumerConfig(KafkaConsumerProperties properties) {
+        this.properties = properties;
+    }
+
     /**
      *
      * Creates a map of consumer configuration properties for connecting
@@ -58,8 +103,12 @@ public class KafkaConsumerConfig {
         props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapAddress);
         props.put(ConsumerConfig.GROUP_ID_CONFIG, "post_user_group");
         props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
-        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
-        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, properties.getMaxPollRecords());
+        props.put(ConsumerConfig.FETCH_MIN_BYTES_CONFIG, properties.getFetchMinBytes());
+        props.put(ConsumerConfig.FETCH_MAX_WAIT_MS_CONFIG, (int) properties.getFetchMaxWait().toMillis());
+        props.put(ConsumerConfig.MAX_PARTITION_FETCH_BYTES_CONFIG, properties.getMaxPartitionFetchBytes());
         return props;
     }
 
@@ -69,13 +118,17 @@ public class KafkaConsumerConfig {
      * This bean uses the configuration properties defined in the {@link #consumerConfig()} method
      * to create and manage Kafka consumers. The {@link ConsumerFactory} is responsible for creating
      * consumer instances that can be used to receive messages from Kafka topics.
+     * The metrics of every consumer it creates are bound to the meter registry.
      * </p>
      *
+     * @param meterRegistry the registry the client metrics are published to
      * @return a {@link ConsumerFactory} for Kafka consumers
      */
     @Bean
-    public ConsumerFactory<String, String> consumerFactory() {
-        return new DefaultKafkaConsumerFactory<>(consumerConfig());
+    public ConsumerFactory<byte[], byte[]> consumerFactory(MeterRegistry meterRegistry) {
+        DefaultKafkaConsumerFactory<byte[], byte[]> consumerFactory = new DefaultKafkaConsumerFactory<>(consumerConfig());
+        consumerFactory.addListener(new MicrometerConsumerListener<>(meterRegistry));
+        return consumerFactory;
     }
 
 
@@ -83,19 +136,37 @@ public class KafkaConsumerConfig {
      * Creates a {@link KafkaListenerContainerFactory} that produces Kafka listener containers.
      * <p>
      *     This factory allows creating containers that listen for Kafka messages and process them
-     *     concurrently using the provided consumer factory.
+     *     concurrently using the provided consumer factory. The listeners receive all the records
+     *     of a poll in one call, on virtual threads if they are enabled, and the size of each
+     *     non-empty poll is recorded before the call.
      * </p>
      *
      * @param consumerFactory the factory to use for creating Kafka consumers.
-     * @return a new {@link ConcurrentKafkaListenerContainerFactory} instance for handling String keys and values.
+     * @param meterRegistry the registry the records per poll are published to.
+     * @return a new {@link ConcurrentKafkaListenerContainerFactory} instance for handling raw byte array keys and values.
      */
     @Bean
-    public KafkaListenerContainerFactory<ConcurrentMessageListenerContainer<String, String>> factory(
-            ConsumerFactory<String, String> consumerFactory
+    public KafkaListenerContainerFactory<ConcurrentMessageListenerContainer<byte[], byte[]>> factory(
+            ConsumerFactory<byte[], byte[]> consumerFactory,
+            MeterRegistry meterRegistry
     ) {
-        ConcurrentKafkaListenerContainerFactory<String, String> factory =
+        DistributionSummary pollRecords = DistributionSummary.builder("kafka.consumer.poll.records")
+                .description("Number of records handed to the listener by one poll")
+                .baseUnit("records")
+                .register(meterRegistry);
+        ConcurrentKafkaListenerContainerFactory<byte[], byte[]> factory =
                 new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(consumerFactory);
+        factory.setBatchListener(true);
+        factory.setBatchInterceptor((records, consumer) -> {
+            pollRecords.record(records.count());
+            return records;
+        });
+        factory.setConcurrency(properties.getConcurrency());
+        factory.setAutoStartup(autoStartup);
+        if (virtualThreads) {
+            factory.getContainerProperties().setListenerTaskExecutor(new VirtualThreadTaskExecutor("post-kafka-"));
+        }
         return factory;
     }
 }
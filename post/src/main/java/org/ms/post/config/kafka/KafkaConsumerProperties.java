@@ -0,0 +1,50 @@
+package org.ms.post.config.kafka;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the batch consumption of the 'post_user' topic.
+ * <p>
+ *     The values are bound from the 'kafka.consumer' prefix in the application.properties file.
+ *     For example:
+ *     <pre>
+ *         kafka.consumer.max-poll-records=500
+ *         kafka.consumer.fetch-min-bytes=1024
+ *         kafka.consumer.fetch-max-wait=200ms
+ *         kafka.consumer.max-partition-fetch-bytes=1048576
+ *         kafka.consumer.concurrency=1
+ *     </pre>
+ * </p>
+ */
+@Data
+@ConfigurationProperties(prefix = "kafka.consumer")
+public class KafkaConsumerProperties {
+
+    /**
+     * The maximum number of records returned by one poll, and so handed to one listener call.
+     */
+    private int maxPollRecords = 500;
+
+    /**
+     * The minimum amount of data the broker waits for before answering a fetch.
+     */
+    private int fetchMinBytes = 1;
+
+    /**
+     * The maximum time the broker waits for {@code fetchMinBytes} before answering a fetch.
+     */
+    private Duration fetchMaxWait = Duration.ofMillis(500);
+
+    /**
+     * The maximum amount of data returned per partition by one fetch.
+     */
+    private int maxPartitionFetchBytes = 1024 * 1024;
+
+    /**
+     * The number of consumer threads. Threads beyond the number of partitions stay idle.
+     */
+    private int concurrency = 1;
+}
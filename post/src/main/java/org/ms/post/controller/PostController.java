@@ -1,5 +1,6 @@
 package org.ms.post.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -13,43 +14,119 @@ import org.ms.post.model.dto.PostDto;
 import org.ms.post.model.entity.PostEntity;
 import org.ms.post.service.PostService;
 import org.ms.post.service.impl.UserService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
  * REST controller for managing Post-related endpoints.
  * <p>
  *     This controller exposes several endpoints related to post management, including fetching posts,
- *     creating posts, and retrieving posts by ID or by user ID and post ID.
+ *     creating posts, and retrieving posts by ID or by user ID and post ID. The 'reactive' profile
+ *     replaces it with the {@link ReactivePostController}.
  * </p>
  */
 @RestController
+@Profile("!reactive")
 @RequiredArgsConstructor
 @Slf4j
 public class PostController {
 
+    /**
+     * The maximum number of posts accepted by a single batch request.
+     */
+    private static final int MAX_BATCH_SIZE = 1000;
+
+    /**
+     * The maximum number of posts returned by a single page.
+     */
+    private static final int MAX_PAGE_SIZE = 1000;
+
     private final PostService postService;
     private final UserService userService;
     private final PostMapper postMapper;
+    private final ObjectMapper objectMapper;
 
     /**
-     * Retrieves all posts.
+     * Retrieves a page of posts, ordered by ID.
+     * <p>
+     *     The pages are addressed by keyset: to get the next page, pass the ID of the last post
+     *     of the current page as {@code after}.
+     * </p>
+     * <p>
+     *     The response carries an ETag derived from the IDs and versions of the posts. A request
+     *     whose 'If-None-Match' header holds it is answered with '304 Not Modified', without a body;
+     *     the same applies to the other read endpoints.
+     * </p>
      *
-     * @return a {@link List} of {@link PostDto} representing all posts.
+     * @param after the ID of the last post of the previous page; {@code 0} for the first page.
+     * @param limit the maximum number of posts to return, between 1 and 1000.
+     * @return a {@link ResponseEntity} containing a {@link List} of {@link PostDto}, or a bad request
+     * if the limit is out of range.
      */
-    @ApiResponse(responseCode = "200", description = "Get all posts",
-            content = {@Content(mediaType = "application/json",
-                    schema = @Schema(implementation = PostEntity.class))})
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Get a page of posts",
+                    content = {@Content(mediaType = "application/json",
+                            schema = @Schema(implementation = PostEntity.class))}),
+            @ApiResponse(responseCode = "304", description = "Page not modified",
+                    content = @Content),
+            @ApiResponse(responseCode = "400", description = "Invalid limit",
+                    content = @Content)})
     @Tag(name = "Get", description = "Get methods of APIs")
-    @Operation(summary = "Get all posts", description = "Get all posts")
+    @Operation(summary = "Get posts", description = "Get a page of posts with an ID greater than 'after'")
     @GetMapping("/posts")
-    public List<PostDto> getPosts() {
-        log.info("Fetching all posts");
-        List<PostEntity> posts = postService.getPosts();
-        return posts.stream().map(postMapper::mapTo).collect(Collectors.toList());
+    public ResponseEntity<List<PostDto>> getPosts(@RequestParam(defaultValue = "0") long after,
+                                                  @RequestParam(defaultValue = "100") int limit) {
+        log.info("Fetching posts after id: {} with limit: {}", after, limit);
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            log.warn("Fetching posts failed due to limit validation. Limit: {}", limit);
+            return ResponseEntity.badRequest().build();
+        }
+        List<PostEntity> posts = postService.getPosts(after, limit);
+        return ResponseEntity.ok().eTag(PostETags.of(posts))
+                .body(posts.stream().map(postMapper::mapTo).collect(Collectors.toList()));
+    }
+
+    /**
+     * Streams all posts as newline-delimited JSON, ordered by ID.
+     * <p>
+     *     The posts are read from a database cursor and written to the response one by one,
+     *     so memory use stays constant regardless of the number of posts.
+     * </p>
+     * <p>
+     *     The stream has no time limit unless {@code stream-request-timeout} sets one. A stream
+     *     that is cut short ends without any marker; the client resumes it by passing the ID of
+     *     the last complete line as {@code after}, until a request returns no lines.
+     * </p>
+     *
+     * @param after the ID after which to start; {@code 0} starts from the first post.
+     * @return a {@link ResponseEntity} whose body writes one {@link PostDto} JSON object per line.
+     */
+    @ApiResponse(responseCode = "200", description = "Stream all posts",
+            content = {@Content(mediaType = "application/x-ndjson",
+                    schema = @Schema(implementation = PostEntity.class))})
+    @Tag(name = "Get", description = "Get methods of APIs")
+    @Operation(summary = "Stream all posts", description = "Stream all posts as newline-delimited JSON")
+    @GetMapping(value = "/posts/stream", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> streamPosts(@RequestParam(defaultValue = "0") long after) {
+        log.info("Streaming posts after id: {}", after);
+        StreamingResponseBody body = out -> postService.streamPosts(after, post -> {
+            try {
+                out.write(objectMapper.writeValueAsBytes(postMapper.mapTo(post)));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType("application/x-ndjson")).body(body);
     }
 
     /**
@@ -88,6 +165,55 @@ public class PostController {
         return ResponseEntity.ok(postMapper.mapTo(newPost));
     }
 
+    /**
+     * Creates several posts in a single request.
+     * <p>
+     *     Every post body must have a length between 10 and 1000 characters, and every user
+     *     must exist. The authors are resolved with one call to the user service and the posts
+     *     are inserted in one transaction, so either all the posts are created or none of them.
+     * </p>
+     *
+     * @param posts the {@link PostDto} objects representing the posts to be created.
+     * @return a {@link ResponseEntity} containing the created posts, or a bad request if the batch
+     * is empty or too large, a body length is invalid or a user does not exist.
+     */
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Posts created",
+                    content = {@Content(mediaType = "application/json",
+                            schema = @Schema(implementation = PostEntity.class))}),
+            @ApiResponse(responseCode = "400", description = "Invalid input",
+                    content = @Content)})
+    @Tag(name = "Post", description = "Post methods of APIs")
+    @Operation(summary = "Create posts", description = "Create several posts in one request")
+    @PostMapping("/posts/batch")
+    public ResponseEntity<List<PostDto>> createPosts(@RequestBody List<PostDto> posts) {
+        log.info("Creating batch of {} posts", posts.size());
+        if (posts.isEmpty() || posts.size() > MAX_BATCH_SIZE) {
+            log.warn("Batch post creation failed due to batch size validation. Batch size: {}", posts.size());
+            return ResponseEntity.badRequest().build();
+        }
+        for (PostDto post : posts) {
+            if (post.getUserId() == null) {
+                log.warn("Batch post creation failed because a post has no userId");
+                return ResponseEntity.badRequest().build();
+            }
+            if (post.getBody() == null || post.getBody().length() < 10 || post.getBody().length() > 1000) {
+                log.warn("Batch post creation failed due to body length validation for userId: {}", post.getUserId());
+                return ResponseEntity.badRequest().build();
+            }
+        }
+        Set<Long> userIds = posts.stream().map(PostDto::getUserId).collect(Collectors.toSet());
+        Set<Long> existing = userService.getExistingUserIds(userIds);
+        if (existing.size() != userIds.size()) {
+            userIds.removeAll(existing);
+            log.warn("Batch post creation failed. Users with ids {} do not exist", userIds);
+            return ResponseEntity.badRequest().build();
+        }
+        List<PostEntity> newPosts = postService.createPosts(posts.stream().map(postMapper::mapFrom).collect(Collectors.toList()));
+        log.info("Created batch of {} posts", newPosts.size());
+        return ResponseEntity.ok(newPosts.stream().map(postMapper::mapTo).collect(Collectors.toList()));
+    }
+
     /**
      * Retrieves a post by its ID.
      *
@@ -98,6 +224,8 @@ public class PostController {
             @ApiResponse(responseCode = "200", description = "Get post by id",
                     content = {@Content(mediaType = "application/json",
                             schema = @Schema(implementation = PostEntity.class))}),
+            @ApiResponse(responseCode = "304", description = "Post not modified",
+                    content = @Content),
             @ApiResponse(responseCode = "404", description = "Post not found",
                     content = @Content)})
     @Tag(name = "Get", description = "Get methods of APIs")
@@ -110,7 +238,43 @@ public class PostController {
             log.error("Post with id {} not found", id);
             return ResponseEntity.notFound().build();
         }
-        return ResponseEntity.ok(postMapper.mapTo(post));
+        return ResponseEntity.ok().eTag(PostETags.of(post)).body(postMapper.mapTo(post));
+    }
+
+    /**
+     * Retrieves a page of the posts created by a user, ordered by ID.
+     * <p>
+     *     To get the next page, pass the ID of the last post of the current page as {@code after}.
+     * </p>
+     *
+     * @param userId the ID of the user who owns the posts.
+     * @param after the ID of the last post of the previous page; {@code 0} for the first page.
+     * @param limit the maximum number of posts to return, between 1 and 1000.
+     * @return a {@link ResponseEntity} containing a {@link List} of {@link PostDto}, or a bad request
+     * if the limit is out of range.
+     */
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Get a page of posts by user id",
+                    content = {@Content(mediaType = "application/json",
+                            schema = @Schema(implementation = PostEntity.class))}),
+            @ApiResponse(responseCode = "304", description = "Page not modified",
+                    content = @Content),
+            @ApiResponse(responseCode = "400", description = "Invalid limit",
+                    content = @Content)})
+    @Tag(name = "Get", description = "Get methods of APIs")
+    @Operation(summary = "Get posts by user id", description = "Get a page of the posts of a user with an ID greater than 'after'")
+    @GetMapping("/users/{userId}/posts")
+    public ResponseEntity<List<PostDto>> getPostsByUserId(@PathVariable Long userId,
+                                                          @RequestParam(defaultValue = "0") long after,
+                                                          @RequestParam(defaultValue = "100") int limit) {
+        log.info("Fetching posts with userId: {} after id: {} with limit: {}", userId, after, limit);
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            log.warn("Fetching posts failed due to limit validation. Limit: {}", limit);
+            return ResponseEntity.badRequest().build();
+        }
+        List<PostEntity> posts = postService.getPostsByUserId(userId, after, limit);
+        return ResponseEntity.ok().eTag(PostETags.of(posts))
+                .body(posts.stream().map(postMapper::mapTo).collect(Collectors.toList()));
     }
 
     /**
@@ -124,6 +288,8 @@ public class PostController {
             @ApiResponse(responseCode = "200", description = "Get post by user id and post id",
                     content = {@Content(mediaType = "application/json",
                             schema = @Schema(implementation = PostEntity.class))}),
+            @ApiResponse(responseCode = "304", description = "Post not modified",
+                    content = @Content),
             @ApiResponse(responseCode = "404", description = "Post not found",
                     content = @Content)})
     @Tag(name = "Get", description = "Get methods of APIs")
@@ -136,6 +302,6 @@ public class PostController {
             log.error("Post with userId {} and postId {} not found", userId, postId);
             return ResponseEntity.notFound().build();
         }
-        return ResponseEntity.ok(postMapper.mapTo(post));
+        return ResponseEntity.ok().eTag(PostETags.of(post)).body(postMapper.mapTo(post));
     }
 }
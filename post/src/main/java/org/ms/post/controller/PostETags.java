@@ -0,0 +1,58 @@
+package org.ms.post.controller;
+
+import org.ms.post.model.entity.PostEntity;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Strong ETags of the post responses, derived from the identifiers and versions of the posts.
+ * <p>
+ *     A tag changes whenever a post of the response is created, updated or deleted, and is
+ *     computed without serializing the response, so a request whose 'If-None-Match' header
+ *     holds the current tag is answered with '304 Not Modified' before any JSON is written.
+ * </p>
+ */
+final class PostETags {
+
+    private PostETags() {
+    }
+
+    /**
+     * Returns the ETag of a single post.
+     *
+     * @param post the post of the response
+     * @return the quoted ETag, made of the identifier and version of the post
+     */
+    static String of(PostEntity post) {
+        return "\"" + post.getId() + "." + post.getVersion() + "\"";
+    }
+
+    /**
+     * Returns the ETag of a page of posts.
+     *
+     * @param posts the posts of the response, in response order
+     * @return the quoted ETag, a digest of the identifiers and versions of the posts
+     */
+    static String of(List<PostEntity> posts) {
+        MessageDigest digest = sha256();
+        ByteBuffer buffer = ByteBuffer.allocate(2 * Long.BYTES);
+        for (PostEntity post : posts) {
+            buffer.clear();
+            buffer.putLong(post.getId()).putLong(post.getVersion() == null ? 0 : post.getVersion());
+            digest.update(buffer.array());
+        }
+        return "\"" + HexFormat.of().formatHex(digest.digest(), 0, 16) + "\"";
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package org.ms.post.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.ms.post.mappers.impl.PostMapper;
+import org.ms.post.model.dto.PostDto;
+import org.ms.post.model.entity.PostEntity;
+import org.ms.post.service.ReactivePostService;
+import org.ms.post.service.impl.UserService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Reactive REST controller for the post endpoints, active with the 'reactive' profile.
+ * <p>
+ *     It serves the same paths, parameters and responses as {@link PostController}, on WebFlux.
+ *     The user checks go through the asynchronous gRPC stub and the near-cache, and the posts
+ *     through R2DBC, so no request holds a thread while it waits: a few event-loop threads serve
+ *     all the open connections.
+ * </p>
+ * <p>
+ *     The futures of the user checks are shared between the requests waiting for the same user,
+ *     so a cancelled request does not cancel them.
+ * </p>
+ * <p>
+ *     The read endpoints carry the same ETags, and WebFlux answers a matching 'If-None-Match'
+ *     header with '304 Not Modified'.
+ * </p>
+ */
+@RestController
+@Profile("reactive")
+@RequiredArgsConstructor
+@Slf4j
+public class ReactivePostController {
+
+    /**
+     * The maximum number of posts accepted by a single batch request.
+     */
+    private static final int MAX_BATCH_SIZE = 1000;
+
+    /**
+     * The maximum number of posts returned by a single page.
+     */
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private final ReactivePostService postService;
+    private final UserService userService;
+    private final PostMapper postMapper;
+
+    /**
+     * Retrieves a page of posts, ordered by ID.
+     *
+     * @param after the ID of the last post of the previous page; {@code 0} for the first page.
+     * @param limit the maximum number of posts to return, between 1 and 1000.
+     * @return the posts of the page, or a bad request if the limit is out of range.
+     */
+    @Tag(name = "Get", description = "Get methods of APIs")
+    @Operation(summary = "Get posts", description = "Get a page of posts with an ID greater than 'after'")
+    @GetMapping("/posts")
+    public Mono<ResponseEntity<List<PostDto>>> getPosts(@RequestParam(defaultValue = "0") long after,
+                                                        @RequestParam(defaultValue = "100") int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            log.warn("Fetching posts failed due to limit validation. Limit: {}", limit);
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+        return postService.getPosts(after, limit).collectList().map(this::page);
+    }
+
+    /**
+     * Streams all posts as newline-delimited JSON, ordered by ID.
+     * <p>
+     *     The posts are written as the database returns them, and read only as fast as the
+     *     client consumes the response. The client resumes a stream that was cut short by
+     *     passing the ID of the last complete line as {@code after}.
+     * </p>
+     *
+     * @param after the ID after which to start; {@code 0} starts from the first post.
+     * @return the posts, one JSON object per line.
+     */
+    @Tag(name = "Get", description = "Get methods of APIs")
+    @Operation(summary = "Stream all posts", description = "Stream all posts as newline-delimited JSON")
+    @GetMapping(value = "/posts/stream", produces = "application/x-ndjson")
+    public Flux<PostDto> streamPosts(@RequestParam(defaultValue = "0") long after) {
+        log.info("Streaming posts after id: {}", after);
+        return postService.streamPosts(after).map(postMapper::mapTo);
+    }
+
+    /**
+     * Creates a new post.
+     * <p>
+     *     The post body must have a length between 10 and 1000 characters, and the user
+     *     with the specified user ID must exist.
+     * </p>
+     *
+     * @param post the {@link PostDto} representing the post to be created.
+     * @return the created post, or a bad request if the body length is invalid or the user does not exist.
+     */
+    @Tag(name = "Post", description = "Post methods of APIs")
+    @Operation(summary = "Create a post", description = "Create a new post")
+    @PostMapping("/posts")
+    public Mono<ResponseEntity<PostDto>> createPost(@RequestBody PostDto post) {
+        if (post.getBody().length() < 10 || post.getBody().length() > 1000) {
+            log.warn("Post creation failed due to body length validation. Body length: {}", post.getBody().length());
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+        return Mono.fromFuture(userService.userExists(post.getUserId()), true).flatMap(exists -> {
+            if (!exists) {
+                log.warn("Post creation failed. User with id {} does not exist", post.getUserId());
+                return Mono.just(ResponseEntity.badRequest().build());
+            }
+            return postService.createPost(postMapper.mapFrom(post)).map(newPost -> ResponseEntity.ok(postMapper.mapTo(newPost)));
+        });
+    }
+
+    /**
+     * Creates several posts in a single request.
+     * <p>
+     *     Every post body must have a length between 10 and 1000 characters, and every user
+     *     must exist. The authors are resolved with one call to the user service and the posts
+     *     are inserted with one batched statement, so either all the posts are created or none of them.
+     * </p>
+     *
+     * @param posts the {@link PostDto} objects representing the posts to be created.
+     * @return the created posts, or a bad request if the batch is empty or too large, a body
+     * length is invalid or a user does not exist.
+     */
+    @Tag(name = "Post", description = "Post methods of APIs")
+    @Operation(summary = "Create posts", description = "Create several posts in one request")
+    @PostMapping("/posts/batch")
+    public Mono<ResponseEntity<List<PostDto>>> createPosts(@RequestBody List<PostDto> posts) {
+        if (posts.isEmpty() || posts.size() > MAX_BATCH_SIZE) {
+            log.warn("Batch post creation failed due to batch size validation. Batch size: {}", posts.size());
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+        for (PostDto post : posts) {
+            if (post.getUserId() == null || post.getBody() == null
+                    || post.getBody().length() < 10 || post.getBody().length() > 1000) {
+                log.warn("Batch post creation failed due to validation for userId: {}", post.getUserId());
+                return Mono.just(ResponseEntity.badRequest().build());
+            }
+        }
+        Set<Long> userIds = posts.stream().map(PostDto::getUserId).collect(Collectors.toSet());
+        return Mono.fromFuture(userService.existingUserIds(userIds), true).flatMap(existing -> {
+            if (existing.size() != userIds.size()) {
+                Set<Long> missing = new HashSet<>(userIds);
+                missing.removeAll(existing);
+                log.warn("Batch post creation failed. Users with ids {} do not exist", missing);
+                return Mono.just(ResponseEntity.badRequest().build());
+            }
+            List<PostEntity> newPosts = posts.stream().map(postMapper::mapFrom).collect(Collectors.toList());
+            return postService.createPosts(newPosts).map(postMapper::mapTo).collectList().map(ResponseEntity::ok);
+        });
+    }
+
+    /**
+     * Retrieves a post by its ID.
+     *
+     * @param id the ID of the post to be retrieved.
+     * @return the post if found, or a not found response if not.
+     */
+    @Tag(name = "Get", description = "Get methods of APIs")
+    @Operation(summary = "Get post by id", description = "Get post by id")
+    @GetMapping("/posts/{id}")
+    public Mono<ResponseEntity<PostDto>> getPost(@PathVariable Long id) {
+        return postService.getPost(id)
+                .map(post -> ResponseEntity.ok().eTag(PostETags.of(post)).body(postMapper.mapTo(post)))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Retrieves a page of the posts created by a user, ordered by ID.
+     *
+     * @param userId the ID of the user who owns the posts.
+     * @param after the ID of the last post of the previous page; {@code 0} for the first page.
+     * @param limit the maximum number of posts to return, between 1 and 1000.
+     * @return the posts of the page, or a bad request if the limit is out of range.
+     */
+    @Tag(name = "Get", description = "Get methods of APIs")
+    @Operation(summary = "Get posts by user id", description = "Get a page of the posts of a user with an ID greater than 'after'")
+    @GetMapping("/users/{userId}/posts")
+    public Mono<ResponseEntity<List<PostDto>>> getPostsByUserId(@PathVariable Long userId,
+                                                                @RequestParam(defaultValue = "0") long after,
+                                                                @RequestParam(defaultValue = "100") int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            log.warn("Fetching posts failed due to limit validation. Limit: {}", limit);
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+        return postService.getPostsByUserId(userId, after, limit).collectList().map(this::page);
+    }
+
+    /**
+     * Retrieves a post by both the user ID and post ID.
+     *
+     * @param userId the ID of the user who owns the post.
+     * @param postId the ID of the post.
+     * @return the post if found, or a not found response if not.
+     */
+    @Tag(name = "Get", description = "Get methods of APIs")
+    @Operation(summary = "Get post by user id and post id", description = "Get post by user id and post id")
+    @GetMapping("/users/{userId}/posts/{postId}")
+    public Mono<ResponseEntity<PostDto>> getPostByUserIdAndPostId(@PathVariable Long userId, @PathVariable Long postId) {
+        return postService.getPostByUserIdAndPostId(userId, postId)
+                .map(post -> ResponseEntity.ok().eTag(PostETags.of(post)).body(postMapper.mapTo(post)))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    private ResponseEntity<List<PostDto>> page(List<PostEntity> posts) {
+        return ResponseEntity.ok().eTag(PostETags.of(posts)).body(posts.stream().map(postMapper::mapTo).toList());
+    }
+}
@@ -1,54 +1,55 @@
 package org.ms.post.mappers.impl;
 
-import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
+import org.ms.post.config.MapperConfig;
 import org.ms.post.mappers.Mapper;
 import org.ms.post.model.dto.PostDto;
 import org.ms.post.model.entity.PostEntity;
-import org.springframework.stereotype.Component;
 
 /**
  * Mapper for converting between {@link PostEntity} and {@link PostDto}.
  * <p>
- *     This class uses {@link ModelMapper} to handle the conversion between the entity and DTO.
+ *     This class copies the fields between the entity and DTO explicitly, without reflection.
  *     It implements the {@link Mapper} interface, providing methods to map {@link PostEntity}
- *     to {@link PostDto} and vice versa.
+ *     to {@link PostDto} and vice versa. The bean is declared in {@link MapperConfig}.
  * </p>
  *
  */
-@Component
-@RequiredArgsConstructor
 public class PostMapper implements Mapper<PostEntity, PostDto> {
 
-    private final ModelMapper modelMapper;
-
     /**
      * Maps a {@link PostEntity} to a {@link PostDto}.
      * <p>
-     *     This method uses the {@link ModelMapper} to convert the entity into a DTO,
-     *     which can then be used in the API layer to transfer data.
+     *     This method converts the entity into a DTO, which can then be used in the API
+     *     layer to transfer data.
      * </p>
      *
      * @param postEntity the entity object to be mapped to a DTO.
-     * @return the mapped {@link PostDto} object.
+     * @return the mapped {@link PostDto} object, or {@code null} if the entity is {@code null}.
      */
     @Override
     public PostDto mapTo(PostEntity postEntity) {
-        return modelMapper.map(postEntity, PostDto.class);
+        if (postEntity == null) {
+            return null;
+        }
+        return new PostDto(postEntity.getId(), postEntity.getUserId(), postEntity.getBody());
     }
 
     /**
      * Maps a {@link PostDto} to a {@link PostEntity}.
      *<p>
-     *     This method uses the {@link ModelMapper} to convert the DTO into an entity,
-     *     which can be persisted in the database.
+     *     This method converts the DTO into an entity, which can be persisted in the database.
+     *     The ID of the DTO is not copied: the mapped entity is always a new one, whose ID is
+     *     assigned by the database, so an ID sent by a client cannot make it look detached.
      *</p>
      *
      * @param postDto the data transfer object to be mapped to an entity.
-     * @return the mapped {@link PostEntity} object.
+     * @return the mapped {@link PostEntity} object, or {@code null} if the DTO is {@code null}.
      */
     @Override
     public PostEntity mapFrom(PostDto postDto) {
-        return modelMapper.map(postDto, PostEntity.class);
+        if (postDto == null) {
+            return null;
+        }
+        return new PostEntity(null, postDto.getUserId(), postDto.getBody(), null);
     }
 }
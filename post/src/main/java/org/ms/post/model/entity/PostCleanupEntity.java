@@ -0,0 +1,64 @@
+package org.ms.post.model.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Entity class representing a pending deletion of a user's posts.
+ *
+ * <p>
+ *     This class is mapped to the "post_cleanups" table. A row is written when the user is deleted,
+ *     and the posts are then deleted in chunks of increasing id. The row records how far the deletion
+ *     went, so that a restarted service resumes after the last deleted chunk. It is removed once the
+ *     user has no posts left.
+ * </p>
+ *
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "post_cleanups")
+public class PostCleanupEntity {
+
+    /**
+     * The unique identifier of the deleted user whose posts are to be deleted.
+     */
+    @Id
+    private Long userId;
+
+    /**
+     * The identifier of the last post deleted so far; {@code 0} before the first chunk.
+     */
+    private Long lastDeletedId;
+
+    /**
+     * The number of posts deleted so far.
+     */
+    private Long deletedRows;
+
+    /**
+     * When the deletion was requested. Pending deletions are processed in this order.
+     */
+    private Instant requestedAt;
+
+    /**
+     * The version of the row, {@code null} until it is first stored.
+     * <p>
+     *     It lets Spring Data insert new rows without a preceding select, and rejects a progress
+     *     update when another instance of the service moved the same deletion forward first.
+     * </p>
+     */
+    @Version
+    private Long version;
+
+}
@@ -1,19 +1,24 @@
 package org.ms.post.model.entity;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.ms.post.config.jpa.PooledSequence;
 
 /**
  * Entity class representing a post in the database.
  *
  * <p>
  *     This class is mapped to the "posts" table and represents a post entity with its associated data.
+ *     The table has an index on {@code (user_id, id)}: it serves the lookups and deletes by user id
+ *     through its leading column, and returns a user's posts already ordered by id for keyset paging.
  * </p>
  *
  */
@@ -22,19 +27,19 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @Builder
 @Entity
-@Table(name = "posts")
+@Table(name = "posts", indexes = @Index(name = "idx_posts_user_id_id", columnList = "user_id, id"))
 public class PostEntity {
 
     /**
      * The unique identifier of the post. This field is automatically generated.
      * <p>
      *     This field serves as the primary key for the post entity.
-     *     It is auto-generated by the database and is used to uniquely identify each post.
-     *     The value of this field is set by the database when a new post is created.
+     *     It is allocated from the "posts_seq" sequence in blocks, so that new posts can be
+     *     inserted in JDBC batches without a sequence call per post.
      * </p>
      */
     @Id
-    @GeneratedValue
+    @PooledSequence(name = "posts_seq")
     private Long id;
 
     /**
@@ -47,4 +52,16 @@ public class PostEntity {
      */
     private String body;
 
+    /**
+     * The version of the row, {@code null} until it is first stored.
+     * <p>
+     *     It is incremented by every update, and the ETag of the post is derived from it, so a
+     *     client holding the current version gets a '304 Not Modified' answer. Existing rows get
+     *     the version {@code 0} when the column is added.
+     * </p>
+     */
+    @Version
+    @Column(columnDefinition = "bigint default 0 not null")
+    private Long version;
+
 }
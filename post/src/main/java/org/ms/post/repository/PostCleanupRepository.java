@@ -0,0 +1,29 @@
+package org.ms.post.repository;
+
+import org.ms.post.model.entity.PostCleanupEntity;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository interface for managing {@link PostCleanupEntity} entities.
+ * <p>
+ *     This interface provides access to the "post_cleanups" table, which holds the progress
+ *     of the chunked deletions of deleted users' posts.
+ * </p>
+ */
+@Repository
+public interface PostCleanupRepository extends JpaRepository<PostCleanupEntity, Long> {
+
+    /**
+     * Retrieves the oldest pending deletions, in the order they were requested.
+     *
+     * @param limit the maximum number of deletions to return
+     * @return a list of at most {@code limit} pending deletions
+     */
+    @Query("SELECT c FROM PostCleanupEntity c ORDER BY c.requestedAt, c.userId")
+    List<PostCleanupEntity> findPending(Limit limit);
+}
@@ -0,0 +1,24 @@
+package org.ms.post.repository;
+
+import org.ms.post.model.entity.PostEntity;
+
+import java.util.function.Consumer;
+
+/**
+ * Repository fragment for reading the "posts" table through a database cursor.
+ * <p>
+ *     The rows are fetched in small chunks and handed to the caller one at a time, without
+ *     being attached to a persistence context, so memory use does not grow with the table size.
+ *     This fragment is part of {@link PostRepository}.
+ * </p>
+ */
+public interface PostCursorRepository {
+
+    /**
+     * Streams the posts whose identifier is greater than {@code after}, in identifier order.
+     *
+     * @param after the identifier after which to start; {@code 0} starts from the first post
+     * @param consumer the callback receiving each post; the entities are not managed by JPA
+     */
+    void streamPostsAfter(long after, Consumer<PostEntity> consumer);
+}
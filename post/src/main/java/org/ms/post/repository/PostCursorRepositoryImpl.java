@@ -0,0 +1,51 @@
+package org.ms.post.repository;
+
+import org.ms.post.model.entity.PostEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.util.function.Consumer;
+
+/**
+ * JDBC implementation of the {@link PostCursorRepository} fragment.
+ * <p>
+ *     The query runs inside a read-only transaction with a positive fetch size. With auto-commit
+ *     disabled, the PostgreSQL driver then reads the result set through a server-side cursor,
+ *     {@link #FETCH_SIZE} rows at a time, instead of loading it completely.
+ * </p>
+ */
+public class PostCursorRepositoryImpl implements PostCursorRepository {
+
+    /**
+     * The number of rows fetched from the database per round trip.
+     */
+    private static final int FETCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Creates the fragment on top of the application's data source.
+     *
+     * @param dataSource the data source of the "posts" table
+     */
+    public PostCursorRepositoryImpl(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+    }
+
+    /**
+     * Streams the posts whose identifier is greater than {@code after}, in identifier order.
+     *
+     * @param after the identifier after which to start; {@code 0} starts from the first post
+     * @param consumer the callback receiving each post; the entities are not managed by JPA
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void streamPostsAfter(long after, Consumer<PostEntity> consumer) {
+        RowCallbackHandler handler = rs -> consumer.accept(new PostEntity(rs.getLong("id"),
+                rs.getObject("user_id", Long.class), rs.getString("body"), rs.getLong("version")));
+        jdbcTemplate.query("SELECT id, user_id, body, version FROM posts WHERE id > ? ORDER BY id", handler, after);
+    }
+}
@@ -2,12 +2,14 @@ package org.ms.post.repository;
 
 import jakarta.transaction.Transactional;
 import org.ms.post.model.entity.PostEntity;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -15,10 +17,25 @@ import java.util.Optional;
  * <p>
  *     This interface provides methods to perform CRUD operations and custom queries on the "posts" table.
  *     It extends {@link JpaRepository} to leverage common database operations and also defines custom queries.
+ *     Large reads go through keyset pages or the {@link PostCursorRepository} fragment instead of {@code findAll()}.
  * </p>
  */
 @Repository
-public interface PostRepository extends JpaRepository<PostEntity, Long> {
+public interface PostRepository extends JpaRepository<PostEntity, Long>, PostCursorRepository {
+
+    /**
+     * Retrieves a page of posts whose identifier is greater than the given cursor, in identifier order.
+     * <p>
+     *     This keyset query seeks directly to the cursor through the primary key index, so its cost
+     *     does not grow with the position of the page.
+     * </p>
+     *
+     * @param after the identifier of the last post of the previous page; {@code 0} for the first page
+     * @param limit the maximum number of posts to return
+     * @return a list of at most {@code limit} posts
+     */
+    @Query("SELECT p FROM PostEntity p WHERE p.id > :after ORDER BY p.id")
+    List<PostEntity> findPostsAfter(@Param("after") Long after, Limit limit);
 
     /**
      * Retrieves a post by its unique identifier and the user identifier.
@@ -30,10 +47,52 @@ public interface PostRepository extends JpaRepository<PostEntity, Long> {
     @Query("SELECT p FROM PostEntity p WHERE p.id = :postId AND p.userId = :userId")
     Optional<PostEntity> getPostByUserIdAndPostId(@Param("userId") Long userId, @Param("postId") Long postId);
 
+    /**
+     * Retrieves a page of the posts created by a specific user, in identifier order.
+     * <p>
+     *     This keyset query is answered by a range scan of the {@code (user_id, id)} index.
+     * </p>
+     *
+     * @param userId the unique identifier of the user who created the posts
+     * @param after the identifier of the last post of the previous page; {@code 0} for the first page
+     * @param limit the maximum number of posts to return
+     * @return a list of at most {@code limit} posts
+     */
+    @Query("SELECT p FROM PostEntity p WHERE p.userId = :userId AND p.id > :after ORDER BY p.id")
+    List<PostEntity> findPostsByUserIdAfter(@Param("userId") Long userId, @Param("after") Long after, Limit limit);
+
+    /**
+     * Retrieves the identifiers of a page of the posts created by a user, in identifier order.
+     * <p>
+     *     The identifiers are read from the {@code (user_id, id)} index alone. The last one bounds
+     *     the next chunk of {@link #deletePostsByUserIdInRange}.
+     * </p>
+     *
+     * @param userId the unique identifier of the user who created the posts
+     * @param after the identifier after which to start; {@code 0} starts from the first post
+     * @param limit the maximum number of identifiers to return
+     * @return a list of at most {@code limit} post identifiers
+     */
+    @Query("SELECT p.id FROM PostEntity p WHERE p.userId = :userId AND p.id > :after ORDER BY p.id")
+    List<Long> findPostIdsByUserIdAfter(@Param("userId") Long userId, @Param("after") Long after, Limit limit);
+
+    /**
+     * Deletes the posts created by a user whose identifier is in the range {@code (after, upTo]}.
+     *
+     * @param userId the unique identifier of the user whose posts are to be deleted
+     * @param after the exclusive lower bound of the post identifiers
+     * @param upTo the inclusive upper bound of the post identifiers
+     * @return the number of deleted posts
+     */
+    @Modifying
+    @Query("DELETE FROM PostEntity p WHERE p.userId = :userId AND p.id > :after AND p.id <= :upTo")
+    int deletePostsByUserIdInRange(@Param("userId") Long userId, @Param("after") Long after, @Param("upTo") Long upTo);
+
     /**
      * Deletes posts created by a specific user.
      * <p>
-     *     This method performs a bulk delete operation.
+     *     This method performs a bulk delete operation in a single transaction. The Kafka cascade
+     *     uses the chunked deletion of {@link #deletePostsByUserIdInRange} instead.
      * </p>
      *
      * @param userId the unique identifier of the user whose posts are to be deleted
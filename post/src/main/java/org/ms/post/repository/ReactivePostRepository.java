@@ -0,0 +1,170 @@
+package org.ms.post.repository;
+
+import io.r2dbc.spi.Readable;
+import io.r2dbc.spi.Statement;
+import org.ms.post.model.entity.PostEntity;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * R2DBC access to the "posts" table, used by the reactive profile.
+ * <p>
+ *     The queries are the keyset and lookup queries of {@link PostRepository}, written in SQL
+ *     since the entity is mapped for JPA only. The results are emitted as the rows arrive,
+ *     without blocking the calling thread.
+ * </p>
+ * <p>
+ *     New posts take their identifier from the {@code posts_seq} sequence that Hibernate allocates
+ *     from, one {@code nextval} per post. Hibernate reserves a block of identifiers next to each
+ *     value it reads, so a value read here is never handed out by Hibernate as well.
+ * </p>
+ */
+@Repository
+@Profile("reactive")
+public class ReactivePostRepository {
+
+    /**
+     * The number of rows fetched from the database per round trip when streaming.
+     */
+    private static final int FETCH_SIZE = 500;
+
+    private final DatabaseClient databaseClient;
+
+    /**
+     * Creates the repository.
+     *
+     * @param databaseClient the client of the R2DBC connection factory
+     */
+    public ReactivePostRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    /**
+     * Retrieves a page of posts whose identifier is greater than the given cursor, in identifier order.
+     *
+     * @param after the identifier of the last post of the previous page; {@code 0} for the first page
+     * @param limit the maximum number of posts to return
+     * @return the posts of the page
+     */
+    public Flux<PostEntity> findPostsAfter(long after, int limit) {
+        return databaseClient.sql("SELECT id, user_id, body, version FROM posts WHERE id > :after ORDER BY id LIMIT :limit")
+                .bind("after", after)
+                .bind("limit", limit)
+                .map(ReactivePostRepository::toPost)
+                .all();
+    }
+
+    /**
+     * Streams the posts whose identifier is greater than {@code after}, in identifier order.
+     * <p>
+     *     The rows are fetched {@link #FETCH_SIZE} at a time, as the subscriber requests them.
+     * </p>
+     *
+     * @param after the identifier after which to start; {@code 0} starts from the first post
+     * @return the posts, in identifier order
+     */
+    public Flux<PostEntity> streamPostsAfter(long after) {
+        return databaseClient.sql("SELECT id, user_id, body, version FROM posts WHERE id > :after ORDER BY id")
+                .filter(statement -> statement.fetchSize(FETCH_SIZE))
+                .bind("after", after)
+                .map(ReactivePostRepository::toPost)
+                .all();
+    }
+
+    /**
+     * Retrieves a post by its unique identifier.
+     *
+     * @param id the unique identifier of the post
+     * @return the post, or an empty {@link Mono} if not found
+     */
+    public Mono<PostEntity> findById(Long id) {
+        return databaseClient.sql("SELECT id, user_id, body, version FROM posts WHERE id = :id")
+                .bind("id", id)
+                .map(ReactivePostRepository::toPost)
+                .one();
+    }
+
+    /**
+     * Retrieves a page of the posts created by a specific user, in identifier order.
+     *
+     * @param userId the unique identifier of the user who created the posts
+     * @param after the identifier of the last post of the previous page; {@code 0} for the first page
+     * @param limit the maximum number of posts to return
+     * @return the posts of the page
+     */
+    public Flux<PostEntity> findPostsByUserIdAfter(Long userId, long after, int limit) {
+        return databaseClient.sql("SELECT id, user_id, body, version FROM posts WHERE user_id = :userId AND id > :after ORDER BY id LIMIT :limit")
+                .bind("userId", userId)
+                .bind("after", after)
+                .bind("limit", limit)
+                .map(ReactivePostRepository::toPost)
+                .all();
+    }
+
+    /**
+     * Retrieves a post by its unique identifier and the user identifier.
+     *
+     * @param userId the unique identifier of the user who created the post
+     * @param postId the unique identifier of the post
+     * @return the post, or an empty {@link Mono} if not found
+     */
+    public Mono<PostEntity> findByUserIdAndId(Long userId, Long postId) {
+        return databaseClient.sql("SELECT id, user_id, body, version FROM posts WHERE id = :postId AND user_id = :userId")
+                .bind("postId", postId)
+                .bind("userId", userId)
+                .map(ReactivePostRepository::toPost)
+                .one();
+    }
+
+    /**
+     * Inserts a new post.
+     *
+     * @param post the post to insert; its identifier is ignored
+     * @return the inserted post, with its identifier
+     */
+    public Mono<PostEntity> insert(PostEntity post) {
+        return insertAll(List.of(post)).single();
+    }
+
+    /**
+     * Inserts several posts with a single multi-row statement, so either all of them are inserted
+     * or none.
+     * <p>
+     *     The sequence is read row by row in the order of the values, so the identifiers sorted
+     *     in ascending order belong to the posts in their given order.
+     * </p>
+     *
+     * @param posts the posts to insert; their identifiers are ignored
+     * @return the inserted posts, with their identifiers, in the same order
+     */
+    public Flux<PostEntity> insertAll(List<PostEntity> posts) {
+        StringBuilder sql = new StringBuilder("INSERT INTO posts (id, user_id, body, version) VALUES ");
+        for (int i = 0; i < posts.size(); i++) {
+            sql.append(i == 0 ? "" : ", ").append("(nextval('posts_seq'), $").append(2 * i + 1).append(", $").append(2 * i + 2).append(", 0)");
+        }
+        return databaseClient.inConnectionMany(connection -> {
+            Statement statement = connection.createStatement(sql.toString()).returnGeneratedValues("id");
+            for (int i = 0; i < posts.size(); i++) {
+                statement.bind(2 * i, posts.get(i).getUserId()).bind(2 * i + 1, posts.get(i).getBody());
+            }
+            return Flux.from(statement.execute())
+                    .concatMap(result -> result.map(row -> row.get("id", Long.class)))
+                    .sort()
+                    .index()
+                    .map(id -> {
+                        PostEntity post = posts.get(id.getT1().intValue());
+                        return new PostEntity(id.getT2(), post.getUserId(), post.getBody(), 0L);
+                    });
+        });
+    }
+
+    private static PostEntity toPost(Readable row) {
+        return new PostEntity(row.get("id", Long.class), row.get("user_id", Long.class), row.get("body", String.class),
+                row.get("version", Long.class));
+    }
+}
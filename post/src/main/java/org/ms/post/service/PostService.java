@@ -3,6 +3,7 @@ package org.ms.post.service;
 import org.ms.post.model.entity.PostEntity;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Service interface for managing {@link PostEntity} entities.
@@ -15,11 +16,21 @@ import java.util.List;
 public interface PostService {
 
     /**
-     * Retrieves all posts.
+     * Retrieves a page of posts, ordered by identifier.
      *
-     * @return a list of {@link PostEntity} objects
+     * @param after the identifier of the last post of the previous page; {@code 0} for the first page
+     * @param limit the maximum number of posts to return
+     * @return a list of at most {@code limit} {@link PostEntity} objects
      */
-    List<PostEntity> getPosts();
+    List<PostEntity> getPosts(long after, int limit);
+
+    /**
+     * Streams all the posts after the given identifier, ordered by identifier, one at a time.
+     *
+     * @param after the identifier after which to start; {@code 0} starts from the first post
+     * @param consumer the callback receiving each {@link PostEntity}
+     */
+    void streamPosts(long after, Consumer<PostEntity> consumer);
 
     /**
      * Creates a new post and saves it to the repository.
@@ -29,6 +40,14 @@ public interface PostService {
      */
     PostEntity createPost(PostEntity post);
 
+    /**
+     * Creates several posts and saves them to the repository in a single transaction.
+     *
+     * @param posts the {@link PostEntity} objects to be created
+     * @return the created {@link PostEntity} objects, in the same order
+     */
+    List<PostEntity> createPosts(List<PostEntity> posts);
+
     /**
      * Retrieves a post by its unique identifier.
      *
@@ -37,6 +56,16 @@ public interface PostService {
      */
     PostEntity getPost(Long id);
 
+    /**
+     * Retrieves a page of the posts created by a user, ordered by identifier.
+     *
+     * @param userId the unique identifier of the user who created the posts
+     * @param after the identifier of the last post of the previous page; {@code 0} for the first page
+     * @param limit the maximum number of posts to return
+     * @return a list of at most {@code limit} {@link PostEntity} objects
+     */
+    List<PostEntity> getPostsByUserId(Long userId, long after, int limit);
+
     /**
      * Retrieves a post by its unique identifier and the user identifier.
      *
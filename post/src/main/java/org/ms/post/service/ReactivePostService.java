@@ -0,0 +1,76 @@
+package org.ms.post.service;
+
+import org.ms.post.model.entity.PostEntity;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Non-blocking counterpart of {@link PostService}, used by the reactive profile.
+ * <p>
+ *     Every method returns at once; the work happens when the result is subscribed to.
+ * </p>
+ */
+public interface ReactivePostService {
+
+    /**
+     * Retrieves a page of posts, ordered by identifier.
+     *
+     * @param after the identifier of the last post of the previous page; {@code 0} for the first page
+     * @param limit the maximum number of posts to return
+     * @return at most {@code limit} {@link PostEntity} objects
+     */
+    Flux<PostEntity> getPosts(long after, int limit);
+
+    /**
+     * Streams all the posts after the given identifier, ordered by identifier.
+     *
+     * @param after the identifier after which to start; {@code 0} starts from the first post
+     * @return the posts, emitted as the subscriber requests them
+     */
+    Flux<PostEntity> streamPosts(long after);
+
+    /**
+     * Creates a new post.
+     *
+     * @param post the {@link PostEntity} to be created
+     * @return the created {@link PostEntity}
+     */
+    Mono<PostEntity> createPost(PostEntity post);
+
+    /**
+     * Creates several posts with one batched statement.
+     *
+     * @param posts the {@link PostEntity} objects to be created
+     * @return the created {@link PostEntity} objects, in the same order
+     */
+    Flux<PostEntity> createPosts(List<PostEntity> posts);
+
+    /**
+     * Retrieves a post by its unique identifier.
+     *
+     * @param id the unique identifier of the post
+     * @return the {@link PostEntity}, or an empty {@link Mono} if not found
+     */
+    Mono<PostEntity> getPost(Long id);
+
+    /**
+     * Retrieves a page of the posts created by a user, ordered by identifier.
+     *
+     * @param userId the unique identifier of the user who created the posts
+     * @param after the identifier of the last post of the previous page; {@code 0} for the first page
+     * @param limit the maximum number of posts to return
+     * @return at most {@code limit} {@link PostEntity} objects
+     */
+    Flux<PostEntity> getPostsByUserId(Long userId, long after, int limit);
+
+    /**
+     * Retrieves a post by its unique identifier and the user identifier.
+     *
+     * @param userId the unique identifier of the user who created the post
+     * @param postId the unique identifier of the post
+     * @return the {@link PostEntity}, or an empty {@link Mono} if not found
+     */
+    Mono<PostEntity> getPostByUserIdAndPostId(Long userId, Long postId);
+}
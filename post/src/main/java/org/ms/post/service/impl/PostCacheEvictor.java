@@ -0,0 +1,44 @@
+package org.ms.post.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.ms.post.config.cache.PostCacheConfig;
+import org.ms.post.model.entity.PostEntity;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+/**
+ * Evicts the cached posts of deleted users from the {@value PostCacheConfig#POSTS_CACHE} cache.
+ * <p>
+ *     The cache is keyed by post identifier, so the posts of a user are found by scanning the
+ *     entries of the in-process Caffeine cache, which is bounded. Other providers cannot be scanned,
+ *     and are cleared instead.
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+public class PostCacheEvictor {
+
+    private final CacheManager cacheManager;
+
+    /**
+     * Evicts the cached posts of the given users.
+     *
+     * @param userIds the unique identifiers of the users whose posts are evicted
+     */
+    public void evictPostsOfUsers(Collection<Long> userIds) {
+        Cache cache = cacheManager.getCache(PostCacheConfig.POSTS_CACHE);
+        if (cache == null) {
+            return;
+        }
+        if (cache instanceof CaffeineCache caffeineCache) {
+            caffeineCache.getNativeCache().asMap().values()
+                    .removeIf(post -> post instanceof PostEntity postEntity && userIds.contains(postEntity.getUserId()));
+        } else {
+            cache.clear();
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package org.ms.post.service.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.ms.post.config.cleanup.PostCleanupProperties;
+import org.ms.post.model.entity.PostCleanupEntity;
+import org.ms.post.repository.PostCleanupRepository;
+import org.ms.post.repository.PostRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Service deleting the posts of deleted users in bounded chunks.
+ * <p>
+ *     A deletion is first recorded in the "post_cleanups" table by {@link #requestCleanups(Collection)}.
+ *     A scheduled task then deletes the user's posts by ranges of increasing id, at most
+ *     'cleanup.posts.batch-size' posts per transaction and with a 'cleanup.posts.pause' between
+ *     chunks, so that no long transaction holds locks on the "posts" table. Each chunk stores its
+ *     upper bound in the same transaction, so a restarted service resumes after the last chunk.
+ * </p>
+ * <p>
+ *     The following metrics are published:
+ *     <ul>
+ *         <li>{@code posts.cleanup.deleted}: the number of deleted posts;</li>
+ *         <li>{@code posts.cleanup.rate}: the posts deleted per second by the last run;</li>
+ *         <li>{@code posts.cleanup.backlog}: the number of users whose posts remain to be deleted;</li>
+ *         <li>{@code posts.cleanup.chunk}: the duration of a chunk transaction.</li>
+ *     </ul>
+ * </p>
+ */
+@Slf4j
+@Service
+public class PostCleanupService {
+
+    private final PostRepository postRepository;
+    private final PostCleanupRepository postCleanupRepository;
+    private final PostCleanupProperties properties;
+    private final PostCacheEvictor postCacheEvictor;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Counter deletedCounter;
+    private final Timer chunkTimer;
+    private final AtomicLong backlog = new AtomicLong();
+    private final AtomicLong rowsPerSecond = new AtomicLong();
+
+    /**
+     * Creates the service and registers its metrics.
+     *
+     * @param postRepository the repository of the posts to delete
+     * @param postCleanupRepository the repository of the pending deletions
+     * @param properties the chunking properties bound from the application.properties file
+     * @param postCacheEvictor the evictor of the cached posts of the deleted users
+     * @param transactionManager the transaction manager each chunk runs in
+     * @param meterRegistry the registry the metrics are published to
+     */
+    public PostCleanupService(PostRepository postRepository,
+                              PostCleanupRepository postCleanupRepository,
+                              PostCleanupProperties properties,
+                              PostCacheEvictor postCacheEvictor,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry) {
+        this.postRepository = postRepository;
+        this.postCleanupRepository = postCleanupRepository;
+        this.properties = properties;
+        this.postCacheEvictor = postCacheEvictor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.deletedCounter = Counter.builder("posts.cleanup.deleted")
+                .description("Posts deleted after their user was deleted")
+                .baseUnit("rows")
+                .register(meterRegistry);
+        this.chunkTimer = Timer.builder("posts.cleanup.chunk")
+                .description("Duration of a chunk of post deletions")
+                .register(meterRegistry);
+        Gauge.builder("posts.cleanup.backlog", backlog, AtomicLong::get)
+                .description("Users whose posts remain to be deleted")
+                .baseUnit("users")
+                .register(meterRegistry);
+        Gauge.builder("posts.cleanup.rate", rowsPerSecond, AtomicLong::get)
+                .description("Posts deleted per second by the last cleanup run")
+                .baseUnit("rows")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Records that the posts of several deleted users are to be deleted.
+     * <p>
+     *     The pending deletions are looked up with one query and the new ones are inserted in
+     *     JDBC batches, in a single transaction. A deletion already pending for a user is kept,
+     *     with its progress.
+     * </p>
+     *
+     * @param userIds the unique identifiers of the deleted users
+     */
+    @Transactional
+    public void requestCleanups(Collection<Long> userIds) {
+        Set<Long> pending = new HashSet<>();
+        postCleanupRepository.findAllById(userIds).forEach(cleanup -> pending.add(cleanup.getUserId()));
+        Instant now = Instant.now();
+        List<PostCleanupEntity> cleanups = new ArrayList<>(userIds.size());
+        for (Long userId : userIds) {
+            if (pending.add(userId)) {
+                cleanups.add(PostCleanupEntity.builder()
+                        .userId(userId)
+                        .lastDeletedId(0L)
+                        .deletedRows(0L)
+                        .requestedAt(now)
+                        .build());
+            }
+        }
+        postCleanupRepository.saveAll(cleanups);
+    }
+
+    /**
+     * Deletes the posts of the pending deletions, one chunk at a time.
+     * <p>
+     *     The task runs again 'cleanup.posts.poll-interval' after the previous run ended.
+     * </p>
+     */
+    @Scheduled(fixedDelayString = "${cleanup.posts.poll-interval:1000}")
+    public void runPendingCleanups() {
+        List<PostCleanupEntity> pending = postCleanupRepository.findPending(Limit.of(properties.getPendingLimit()));
+        backlog.set(postCleanupRepository.count());
+        if (pending.isEmpty()) {
+            rowsPerSecond.set(0);
+            return;
+        }
+
+        long start = System.nanoTime();
+        long deleted = 0;
+        try {
+            for (PostCleanupEntity cleanup : pending) {
+                deleted += cleanUp(cleanup);
+                backlog.decrementAndGet();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Post cleanup interrupted, it resumes on the next start");
+        } finally {
+            long elapsedNanos = Math.max(1, System.nanoTime() - start);
+            rowsPerSecond.set(deleted * 1_000_000_000L / elapsedNanos);
+        }
+    }
+
+    /**
+     * Deletes the remaining posts of one user, chunk by chunk, then removes the pending deletion.
+     * <p>
+     *     The posts of the user are evicted from the post cache again at the end, since they can
+     *     be read back into it until their chunk is deleted.
+     * </p>
+     *
+     * @param cleanup the pending deletion, with the progress of previous runs
+     * @return the number of posts deleted by this call
+     * @throws InterruptedException if the thread is interrupted during a pause
+     */
+    private long cleanUp(PostCleanupEntity cleanup) throws InterruptedException {
+        Long userId = cleanup.getUserId();
+        long deletedBefore = cleanup.getDeletedRows();
+        PostCleanupEntity progress = cleanup;
+        while (true) {
+            PostCleanupEntity chunk = chunkTimer.record(() -> transactionTemplate.execute(status -> deleteChunk(userId)));
+            if (chunk == null) {
+                break;
+            }
+            progress = chunk;
+            Thread.sleep(properties.getPause().toMillis());
+        }
+        postCacheEvictor.evictPostsOfUsers(List.of(userId));
+        log.info("Deleted {} posts of user {}", progress.getDeletedRows(), userId);
+        return progress.getDeletedRows() - deletedBefore;
+    }
+
+    /**
+     * Deletes the next chunk of a user's posts and records the progress, in the current transaction.
+     * <p>
+     *     The pending deletion is read again in the transaction, so its version guards the update
+     *     against another instance working on the same user. When no post is left, the pending
+     *     deletion is removed instead.
+     * </p>
+     *
+     * @param userId the unique identifier of the deleted user
+     * @return the updated pending deletion, or {@code null} when the deletion is complete
+     */
+    private PostCleanupEntity deleteChunk(Long userId) {
+        PostCleanupEntity cleanup = postCleanupRepository.findById(userId).orElse(null);
+        if (cleanup == null) {
+            return null;
+        }
+        List<Long> ids = postRepository.findPostIdsByUserIdAfter(
+                userId, cleanup.getLastDeletedId(), Limit.of(properties.getBatchSize()));
+        if (ids.isEmpty()) {
+            postCleanupRepository.delete(cleanup);
+            return null;
+        }
+
+        long upTo = ids.get(ids.size() - 1);
+        int deleted = postRepository.deletePostsByUserIdInRange(userId, cleanup.getLastDeletedId(), upTo);
+        cleanup.setLastDeletedId(upTo);
+        cleanup.setDeletedRows(cleanup.getDeletedRows() + deleted);
+        deletedCounter.increment(deleted);
+        return cleanup;
+    }
+}
@@ -1,14 +1,27 @@
 package org.ms.post.service.impl;
 
+import com.google.protobuf.InvalidProtocolBufferException;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.ms.grpc_prop.prop.UserDeletedEvent;
+import org.ms.post.config.cache.PostCacheConfig;
 import org.ms.post.model.entity.PostEntity;
 import org.ms.post.repository.PostRepository;
 import org.ms.post.service.PostService;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.ByteBuffer;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * Implementation of the {@link PostService} interface.
@@ -19,44 +32,108 @@ import java.util.Optional;
  * </p>
  *
  */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class PostServiceImpl implements PostService {
 
     private final PostRepository postRepository;
+    private final UserService userService;
+    private final PostCleanupService postCleanupService;
+    private final PostCacheEvictor postCacheEvictor;
 
     /**
-     * Retrieves all posts from the repository.
+     * Retrieves a page of posts from the repository, ordered by identifier.
+     * <p>
+     *     The page is read in a read-only transaction, so Hibernate keeps no snapshots
+     *     of the loaded entities for dirty checking.
+     * </p>
      *
-     * @return a list of {@link PostEntity} objects
+     * @param after the identifier of the last post of the previous page; {@code 0} for the first page
+     * @param limit the maximum number of posts to return
+     * @return a list of at most {@code limit} {@link PostEntity} objects
      */
     @Override
-    public List<PostEntity> getPosts() {
-        return postRepository.findAll();
+    @Transactional(readOnly = true)
+    public List<PostEntity> getPosts(long after, int limit) {
+        return postRepository.findPostsAfter(after, Limit.of(limit));
+    }
+
+    /**
+     * Streams all the posts after the given identifier through a database cursor.
+     *
+     * @param after the identifier after which to start; {@code 0} starts from the first post
+     * @param consumer the callback receiving each {@link PostEntity}
+     */
+    @Override
+    public void streamPosts(long after, Consumer<PostEntity> consumer) {
+        postRepository.streamPostsAfter(after, consumer);
     }
 
     /**
      * Creates a new post and saves it to the repository.
+     * <p>
+     *     The created post is written to the post cache, so the first read of a new post
+     *     does not go to the database.
+     * </p>
      *
      * @param post the {@link PostEntity} to be created
      * @return the created {@link PostEntity}
      */
     @Override
+    @CachePut(cacheNames = PostCacheConfig.POSTS_CACHE, key = "#result.id")
     public PostEntity createPost(PostEntity post) {
         return postRepository.save(post);
     }
 
+    /**
+     * Creates several posts and saves them to the repository in a single transaction.
+     * <p>
+     *     The inserts are sent to the database in JDBC batches whose size is set by the
+     *     'spring.jpa.properties.hibernate.jdbc.batch_size' property.
+     * </p>
+     *
+     * @param posts the {@link PostEntity} objects to be created
+     * @return the created {@link PostEntity} objects, in the same order
+     */
+    @Override
+    @Transactional
+    public List<PostEntity> createPosts(List<PostEntity> posts) {
+        return postRepository.saveAll(posts);
+    }
+
     /**
      * Retrieves a post by its unique identifier.
+     * <p>
+     *     The post is read through the post cache. Missing posts are not cached, so unknown
+     *     identifiers cannot fill the cache. A cache miss is read in a read-only transaction, on a
+     *     replica when there are some.
+     * </p>
      *
      * @param id the unique identifier of the post
      * @return the {@link PostEntity} if found, or {@code null} if not
      */
     @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = PostCacheConfig.POSTS_CACHE, unless = "#result == null")
     public PostEntity getPost(Long id) {
         return postRepository.findById(id).orElse(null);
     }
 
+    /**
+     * Retrieves a page of the posts created by a user, ordered by identifier.
+     *
+     * @param userId the unique identifier of the user who created the posts
+     * @param after the identifier of the last post of the previous page; {@code 0} for the first page
+     * @param limit the maximum number of posts to return
+     * @return a list of at most {@code limit} {@link PostEntity} objects
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<PostEntity> getPostsByUserId(Long userId, long after, int limit) {
+        return postRepository.findPostsByUserIdAfter(userId, after, Limit.of(limit));
+    }
+
     /**
      * Retrieves a post by its unique identifier and the user identifier.
      *
@@ -65,6 +142,7 @@ public class PostServiceImpl implements PostService {
      * @return the {@link PostEntity} if found, or {@code null} if not
      */
     @Override
+    @Transactional(readOnly = true)
     public PostEntity getPostByUserIdAndPostId(Long userId, Long postId) {
         Optional<PostEntity> postEntityOptional = postRepository.getPostByUserIdAndPostId(userId, postId);
         return postEntityOptional.orElse(null);
@@ -73,16 +151,68 @@ public class PostServiceImpl implements PostService {
     /**
      * Listens for Kafka messages on the "post_user" topic to delete posts by user identifier.
      * <p>
-     *     This method is triggered by incoming Kafka messages. It parses the message to extract
-     *     the user identifier and deletes all posts associated with that user.
+     *     This method is triggered with all the records of a Kafka poll. It decodes the
+     *     {@link UserDeletedEvent} messages, evicts the users from the existence near-cache and
+     *     their posts from the post cache, and records the deletion of all their posts in one
+     *     transaction. The posts are then deleted in chunks by the {@link PostCleanupService}, so
+     *     the consumer thread does not wait for them.
+     * </p>
+     * <p>
+     *     A record is skipped unless it decodes to an event with a positive user identifier that
+     *     matches the record key. Proto3 decodes many payloads that are not events, such as the
+     *     decimal strings of the previous format or an empty message, into an event whose user
+     *     identifier is the default {@code 0}.
      * </p>
      *
-     * @param message the Kafka message containing the user identifier
+     * @param records the Kafka records of one poll, each keyed by the user identifier and containing
+     *                a serialized {@link UserDeletedEvent}
+     */
+    @KafkaListener(topics = "post_user", groupId = "post_user_group", containerFactory = "factory")
+    public void listen(List<ConsumerRecord<byte[], byte[]>> records) {
+        Set<Long> userIds = new LinkedHashSet<>();
+        for (ConsumerRecord<byte[], byte[]> record : records) {
+            Long userId = deletedUserId(record);
+            if (userId != null) {
+                userIds.add(userId);
+            }
+        }
+        if (userIds.isEmpty()) {
+            return;
+        }
+        userIds.forEach(userService::evictUser);
+        postCacheEvictor.evictPostsOfUsers(userIds);
+        postCleanupService.requestCleanups(userIds);
+    }
+
+    /**
+     * Decodes the identifier of the deleted user from a record.
+     *
+     * @param record the record read from the "post_user" topic
+     * @return the user identifier, or {@code null} if the record is not a valid event for its key
      */
-    @KafkaListener(topics = "post_user", groupId = "post_user_group")
-    public void listen(String message) {
-        Long userId = Long.parseLong(message);
-        postRepository.deletePostByUserId(userId);
+    private Long deletedUserId(ConsumerRecord<byte[], byte[]> record) {
+        byte[] message = record.value();
+        if (message == null) {
+            log.warn("Skipping user deletion record without a value at offset {}", record.offset());
+            return null;
+        }
+        long userId;
+        try {
+            userId = UserDeletedEvent.parseFrom(message).getUserId();
+        } catch (InvalidProtocolBufferException e) {
+            log.warn("Skipping malformed user deletion message of {} bytes", message.length);
+            return null;
+        }
+        if (userId <= 0) {
+            log.warn("Skipping user deletion message of {} bytes without a user id", message.length);
+            return null;
+        }
+        byte[] key = record.key();
+        if (key != null && (key.length != Long.BYTES || ByteBuffer.wrap(key).getLong() != userId)) {
+            log.warn("Skipping user deletion message for user {} whose key does not match", userId);
+            return null;
+        }
+        return userId;
     }
 
 }
@@ -0,0 +1,61 @@
+package org.ms.post.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.ms.post.model.entity.PostEntity;
+import org.ms.post.repository.ReactivePostRepository;
+import org.ms.post.service.ReactivePostService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Implementation of the {@link ReactivePostService} interface on top of the {@link ReactivePostRepository}.
+ * <p>
+ *     Each method runs a single statement, so no transaction is opened.
+ * </p>
+ */
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactivePostServiceImpl implements ReactivePostService {
+
+    private final ReactivePostRepository postRepository;
+
+    @Override
+    public Flux<PostEntity> getPosts(long after, int limit) {
+        return postRepository.findPostsAfter(after, limit);
+    }
+
+    @Override
+    public Flux<PostEntity> streamPosts(long after) {
+        return postRepository.streamPostsAfter(after);
+    }
+
+    @Override
+    public Mono<PostEntity> createPost(PostEntity post) {
+        return postRepository.insert(post);
+    }
+
+    @Override
+    public Flux<PostEntity> createPosts(List<PostEntity> posts) {
+        return postRepository.insertAll(posts);
+    }
+
+    @Override
+    public Mono<PostEntity> getPost(Long id) {
+        return postRepository.findById(id);
+    }
+
+    @Override
+    public Flux<PostEntity> getPostsByUserId(Long userId, long after, int limit) {
+        return postRepository.findPostsByUserIdAfter(userId, after, limit);
+    }
+
+    @Override
+    public Mono<PostEntity> getPostByUserIdAndPostId(Long userId, Long postId) {
+        return postRepository.findByUserIdAndId(userId, postId);
+    }
+}
@@ -0,0 +1,179 @@
+package org.ms.post.service.impl;
+
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.ClientResponseObserver;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.ms.grpc_prop.prop.UserRequest;
+import org.ms.grpc_prop.prop.UserResponse;
+import org.ms.grpc_prop.prop.UserServiceGrpc;
+import org.ms.post.config.grpc.GrpcChannelPool;
+import org.ms.post.config.grpc.UserGrpcClientProperties;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Client of the {@code lookupUsers} stream of the gRPC UserService.
+ * <p>
+ *     Existence checks are pushed into one long-lived bidirectional stream instead of being sent
+ *     as separate calls. The user service resolves them in batches and answers them in request
+ *     order, so each answer completes the oldest pending check. The stream is opened on the first
+ *     check, and reopened on the next check after it failed. This suits bulk callers such as
+ *     validators and reconciliation jobs; {@link UserService} remains the cached path for single checks.
+ * </p>
+ * <p>
+ *     The checks are written to the stream only while it is ready, the others wait in a local
+ *     queue drained when the transport asks for more. At most {@code lookup-max-pending} checks
+ *     may wait for an answer; further checks fail at once. A check left unanswered past the
+ *     deadline cancels the whole stream, failing its other checks, since the answers are matched
+ *     by order: the next check opens a new stream.
+ * </p>
+ */
+@Slf4j
+@Service
+public class UserLookupStreamClient {
+
+    private final GrpcChannelPool userChannelPool;
+    private final UserGrpcClientProperties properties;
+
+    private LookupStream stream;
+
+    /**
+     * Creates the client.
+     *
+     * @param userChannelPool the pool providing the channel of the stream
+     * @param properties the client properties; the deadline bounds each check
+     */
+    public UserLookupStreamClient(GrpcChannelPool userChannelPool, UserGrpcClientProperties properties) {
+        this.userChannelPool = userChannelPool;
+        this.properties = properties;
+    }
+
+    /**
+     * Checks whether a user exists, through the stream.
+     *
+     * @param id the unique identifier of the user
+     * @return a future completed with {@code true} if the user exists, {@code false} otherwise; it fails
+     *         if the stream fails, too many checks are pending, or no answer arrives within the
+     *         configured deadline
+     */
+    public synchronized CompletableFuture<Boolean> userExists(Long id) {
+        if (stream == null || stream.closed) {
+            stream = new LookupStream();
+        }
+        LookupStream current = stream;
+        return current.send(id)
+                .orTimeout(properties.getDeadline().toMillis(), TimeUnit.MILLISECONDS)
+                .whenComplete((found, failure) -> {
+                    if (failure instanceof TimeoutException) {
+                        current.cancel(failure);
+                    }
+                });
+    }
+
+    /**
+     * Half-closes the stream, letting the user service answer the pending checks.
+     */
+    @PreDestroy
+    public synchronized void close() {
+        if (stream != null) {
+            stream.complete();
+            stream = null;
+        }
+    }
+
+    /**
+     * One {@code lookupUsers} call with the checks still waiting to be sent or answered.
+     */
+    private class LookupStream implements ClientResponseObserver<UserRequest, UserResponse> {
+
+        private final Queue<CompletableFuture<Boolean>> pending = new ArrayDeque<>();
+        private final Queue<UserRequest> outbox = new ArrayDeque<>();
+        private ClientCallStreamObserver<UserRequest> requests;
+        private volatile boolean closed;
+
+        LookupStream() {
+            UserServiceGrpc.newStub(userChannelPool.next()).lookupUsers(this);
+        }
+
+        @Override
+        public void beforeStart(ClientCallStreamObserver<UserRequest> requestStream) {
+            requests = requestStream;
+            requestStream.setOnReadyHandler(this::drain);
+        }
+
+        synchronized CompletableFuture<Boolean> send(Long id) {
+            if (closed) {
+                return CompletableFuture.failedFuture(new IllegalStateException("lookupUsers stream is closed"));
+            }
+            if (pending.size() >= properties.getLookupMaxPending()) {
+                return CompletableFuture.failedFuture(new IllegalStateException(
+                        "lookupUsers stream has " + pending.size() + " unanswered checks"));
+            }
+            CompletableFuture<Boolean> answer = new CompletableFuture<>();
+            pending.add(answer);
+            outbox.add(UserRequest.newBuilder().setUserId(id).build());
+            drain();
+            return answer;
+        }
+
+        /**
+         * Writes the queued checks for as long as the stream accepts them without buffering.
+         */
+        private synchronized void drain() {
+            while (!closed && !outbox.isEmpty() && requests.isReady()) {
+                requests.onNext(outbox.poll());
+            }
+        }
+
+        synchronized void complete() {
+            if (!closed) {
+                requests.onCompleted();
+            }
+        }
+
+        synchronized void cancel(Throwable cause) {
+            if (!closed) {
+                log.warn("lookupUsers stream cancelled: a check got no answer in time");
+                requests.cancel("A check got no answer in time", cause);
+                failPending(cause);
+            }
+        }
+
+        @Override
+        public void onNext(UserResponse response) {
+            CompletableFuture<Boolean> answer;
+            synchronized (this) {
+                answer = pending.poll();
+            }
+            if (answer != null) {
+                answer.complete(response.getFound());
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            log.warn("lookupUsers stream failed: {}", t.getMessage());
+            failPending(t);
+        }
+
+        @Override
+        public void onCompleted() {
+            failPending(new IllegalStateException("lookupUsers stream completed with unanswered checks"));
+        }
+
+        private synchronized void failPending(Throwable cause) {
+            closed = true;
+            outbox.clear();
+            CompletableFuture<Boolean> answer;
+            while ((answer = pending.poll()) != null) {
+                answer.completeExceptionally(cause);
+            }
+        }
+    }
+}
@@ -1,42 +1,183 @@
 package org.ms.post.service.impl;
 
-import io.grpc.ManagedChannel;
-import io.grpc.ManagedChannelBuilder;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import io.grpc.stub.StreamObserver;
+import lombok.RequiredArgsConstructor;
 import org.ms.grpc_prop.prop.UserRequest;
 import org.ms.grpc_prop.prop.UserResponse;
 import org.ms.grpc_prop.prop.UserServiceGrpc;
+import org.ms.grpc_prop.prop.UsersRequest;
+import org.ms.grpc_prop.prop.UsersResponse;
+import org.ms.post.config.grpc.GrpcChannelPool;
+import org.ms.post.config.grpc.UserGrpcClientProperties;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
 /**
  * Service class for interacting with the gRPC UserService.
  * <p>
  *     This class provides a method to retrieve user information from a gRPC server.
- *     It connects to the gRPC server, sends a request to get user details by ID,
- *     and processes the response to determine if the user exists.
+ *     It sends a request to get user details by ID over a pooled, long-lived channel
+ *     and processes the response to determine if the user exists. Answers are kept in
+ *     a near-cache so that repeated checks for the same user skip the gRPC call.
+ * </p>
+ * <p>
+ *     The near-cache holds the pending answer of a call as a future, so concurrent checks for the
+ *     same user share one call, and no lock is held while the call is in flight. Evicting a user
+ *     drops its pending future as well: the answer of a call started before the eviction is
+ *     never cached.
  * </p>
  *
  */
 @Service
+@RequiredArgsConstructor
 public class UserService {
 
+    private final GrpcChannelPool userChannelPool;
+    private final UserGrpcClientProperties properties;
+    private final AsyncCache<Long, Boolean> userExistenceCache;
+
     /**
-     * Retrieves a user by its unique identifier using gRPC.
+     * Retrieves a user by its unique identifier, using the near-cache when possible.
      * <p>
-     *     This method creates a gRPC channel to the server, sends a request with the user ID,
-     *     and checks if the user exists based on the response. The channel is shut down
-     *     after the request is processed.
+     *     On a cache miss, this method borrows a channel from the {@link GrpcChannelPool}, sends
+     *     a request with the user ID under the configured deadline, and caches whether the user
+     *     exists based on the response. The channel stays open for the next calls.
      * </p>
      *
      * @param id the unique identifier of the user
      * @return {@code true} if the user exists, {@code false} otherwise
      */
     public boolean getUserById(Long id) {
-        ManagedChannel channel = ManagedChannelBuilder.forAddress("localhost", 9090).usePlaintext().build();
+        return await(userExists(id));
+    }
+
+    /**
+     * Checks whether a user exists without blocking, using the near-cache when possible.
+     * <p>
+     *     The future may be shared with other callers waiting for the same user, so it must not
+     *     be cancelled: a caller that stops waiting simply drops it.
+     * </p>
+     *
+     * @param id the unique identifier of the user
+     * @return a future completed with {@code true} if the user exists, {@code false} otherwise,
+     *         or failed with the gRPC status of the call
+     */
+    public CompletableFuture<Boolean> userExists(Long id) {
+        return userExistenceCache.get(id, (userId, executor) -> fetchUserExists(userId));
+    }
+
+    /**
+     * Checks which of the given users exist, using the near-cache when possible.
+     * <p>
+     *     All the users missing from the cache are resolved with a single batched gRPC call,
+     *     and every answer is cached for the next checks, unless the user is evicted while the
+     *     call is in flight.
+     * </p>
+     *
+     * @param ids the unique identifiers of the users
+     * @return the subset of {@code ids} that belong to existing users
+     */
+    public Set<Long> getExistingUserIds(Collection<Long> ids) {
+        return await(existingUserIds(ids));
+    }
+
+    /**
+     * Checks which of the given users exist without blocking, using the near-cache when possible.
+     *
+     * @param ids the unique identifiers of the users
+     * @return a future completed with the subset of {@code ids} that belong to existing users,
+     *         or failed with the gRPC status of the call
+     */
+    public CompletableFuture<Set<Long>> existingUserIds(Collection<Long> ids) {
+        return userExistenceCache.getAll(ids, (userIds, executor) -> fetchUsersExist(userIds)).thenApply(answers -> {
+            Set<Long> existing = new HashSet<>();
+            answers.forEach((id, exists) -> {
+                if (exists) {
+                    existing.add(id);
+                }
+            });
+            return existing;
+        });
+    }
+
+    /**
+     * Removes a user from the near-cache, so that the next check asks the user service again.
+     *
+     * @param id the unique identifier of the user
+     */
+    public void evictUser(Long id) {
+        userExistenceCache.synchronous().invalidate(id);
+    }
+
+    private CompletableFuture<Boolean> fetchUserExists(Long id) {
+        UserServiceGrpc.UserServiceStub stub = UserServiceGrpc.newStub(userChannelPool.next())
+                .withDeadlineAfter(properties.getDeadline().toMillis(), TimeUnit.MILLISECONDS);
+        FutureObserver<UserResponse> userResponse = new FutureObserver<>();
+        stub.getUserById(UserRequest.newBuilder().setUserId(id).build(), userResponse);
+
+        return userResponse.future.thenApply(UserResponse::getFound);
+    }
+
+    private CompletableFuture<Map<Long, Boolean>> fetchUsersExist(Set<? extends Long> ids) {
+        UserServiceGrpc.UserServiceStub stub = UserServiceGrpc.newStub(userChannelPool.next())
+                .withDeadlineAfter(properties.getDeadline().toMillis(), TimeUnit.MILLISECONDS);
+        FutureObserver<UsersResponse> usersResponse = new FutureObserver<>();
+        stub.getUsersByIds(UsersRequest.newBuilder().addAllUserIds(ids).build(), usersResponse);
+
+        return usersResponse.future.thenApply(response -> {
+            Map<Long, Boolean> exists = new HashMap<>();
+            for (Long id : ids) {
+                exists.put(id, false);
+            }
+            for (Long id : response.getExistingUserIdsList()) {
+                exists.put(id, true);
+            }
+            return exists;
+        });
+    }
+
+    /**
+     * Waits for an answer, rethrowing the failure of the call as it was raised.
+     */
+    private static <T> T await(CompletableFuture<T> answer) {
+        try {
+            return answer.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Completes a future with the single response of a unary call.
+     */
+    private static class FutureObserver<T> implements StreamObserver<T> {
+
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+
+        @Override
+        public void onNext(T value) {
+            future.complete(value);
+        }
 
-        UserServiceGrpc.UserServiceBlockingStub stub = UserServiceGrpc.newBlockingStub(channel);
-        UserResponse userResponse = stub.getUserById(UserRequest.newBuilder().setUserId(id).build());
-        channel.shutdown();
+        @Override
+        public void onError(Throwable t) {
+            future.completeExceptionally(t);
+        }
 
-        return userResponse.getUserId() != -1;
+        @Override
+        public void onCompleted() {
+        }
     }
 }
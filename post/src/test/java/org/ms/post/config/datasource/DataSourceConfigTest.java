@@ -0,0 +1,176 @@
+package org.ms.post.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.autoconfigure.metrics.MetricsAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.export.simple.SimpleMetricsExportAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.jdbc.DataSourcePoolMetricsAutoConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.assertj.AssertableApplicationContext;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DataSourceConfigTest {
+
+    private static final String PRIMARY = "jdbc:h2:mem:primary;DB_CLOSE_DELAY=-1";
+    private static final String REPLICA_1 = "jdbc:h2:mem:replica-1;DB_CLOSE_DELAY=-1";
+    private static final String REPLICA_2 = "jdbc:h2:mem:replica-2;DB_CLOSE_DELAY=-1";
+    private static final String MISSING_REPLICA = "jdbc:h2:mem:missing;IFEXISTS=TRUE";
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(DataSourceConfig.class)
+            .withConfiguration(AutoConfigurations.of(MetricsAutoConfiguration.class,
+                    SimpleMetricsExportAutoConfiguration.class, DataSourcePoolMetricsAutoConfiguration.class))
+            .withPropertyValues(
+                    "spring.datasource.url=" + PRIMARY,
+                    "spring.datasource.hikari.pool-name=post-pool",
+                    "spring.datasource.hikari.maximum-pool-size=3",
+                    "spring.datasource.hikari.data-source-properties.reWriteBatchedInserts=true",
+                    "datasource.replicas.pool-size=2",
+                    "datasource.replicas.connection-timeout=250ms");
+
+    @Test
+    void poolIsConfiguredFromTheHikariProperties() {
+        contextRunner.run(context -> {
+            HikariDataSource dataSource = context.getBean(HikariDataSource.class);
+
+            assertThat(dataSource.getPoolName()).isEqualTo("post-pool");
+            assertThat(dataSource.getMaximumPoolSize()).isEqualTo(3);
+            assertThat(dataSource.getDataSourceProperties()).containsEntry("reWriteBatchedInserts", "true");
+        });
+    }
+
+    @Test
+    void poolPublishesItsConnectionMetrics() {
+        contextRunner.run(context -> {
+            try (Connection connection = context.getBean(HikariDataSource.class).getConnection()) {
+                MeterRegistry registry = context.getBean(MeterRegistry.class);
+
+                assertThat(registry.get("hikaricp.connections.active").tag("pool", "post-pool").gauge().value()).isEqualTo(1);
+                assertThat(registry.get("hikaricp.connections.idle").tag("pool", "post-pool").gauge()).isNotNull();
+                assertThat(registry.get("hikaricp.connections.pending").tag("pool", "post-pool").gauge().value()).isZero();
+                assertThat(registry.get("hikaricp.connections.acquire").tag("pool", "post-pool").timer().count()).isPositive();
+            }
+        });
+    }
+
+    @Test
+    void withoutReplicasEveryTransactionRunsOnThePrimary() throws SQLException {
+        createDatabase(PRIMARY, "primary");
+
+        contextRunner.run(context -> {
+            assertThat(context).doesNotHaveBean(ReplicaRoutingDataSource.class);
+            assertThat(readDatabaseName(context, true)).isEqualTo("primary");
+        });
+    }
+
+    @Test
+    void readOnlyTransactionsRunOnTheReplicasInTurn() throws SQLException {
+        createDatabase(PRIMARY, "primary");
+        createDatabase(REPLICA_1, "replica-1");
+        createDatabase(REPLICA_2, "replica-2");
+
+        contextRunner.withPropertyValues("datasource.replicas.urls=" + REPLICA_1 + "," + REPLICA_2).run(context -> {
+            List<String> reads = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                reads.add(readDatabaseName(context, true));
+            }
+
+            assertThat(reads).containsExactly("replica-1", "replica-2", "replica-1", "replica-2");
+            assertThat(readDatabaseName(context, false)).isEqualTo("primary");
+            MeterRegistry registry = context.getBean(MeterRegistry.class);
+            assertThat(registry.get("datasource.route").tag("route", "post-pool-replica-1").counter().count()).isEqualTo(2);
+            assertThat(registry.get("datasource.route").tag("route", "post-pool-replica-2").counter().count()).isEqualTo(2);
+            assertThat(registry.get("datasource.route").tags("route", "primary", "access", "read-write").counter().count())
+                    .isPositive();
+        });
+    }
+
+    @Test
+    void failingReplicaIsEjectedAndTheReadsFallBackToThePrimary() throws SQLException {
+        createDatabase(PRIMARY, "primary");
+        createDatabase(REPLICA_1, "replica-1");
+
+        contextRunner.withPropertyValues("datasource.replicas.urls=" + MISSING_REPLICA + "," + REPLICA_1).run(context -> {
+            assertThat(readDatabaseName(context, true)).isEqualTo("replica-1");
+            assertThat(readDatabaseName(context, true)).isEqualTo("replica-1");
+            MeterRegistry registry = context.getBean(MeterRegistry.class);
+            assertThat(registry.get("datasource.replica.ejections").tag("replica", "post-pool-replica-1").counter().count())
+                    .isEqualTo(1);
+        });
+
+        contextRunner.withPropertyValues("datasource.replicas.urls=" + MISSING_REPLICA).run(context -> {
+            assertThat(readDatabaseName(context, true)).isEqualTo("primary");
+            assertThat(readDatabaseName(context, true)).isEqualTo("primary");
+            MeterRegistry registry = context.getBean(MeterRegistry.class);
+            assertThat(registry.get("datasource.route").tags("route", "primary", "access", "read-only").counter().count())
+                    .isEqualTo(2);
+        });
+    }
+
+    @Test
+    void credentialedConnectionsAreRoutedLikeTheOthers() throws Exception {
+        createDatabase(PRIMARY, "primary");
+        createDatabase(REPLICA_1, "replica-1");
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("missing", new DriverManagerDataSource(MISSING_REPLICA));
+        replicas.put("replica-1", new DriverManagerDataSource(REPLICA_1));
+
+        try (ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(replicas,
+                new DriverManagerDataSource(PRIMARY), Duration.ofMinutes(1), new SimpleMeterRegistry())) {
+            assertThat(readDatabaseName(dataSource.getConnection("sa", ""))).isEqualTo("replica-1");
+            assertThat(readDatabaseName(dataSource.getConnection("sa", ""))).isEqualTo("replica-1");
+        }
+        try (ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(
+                Map.of("missing", new DriverManagerDataSource(MISSING_REPLICA)),
+                new DriverManagerDataSource(PRIMARY), Duration.ofMinutes(1), new SimpleMeterRegistry())) {
+            assertThat(readDatabaseName(dataSource.getConnection("sa", ""))).isEqualTo("primary");
+        }
+    }
+
+    private static String readDatabaseName(Connection connection) throws SQLException {
+        try (connection;
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT name FROM database_name")) {
+            resultSet.next();
+            return resultSet.getString(1);
+        }
+    }
+
+    private static String readDatabaseName(AssertableApplicationContext context, boolean readOnly) {
+        LazyConnectionDataSourceProxy dataSource = context.getBean(LazyConnectionDataSourceProxy.class);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate.execute(status ->
+                new JdbcTemplate(dataSource).queryForObject("SELECT name FROM database_name", String.class));
+    }
+
+    private static void createDatabase(String url, String name) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS database_name (name VARCHAR(20))");
+            statement.execute("DELETE FROM database_name");
+            statement.execute("INSERT INTO database_name VALUES ('" + name + "')");
+        }
+    }
+}
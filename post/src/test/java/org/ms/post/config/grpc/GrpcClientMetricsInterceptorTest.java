@@ -0,0 +1,76 @@
+package org.ms.post.config.grpc;
+
+import io.grpc.Server;
+import io.grpc.ServerBuilder;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.StreamObserver;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.ms.grpc_prop.prop.UserRequest;
+import org.ms.grpc_prop.prop.UserResponse;
+import org.ms.grpc_prop.prop.UserServiceGrpc;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GrpcClientMetricsInterceptorTest {
+
+    private static final String GET_USER_BY_ID = UserServiceGrpc.getGetUserByIdMethod().getFullMethodName();
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private Server server;
+    private GrpcChannelPool channelPool;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = ServerBuilder.forPort(0).addService(new UserServiceGrpc.UserServiceImplBase() {
+            @Override
+            public void getUserById(UserRequest request, StreamObserver<UserResponse> responseObserver) {
+                if (request.getUserId() < 0) {
+                    responseObserver.onError(Status.INVALID_ARGUMENT.asRuntimeException());
+                    return;
+                }
+                responseObserver.onNext(UserResponse.newBuilder().setUserId(request.getUserId()).setFound(true).build());
+                responseObserver.onCompleted();
+            }
+        }).build().start();
+
+        UserGrpcClientProperties properties = new UserGrpcClientProperties();
+        properties.setTarget("localhost:" + server.getPort());
+        channelPool = new GrpcChannelPool(properties, new GrpcClientMetricsInterceptor(meterRegistry));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        channelPool.close();
+        server.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void callsRecordTheirDurationStatusAndSizes() {
+        UserServiceGrpc.UserServiceBlockingStub stub = UserServiceGrpc.newBlockingStub(channelPool.next());
+        UserRequest request = UserRequest.newBuilder().setUserId(7L).build();
+
+        UserResponse response = stub.getUserById(request);
+        assertThatThrownBy(() -> stub.getUserById(UserRequest.newBuilder().setUserId(-1L).build()))
+                .isInstanceOf(StatusRuntimeException.class);
+
+        assertThat(meterRegistry.get("grpc.client.call.duration").tags("method", GET_USER_BY_ID, "status", "OK")
+                .timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("grpc.client.call.duration").tags("method", GET_USER_BY_ID, "status", "INVALID_ARGUMENT")
+                .timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("grpc.client.calls.active").tag("method", GET_USER_BY_ID).gauge().value()).isZero();
+        assertThat(meterRegistry.get("grpc.client.message.size").tags("method", GET_USER_BY_ID, "direction", "sent")
+                .summary().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("grpc.client.message.size").tags("method", GET_USER_BY_ID, "direction", "received")
+                .summary().totalAmount()).isEqualTo(response.getSerializedSize());
+    }
+}
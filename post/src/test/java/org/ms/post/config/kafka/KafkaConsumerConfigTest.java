@@ -0,0 +1,77 @@
+package org.ms.post.config.kafka;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.autoconfigure.metrics.MetricsAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.export.simple.SimpleMetricsExportAutoConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.listener.BatchInterceptor;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class KafkaConsumerConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(KafkaConsumerConfig.class)
+            .withConfiguration(AutoConfigurations.of(MetricsAutoConfiguration.class,
+                    SimpleMetricsExportAutoConfiguration.class))
+            .withPropertyValues("spring.kafka.bootstrap-servers=localhost:9092");
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void consumersPublishTheirClientMetrics() {
+        contextRunner.run(context -> {
+            ConsumerFactory<byte[], byte[]> consumerFactory = context.getBean(ConsumerFactory.class);
+
+            try (Consumer<byte[], byte[]> consumer = consumerFactory.createConsumer("post_user_group", "test")) {
+                MeterRegistry registry = context.getBean(MeterRegistry.class);
+
+                assertThat(registry.find("kafka.consumer.fetch.manager.records.lag.max").meters()).isNotEmpty();
+                assertThat(registry.find("kafka.consumer.fetch.manager.records.per.request.avg").meters()).isNotEmpty();
+            }
+        });
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void eachPollRecordsItsNumberOfRecords() {
+        contextRunner.run(context -> {
+            ConcurrentKafkaListenerContainerFactory<byte[], byte[]> factory =
+                    context.getBean(ConcurrentKafkaListenerContainerFactory.class);
+            ConcurrentMessageListenerContainer<byte[], byte[]> container = factory.createContainer("post_user");
+            BatchInterceptor<byte[], byte[]> interceptor =
+                    (BatchInterceptor<byte[], byte[]>) ReflectionTestUtils.getField(container, "batchInterceptor");
+
+            interceptor.intercept(records(3), mock(Consumer.class));
+            interceptor.intercept(records(5), mock(Consumer.class));
+
+            MeterRegistry registry = context.getBean(MeterRegistry.class);
+            assertThat(registry.get("kafka.consumer.poll.records").summary().count()).isEqualTo(2);
+            assertThat(registry.get("kafka.consumer.poll.records").summary().totalAmount()).isEqualTo(8);
+            assertThat(registry.get("kafka.consumer.poll.records").summary().max()).isEqualTo(5);
+        });
+    }
+
+    private static ConsumerRecords<byte[], byte[]> records(int count) {
+        TopicPartition partition = new TopicPartition("post_user", 0);
+        List<ConsumerRecord<byte[], byte[]>> records = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            records.add(new ConsumerRecord<>("post_user", 0, i, null, new byte[0]));
+        }
+        return new ConsumerRecords<>(Map.of(partition, records));
+    }
+}
@@ -0,0 +1,93 @@
+package org.ms.post.controller;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.ms.post.mappers.impl.PostMapper;
+import org.ms.post.model.entity.PostEntity;
+import org.ms.post.service.PostService;
+import org.ms.post.service.impl.UserService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(PostController.class)
+@Import(PostMapper.class)
+class PostControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private PostService postService;
+
+    @MockBean
+    private UserService userService;
+
+    @Test
+    void getPostAnswersNotModifiedForTheCurrentVersion() throws Exception {
+        when(postService.getPost(7L)).thenReturn(new PostEntity(7L, 1L, "a post body", 3L));
+
+        mockMvc.perform(get("/posts/7"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"7.3\""));
+        mockMvc.perform(get("/posts/7").header("If-None-Match", "\"7.3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        mockMvc.perform(get("/posts/7").header("If-None-Match", "\"7.2\""))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void pageETagChangesWithThePostsOfThePage() throws Exception {
+        when(postService.getPosts(0, 100)).thenReturn(List.of(new PostEntity(7L, 1L, "a post body", 0L)));
+        String eTag = mockMvc.perform(get("/posts")).andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/posts").header("If-None-Match", eTag))
+                .andExpect(status().isNotModified());
+
+        when(postService.getPosts(0, 100)).thenReturn(List.of(new PostEntity(7L, 1L, "a post body", 1L)));
+        mockMvc.perform(get("/posts").header("If-None-Match", eTag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void createdPostsIgnoreTheIdSentByTheClient() throws Exception {
+        when(userService.getUserById(1L)).thenReturn(true);
+        when(userService.getExistingUserIds(Set.of(1L))).thenReturn(Set.of(1L));
+        when(postService.createPost(any())).thenReturn(new PostEntity(8L, 1L, "a post body", 0L));
+        when(postService.createPosts(any())).thenReturn(List.of(new PostEntity(8L, 1L, "a post body", 0L)));
+
+        mockMvc.perform(post("/posts").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"id\":5,\"userId\":1,\"body\":\"a post body\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(8));
+        mockMvc.perform(post("/posts/batch").contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"id\":5,\"userId\":1,\"body\":\"a post body\"}]"))
+                .andExpect(status().isOk());
+
+        ArgumentCaptor<PostEntity> created = ArgumentCaptor.forClass(PostEntity.class);
+        verify(postService).createPost(created.capture());
+        assertThat(created.getValue().getId()).isNull();
+        ArgumentCaptor<List<PostEntity>> batch = ArgumentCaptor.captor();
+        verify(postService).createPosts(batch.capture());
+        assertThat(batch.getValue()).extracting(PostEntity::getId).containsOnlyNulls();
+    }
+}
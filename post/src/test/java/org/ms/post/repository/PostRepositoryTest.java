@@ -0,0 +1,63 @@
+package org.ms.post.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.ms.post.model.entity.PostEntity;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+class PostRepositoryTest {
+
+    @Autowired
+    private PostRepository postRepository;
+
+    private List<Long> ids;
+
+    @BeforeEach
+    void setUp() {
+        List<PostEntity> posts = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            posts.add(PostEntity.builder().userId(i % 2 == 0 ? 1L : 2L).body("post body " + i).build());
+        }
+        ids = postRepository.saveAllAndFlush(posts).stream().map(PostEntity::getId).sorted().toList();
+    }
+
+    @Test
+    void keysetPagesWalkEveryPostOnce() {
+        List<Long> walked = new ArrayList<>();
+        long after = 0;
+        List<PostEntity> page;
+        while (!(page = postRepository.findPostsAfter(after, Limit.of(2))).isEmpty()) {
+            assertThat(page).hasSizeLessThanOrEqualTo(2);
+            page.forEach(post -> walked.add(post.getId()));
+            after = page.get(page.size() - 1).getId();
+        }
+
+        assertThat(walked).isEqualTo(ids);
+    }
+
+    @Test
+    void keysetPagesOfAUserStartAfterTheCursor() {
+        List<PostEntity> firstPage = postRepository.findPostsByUserIdAfter(1L, 0L, Limit.of(2));
+        List<PostEntity> secondPage = postRepository.findPostsByUserIdAfter(1L,
+                firstPage.get(1).getId(), Limit.of(2));
+
+        assertThat(firstPage).extracting(PostEntity::getId).containsExactly(ids.get(0), ids.get(2));
+        assertThat(secondPage).extracting(PostEntity::getId).containsExactly(ids.get(4));
+    }
+
+    @Test
+    void streamResumesAfterTheLastId() {
+        List<Long> streamed = new ArrayList<>();
+        postRepository.streamPostsAfter(ids.get(2), post -> streamed.add(post.getId()));
+
+        assertThat(streamed).containsExactly(ids.get(3), ids.get(4));
+    }
+}
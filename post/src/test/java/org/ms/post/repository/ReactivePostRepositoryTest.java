@@ -0,0 +1,66 @@
+package org.ms.post.repository;
+
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.ms.post.model.entity.PostEntity;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReactivePostRepositoryTest {
+
+    private DatabaseClient databaseClient;
+    private ReactivePostRepository postRepository;
+
+    @BeforeEach
+    void setUp() {
+        ConnectionFactory connectionFactory = ConnectionFactories.get(
+                "r2dbc:h2:mem:///" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        databaseClient = DatabaseClient.create(connectionFactory);
+        databaseClient.sql("CREATE SEQUENCE posts_seq START WITH 1 INCREMENT BY 50").then()
+                .then(databaseClient.sql("CREATE TABLE posts (id BIGINT PRIMARY KEY, user_id BIGINT, body VARCHAR(255), version BIGINT DEFAULT 0 NOT NULL)").then())
+                .block();
+        postRepository = new ReactivePostRepository(databaseClient);
+    }
+
+    @Test
+    void insertAllReturnsThePostsInOrderWithDistinctIds() {
+        List<PostEntity> posts = List.of(post(1L, "first post"), post(2L, "second post"), post(1L, "third post"));
+
+        List<PostEntity> inserted = postRepository.insertAll(posts).collectList().block();
+
+        assertThat(inserted).extracting(PostEntity::getBody).containsExactly("first post", "second post", "third post");
+        assertThat(inserted).extracting(PostEntity::getId).doesNotContainNull().doesNotHaveDuplicates().isSorted();
+        StepVerifier.create(postRepository.findById(inserted.get(1).getId()))
+                .assertNext(post -> assertThat(post).isEqualTo(inserted.get(1)))
+                .verifyComplete();
+    }
+
+    @Test
+    void keysetPagesAndLookupsMatchTheBlockingQueries() {
+        List<PostEntity> inserted = postRepository.insertAll(List.of(post(1L, "post 1"), post(2L, "post 2"),
+                post(1L, "post 3"), post(1L, "post 4"))).collectList().block();
+
+        StepVerifier.create(postRepository.findPostsAfter(inserted.get(0).getId(), 2))
+                .expectNext(inserted.get(1), inserted.get(2))
+                .verifyComplete();
+        StepVerifier.create(postRepository.findPostsByUserIdAfter(1L, inserted.get(0).getId(), 10))
+                .expectNext(inserted.get(2), inserted.get(3))
+                .verifyComplete();
+        StepVerifier.create(postRepository.findByUserIdAndId(2L, inserted.get(0).getId()))
+                .verifyComplete();
+        StepVerifier.create(postRepository.streamPostsAfter(inserted.get(2).getId()))
+                .expectNext(inserted.get(3))
+                .verifyComplete();
+    }
+
+    private static PostEntity post(Long userId, String body) {
+        return PostEntity.builder().userId(userId).body(body).build();
+    }
+}
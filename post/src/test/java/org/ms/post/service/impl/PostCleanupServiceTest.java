@@ -0,0 +1,179 @@
+package org.ms.post.service.impl;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.ms.post.config.cache.PostCacheConfig;
+import org.ms.post.config.cleanup.PostCleanupProperties;
+import org.ms.post.model.entity.PostCleanupEntity;
+import org.ms.post.model.entity.PostEntity;
+import org.ms.post.repository.PostCleanupRepository;
+import org.ms.post.repository.PostRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+@DataJpaTest(properties = {"cleanup.posts.batch-size=2", "cleanup.posts.pause=0ms"})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({PostCleanupService.class, PostCacheEvictor.class, PostCleanupServiceTest.Config.class})
+class PostCleanupServiceTest {
+
+    private static final long USER_ID = 1L;
+    private static final long OTHER_USER_ID = 2L;
+
+    @Autowired
+    private PostCleanupService postCleanupService;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private PostCleanupRepository postCleanupRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private PostCleanupProperties properties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PostCacheEvictor postCacheEvictor;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @AfterEach
+    void tearDown() {
+        cacheManager.getCache(PostCacheConfig.POSTS_CACHE).clear();
+        postRepository.deleteAll();
+        postCleanupRepository.deleteAll();
+    }
+
+    @Test
+    void requestCleanupsKeepsThePendingProgress() {
+        postCleanupRepository.save(cleanup(USER_ID, 42L, 3L));
+
+        postCleanupService.requestCleanups(List.of(USER_ID, OTHER_USER_ID));
+
+        PostCleanupEntity pending = postCleanupRepository.findById(USER_ID).orElseThrow();
+        assertThat(pending.getLastDeletedId()).isEqualTo(42L);
+        assertThat(pending.getDeletedRows()).isEqualTo(3L);
+        PostCleanupEntity requested = postCleanupRepository.findById(OTHER_USER_ID).orElseThrow();
+        assertThat(requested.getLastDeletedId()).isZero();
+        assertThat(requested.getDeletedRows()).isZero();
+    }
+
+    @Test
+    void cleanupResumesAfterTheLastDeletedId() {
+        List<Long> ids = savePosts(USER_ID, 5);
+        List<Long> otherIds = savePosts(OTHER_USER_ID, 2);
+        postCleanupRepository.save(cleanup(USER_ID, ids.get(1), 2L));
+
+        postCleanupService.runPendingCleanups();
+
+        assertThat(postRepository.findAll()).extracting(PostEntity::getId)
+                .containsExactlyInAnyOrder(ids.get(0), ids.get(1), otherIds.get(0), otherIds.get(1));
+        assertThat(postCleanupRepository.findById(USER_ID)).isEmpty();
+        assertThat(meterRegistry.get("posts.cleanup.deleted").counter().count()).isEqualTo(3.0);
+    }
+
+    @Test
+    void cleanupEvictsTheCachedPostsOfTheUser() {
+        List<PostEntity> posts = postRepository.saveAll(List.of(
+                PostEntity.builder().userId(USER_ID).body("post body").build(),
+                PostEntity.builder().userId(OTHER_USER_ID).body("post body").build()));
+        Cache cache = cacheManager.getCache(PostCacheConfig.POSTS_CACHE);
+        posts.forEach(post -> cache.put(post.getId(), post));
+        postCleanupRepository.save(cleanup(USER_ID, 0L, 0L));
+
+        postCleanupService.runPendingCleanups();
+
+        assertThat(cache.get(posts.get(0).getId())).isNull();
+        assertThat(cache.get(posts.get(1).getId())).isNotNull();
+    }
+
+    @Test
+    void chunkIsRolledBackWhenAnotherInstanceRecordedProgress() {
+        List<Long> ids = savePosts(USER_ID, 2);
+        postCleanupRepository.save(cleanup(USER_ID, 0L, 0L));
+        PostRepository racingRepository = mock(PostRepository.class, delegatesTo(postRepository));
+        doAnswer(invocation -> {
+            CompletableFuture.runAsync(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                PostCleanupEntity concurrent = postCleanupRepository.findById(USER_ID).orElseThrow();
+                concurrent.setDeletedRows(concurrent.getDeletedRows() + 1);
+            })).join();
+            return postRepository.deletePostsByUserIdInRange(
+                    invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2));
+        }).when(racingRepository).deletePostsByUserIdInRange(eq(USER_ID), any(), any());
+        PostCleanupService racingService = new PostCleanupService(racingRepository, postCleanupRepository,
+                properties, postCacheEvictor, transactionManager, new SimpleMeterRegistry());
+
+        assertThatThrownBy(racingService::runPendingCleanups)
+                .isInstanceOf(OptimisticLockingFailureException.class);
+
+        assertThat(postRepository.findAll()).extracting(PostEntity::getId).containsExactlyElementsOf(ids);
+        PostCleanupEntity pending = postCleanupRepository.findById(USER_ID).orElseThrow();
+        assertThat(pending.getLastDeletedId()).isZero();
+        assertThat(pending.getDeletedRows()).isEqualTo(1L);
+    }
+
+    private List<Long> savePosts(long userId, int count) {
+        List<PostEntity> posts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            posts.add(PostEntity.builder().userId(userId).body("post body " + i).build());
+        }
+        return postRepository.saveAll(posts).stream().map(PostEntity::getId).sorted().toList();
+    }
+
+    private static PostCleanupEntity cleanup(long userId, long lastDeletedId, long deletedRows) {
+        return PostCleanupEntity.builder()
+                .userId(userId)
+                .lastDeletedId(lastDeletedId)
+                .deletedRows(deletedRows)
+                .requestedAt(Instant.now())
+                .build();
+    }
+
+    @TestConfiguration
+    @EnableConfigurationProperties(PostCleanupProperties.class)
+    static class Config {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        CacheManager cacheManager() {
+            return new CaffeineCacheManager(PostCacheConfig.POSTS_CACHE);
+        }
+    }
+}
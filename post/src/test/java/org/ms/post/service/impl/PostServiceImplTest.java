@@ -0,0 +1,99 @@
+package org.ms.post.service.impl;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.ms.grpc_prop.prop.UserDeletedEvent;
+import org.ms.post.repository.PostRepository;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class PostServiceImplTest {
+
+    private UserService userService;
+    private PostCleanupService postCleanupService;
+    private PostCacheEvictor postCacheEvictor;
+    private PostServiceImpl postService;
+    private long offset;
+
+    @BeforeEach
+    void setUp() {
+        userService = mock(UserService.class);
+        postCleanupService = mock(PostCleanupService.class);
+        postCacheEvictor = mock(PostCacheEvictor.class);
+        postService = new PostServiceImpl(mock(PostRepository.class), userService, postCleanupService, postCacheEvictor);
+    }
+
+    @Test
+    void listenRequestsCleanupsForKeyedEvents() {
+        postService.listen(List.of(event(7L, 7L), event(null, 8L)));
+
+        verify(userService).evictUser(7L);
+        verify(userService).evictUser(8L);
+        verify(postCacheEvictor).evictPostsOfUsers(Set.of(7L, 8L));
+        verify(postCleanupService).requestCleanups(Set.of(7L, 8L));
+    }
+
+    @Test
+    void listenCollapsesAPollIntoOneRequestAndSkipsMalformedMessages() {
+        postService.listen(List.of(event(7L, 7L), record(key(8L), new byte[]{(byte) 0xff}),
+                record(key(8L), null), event(8L, 8L), event(7L, 7L)));
+
+        verify(postCleanupService).requestCleanups(Set.of(7L, 8L));
+        verify(userService, times(1)).evictUser(7L);
+    }
+
+    @Test
+    void listenSkipsLegacyDecimalMessages() {
+        postService.listen(List.of(legacy("81"), legacy("05"), legacy("912345678")));
+
+        verify(userService, never()).evictUser(any());
+        verify(postCacheEvictor, never()).evictPostsOfUsers(any());
+        verify(postCleanupService, never()).requestCleanups(any());
+    }
+
+    @Test
+    void listenSkipsEventsWithoutUserId() {
+        postService.listen(List.of(record(key(0L), new byte[0]),
+                record(null, UserDeletedEvent.newBuilder().setDeletedAtMillis(1L).build().toByteArray())));
+
+        verify(postCleanupService, never()).requestCleanups(any());
+    }
+
+    @Test
+    void listenSkipsEventsWhoseKeyDoesNotMatch() {
+        postService.listen(List.of(event(9L, 7L), record(new byte[]{1}, eventBytes(7L)), event(8L, 8L)));
+
+        verify(userService, never()).evictUser(7L);
+        verify(postCleanupService).requestCleanups(Set.of(8L));
+    }
+
+    private ConsumerRecord<byte[], byte[]> event(Long key, long userId) {
+        return record(key == null ? null : key(key), eventBytes(userId));
+    }
+
+    private ConsumerRecord<byte[], byte[]> legacy(String message) {
+        return record(null, message.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private ConsumerRecord<byte[], byte[]> record(byte[] key, byte[] value) {
+        return new ConsumerRecord<>("post_user", 0, offset++, key, value);
+    }
+
+    private static byte[] eventBytes(long userId) {
+        return UserDeletedEvent.newBuilder().setUserId(userId).setDeletedAtMillis(1L).build().toByteArray();
+    }
+
+    private static byte[] key(long userId) {
+        return ByteBuffer.allocate(Long.BYTES).putLong(userId).array();
+    }
+}
@@ -0,0 +1,111 @@
+package org.ms.post.service.impl;
+
+import io.grpc.Server;
+import io.grpc.ServerBuilder;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.ms.grpc_prop.prop.UserRequest;
+import org.ms.grpc_prop.prop.UserResponse;
+import org.ms.grpc_prop.prop.UserServiceGrpc;
+import org.ms.post.config.grpc.GrpcChannelPool;
+import org.ms.post.config.grpc.UserGrpcClientProperties;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UserLookupStreamClientTest {
+
+    private static final long STALLED_USER_ID = 7L;
+
+    private final AtomicInteger streams = new AtomicInteger();
+    private final CountDownLatch streamCancelled = new CountDownLatch(1);
+
+    private Server server;
+    private GrpcChannelPool channelPool;
+    private UserGrpcClientProperties properties;
+    private UserLookupStreamClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = ServerBuilder.forPort(0).addService(new UserServiceGrpc.UserServiceImplBase() {
+            @Override
+            public StreamObserver<UserRequest> lookupUsers(StreamObserver<UserResponse> responseObserver) {
+                streams.incrementAndGet();
+                ((ServerCallStreamObserver<UserResponse>) responseObserver).setOnCancelHandler(streamCancelled::countDown);
+                return new StreamObserver<>() {
+                    private boolean stalled;
+
+                    @Override
+                    public void onNext(UserRequest request) {
+                        stalled |= request.getUserId() == STALLED_USER_ID;
+                        if (!stalled) {
+                            responseObserver.onNext(UserResponse.newBuilder()
+                                    .setUserId(request.getUserId()).setFound(true).build());
+                        }
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                    }
+
+                    @Override
+                    public void onCompleted() {
+                        responseObserver.onCompleted();
+                    }
+                };
+            }
+        }).build().start();
+
+        properties = new UserGrpcClientProperties();
+        properties.setTarget("localhost:" + server.getPort());
+        channelPool = new GrpcChannelPool(properties);
+        client = new UserLookupStreamClient(channelPool, properties);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        client.close();
+        channelPool.close();
+        server.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void unansweredCheckCancelsTheStreamAndTheNextCheckReopensIt() throws Exception {
+        assertThat(client.userExists(1L).get(5, TimeUnit.SECONDS)).isTrue();
+        properties.setDeadline(Duration.ofMillis(200));
+
+        CompletableFuture<Boolean> stalled = client.userExists(STALLED_USER_ID);
+        CompletableFuture<Boolean> behind = client.userExists(8L);
+
+        assertThatThrownBy(() -> stalled.get(5, TimeUnit.SECONDS)).cause().isInstanceOf(TimeoutException.class);
+        assertThatThrownBy(() -> behind.get(5, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class);
+        assertThat(streamCancelled.await(5, TimeUnit.SECONDS)).isTrue();
+
+        properties.setDeadline(Duration.ofSeconds(5));
+        assertThat(client.userExists(9L).get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(streams).hasValue(2);
+    }
+
+    @Test
+    void checksBeyondTheMaximumPendingFailAtOnce() {
+        properties.setLookupMaxPending(1);
+
+        CompletableFuture<Boolean> first = client.userExists(7L);
+        CompletableFuture<Boolean> second = client.userExists(8L);
+
+        assertThat(first).isNotDone();
+        assertThat(second).isCompletedExceptionally();
+    }
+}
@@ -0,0 +1,122 @@
+package org.ms.post.service.impl;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.grpc.Server;
+import io.grpc.ServerBuilder;
+import io.grpc.stub.StreamObserver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.ms.grpc_prop.prop.UserRequest;
+import org.ms.grpc_prop.prop.UserResponse;
+import org.ms.grpc_prop.prop.UserServiceGrpc;
+import org.ms.grpc_prop.prop.UsersRequest;
+import org.ms.grpc_prop.prop.UsersResponse;
+import org.ms.post.config.grpc.GrpcChannelPool;
+import org.ms.post.config.grpc.UserGrpcClientProperties;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserServiceTest {
+
+    private final CountDownLatch callReceived = new CountDownLatch(1);
+    private final CountDownLatch answer = new CountDownLatch(1);
+    private final AtomicInteger calls = new AtomicInteger();
+
+    private Server server;
+    private GrpcChannelPool channelPool;
+    private AsyncCache<Long, Boolean> cache;
+    private UserService userService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = ServerBuilder.forPort(0).addService(new UserServiceGrpc.UserServiceImplBase() {
+            @Override
+            public void getUserById(UserRequest request, StreamObserver<UserResponse> responseObserver) {
+                calls.incrementAndGet();
+                callReceived.countDown();
+                try {
+                    answer.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                responseObserver.onNext(UserResponse.newBuilder().setUserId(request.getUserId()).setFound(true).build());
+                responseObserver.onCompleted();
+            }
+
+            @Override
+            public void getUsersByIds(UsersRequest request, StreamObserver<UsersResponse> responseObserver) {
+                calls.incrementAndGet();
+                callReceived.countDown();
+                try {
+                    answer.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                responseObserver.onNext(UsersResponse.newBuilder().addAllExistingUserIds(request.getUserIdsList()).build());
+                responseObserver.onCompleted();
+            }
+        }).build().start();
+
+        UserGrpcClientProperties properties = new UserGrpcClientProperties();
+        properties.setTarget("localhost:" + server.getPort());
+        channelPool = new GrpcChannelPool(properties);
+        cache = Caffeine.newBuilder().buildAsync();
+        userService = new UserService(channelPool, properties, cache);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        channelPool.close();
+        server.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void evictionDuringCallKeepsTheAnswerOutOfTheCache() throws Exception {
+        CompletableFuture<Boolean> exists = CompletableFuture.supplyAsync(() -> userService.getUserById(7L));
+        assertThat(callReceived.await(5, TimeUnit.SECONDS)).isTrue();
+
+        userService.evictUser(7L);
+        answer.countDown();
+
+        assertThat(exists.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(cache.getIfPresent(7L)).isNull();
+    }
+
+    @Test
+    void concurrentChecksShareOneCall() throws Exception {
+        CompletableFuture<Boolean> first = CompletableFuture.supplyAsync(() -> userService.getUserById(7L));
+        assertThat(callReceived.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Boolean> second = CompletableFuture.supplyAsync(() -> userService.getUserById(7L));
+
+        answer.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(second.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(calls).hasValue(1);
+        assertThat(cache.synchronous().getIfPresent(7L)).isTrue();
+    }
+
+    @Test
+    void evictionDuringBatchedCallKeepsThatAnswerOutOfTheCache() throws Exception {
+        CompletableFuture<Set<Long>> existing =
+                CompletableFuture.supplyAsync(() -> userService.getExistingUserIds(List.of(7L, 8L)));
+        assertThat(callReceived.await(5, TimeUnit.SECONDS)).isTrue();
+
+        userService.evictUser(7L);
+        answer.countDown();
+
+        assertThat(existing.get(5, TimeUnit.SECONDS)).containsExactlyInAnyOrder(7L, 8L);
+        assertThat(cache.getIfPresent(7L)).isNull();
+        assertThat(cache.synchronous().getIfPresent(8L)).isTrue();
+    }
+}
@@ -0,0 +1,63 @@
+package org.ms.user.config.cache;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+
+/**
+ * Configuration class for the read-through cache of users.
+ * <p>
+ *     {@code GET /users/{id}} is served from the {@value #USERS_CACHE} cache, which is filled on
+ *     a read and on a create, and evicted when the user is deleted. The cache is the Spring Cache
+ *     abstraction, configured by the 'spring.cache' properties:
+ *     <pre>
+ *         spring.cache.type=caffeine
+ *         spring.cache.cache-names=users
+ *         spring.cache.caffeine.spec=maximumSize=10000,expireAfterWrite=5m,recordStats
+ *     </pre>
+ *     so the provider, size and TTL can be changed without code, and {@code spring.cache.type=none}
+ *     turns the cache off. Spring Boot publishes the 'cache.gets', 'cache.puts' and
+ *     'cache.evictions' metrics of the caches; the 'cache.hit.ratio' gauge is added here.
+ * </p>
+ * <p>
+ *     The caches are not transactional, so the cache advice is ordered outside the transaction
+ *     advice: the user deleted by {@code deleteUser} is evicted after the commit, rather than
+ *     before it, when a concurrent read could still find the user and cache it again. Both use
+ *     class proxies, as Spring Boot does by default.
+ * </p>
+ */
+@Configuration
+@EnableCaching(proxyTargetClass = true, order = Ordered.LOWEST_PRECEDENCE - 1)
+@EnableTransactionManagement(proxyTargetClass = true, order = Ordered.LOWEST_PRECEDENCE)
+public class UserCacheConfig {
+
+    /**
+     * The name of the cache of users by ID.
+     */
+    public static final String USERS_CACHE = "users";
+
+    /**
+     * Publishes the hit ratio of each Caffeine cache as the 'cache.hit.ratio' gauge, tagged with
+     * the cache name. The ratio counts the reads since the start of the service.
+     *
+     * @param cacheManager the cache manager holding the caches
+     * @return the binder registering the gauges
+     */
+    @Bean
+    public MeterBinder cacheHitRatioMetrics(CacheManager cacheManager) {
+        return registry -> cacheManager.getCacheNames().forEach(name -> {
+            if (cacheManager.getCache(name) instanceof CaffeineCache cache) {
+                Gauge.builder("cache.hit.ratio", cache.getNativeCache(), nativeCache -> nativeCache.stats().hitRate())
+                        .description("Ratio of the cache reads that were hits")
+                        .tag("cache", name)
+                        .register(registry);
+            }
+        });
+    }
+}
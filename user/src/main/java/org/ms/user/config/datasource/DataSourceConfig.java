@@ -0,0 +1,121 @@
+package org.ms.user.config.datasource;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Configuration class for the JDBC connection pools used by JPA.
+ * <p>
+ *     The pool of the primary is configured by the {@code spring.datasource.*} and
+ *     {@code spring.datasource.hikari.*} properties. The data source used by JPA is a
+ *     {@link LazyConnectionDataSourceProxy}, which takes a connection only when the first statement
+ *     runs, once it knows whether the transaction is read-only. When replicas are configured by the
+ *     'datasource.replicas' properties, the {@code @Transactional(readOnly = true)} transactions run
+ *     on the replicas, in turn, and all the other ones, such as the inserts, the deletions and the
+ *     existence checks of the gRPC server, on the primary.
+ * </p>
+ * <p>
+ *     The replicas lag behind the primary, so a read-only transaction may not see a write
+ *     committed just before it.
+ * </p>
+ */
+@Configuration
+@EnableConfigurationProperties({DataSourceProperties.class, ReplicaDataSourceProperties.class})
+public class DataSourceConfig {
+
+    /**
+     * Creates the Hikari connection pool of the primary.
+     *
+     * @param properties the {@code spring.datasource.*} properties
+     * @return the connection pool
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    /**
+     * Creates the data source of the read-only transactions, handing out the connections of the
+     * replicas in turn. Each replica gets a pool with the settings of the primary pool, named after
+     * it with a '-replica-N' suffix.
+     *
+     * @param primaryDataSource the pool of the primary, used while every replica is ejected
+     * @param properties the 'datasource.replicas' properties
+     * @param meterRegistry the registry of the pool and route metrics
+     * @return the data source of the replicas
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "datasource.replicas", name = "urls")
+    public ReplicaRoutingDataSource replicaDataSource(HikariDataSource primaryDataSource,
+                                                      ReplicaDataSourceProperties properties,
+                                                      MeterRegistry meterRegistry) {
+        String poolName = primaryDataSource.getPoolName() != null ? primaryDataSource.getPoolName() : "pool";
+        Map<String, HikariDataSource> replicas = new LinkedHashMap<>();
+        for (String url : properties.getUrls()) {
+            HikariConfig config = new HikariConfig();
+            primaryDataSource.copyStateTo(config);
+            config.setPoolName(poolName + "-replica-" + (replicas.size() + 1));
+            config.setJdbcUrl(url);
+            if (properties.getUsername() != null) {
+                config.setUsername(properties.getUsername());
+                config.setPassword(properties.getPassword());
+            }
+            config.setMaximumPoolSize(properties.getPoolSize());
+            config.setMinimumIdle(properties.getPoolSize());
+            config.setConnectionTimeout(properties.getConnectionTimeout().toMillis());
+            config.setInitializationFailTimeout(-1);
+            config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.put(config.getPoolName(), new HikariDataSource(config));
+        }
+        return new ReplicaRoutingDataSource(replicas, primaryDataSource, properties.getEjectFor(), meterRegistry);
+    }
+
+    /**
+     * Creates the data source used by JPA, routing the read-only transactions to the replicas
+     * when there are some, and counting the connections taken from the primary for the other ones.
+     *
+     * @param primaryDataSource the pool of the primary
+     * @param replicaDataSource the data source of the replicas, if configured
+     * @param meterRegistry the registry of the route metrics
+     * @return the data source
+     */
+    @Bean
+    @Primary
+    public LazyConnectionDataSourceProxy dataSource(HikariDataSource primaryDataSource,
+                                                    ObjectProvider<ReplicaRoutingDataSource> replicaDataSource,
+                                                    MeterRegistry meterRegistry) {
+        Counter primaryRoutes = Counter.builder("datasource.route")
+                .description("Number of connections handed out per route")
+                .tag("route", "primary")
+                .tag("access", "read-write")
+                .register(meterRegistry);
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(new DelegatingDataSource(primaryDataSource) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                primaryRoutes.increment();
+                return super.getConnection();
+            }
+        });
+        replicaDataSource.ifAvailable(dataSource::setReadOnlyDataSource);
+        return dataSource;
+    }
+}
@@ -0,0 +1,56 @@
+package org.ms.user.config.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration properties for the read replicas serving the read-only transactions.
+ * <p>
+ *     The values are bound from the 'datasource.replicas' prefix in the application.properties file.
+ *     For example:
+ *     <pre>
+ *         datasource.replicas.urls=jdbc:postgresql://replica1:5432/user_post_DB,jdbc:postgresql://replica2:5432/user_post_DB
+ *         datasource.replicas.connection-timeout=500ms
+ *         datasource.replicas.eject-for=30s
+ *     </pre>
+ *     Without any URL, every transaction runs on the primary.
+ * </p>
+ */
+@Data
+@ConfigurationProperties(prefix = "datasource.replicas")
+public class ReplicaDataSourceProperties {
+
+    /**
+     * The JDBC URLs of the replicas, used in turn.
+     */
+    private List<String> urls = new ArrayList<>();
+
+    /**
+     * The user of the replicas; the user of the primary when not set.
+     */
+    private String username;
+
+    /**
+     * The password of the replicas; the password of the primary when not set.
+     */
+    private String password;
+
+    /**
+     * The maximum number of connections of the pool of each replica.
+     */
+    private int poolSize = 10;
+
+    /**
+     * How long to wait for a replica connection before ejecting the replica.
+     */
+    private Duration connectionTimeout = Duration.ofMillis(500);
+
+    /**
+     * How long an ejected replica is skipped before it is tried again.
+     */
+    private Duration ejectFor = Duration.ofSeconds(30);
+}
@@ -0,0 +1,47 @@
+package org.ms.user.config.grpc;
+
+import io.grpc.BindableService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Configuration class for the gRPC server of the user service.
+ * <p>
+ *     This class binds the {@link GrpcServerProperties} and exposes a {@link GrpcServerLifecycle},
+ *     so the server serving the gRPC service beans starts and stops with the application context.
+ *     The metrics of the calls are recorded by a {@link GrpcServerMetricsInterceptor}.
+ * </p>
+ */
+@Configuration
+@EnableConfigurationProperties(GrpcServerProperties.class)
+public class GrpcServerConfig {
+
+    /**
+     * Creates the interceptor recording the metrics of the gRPC calls.
+     *
+     * @param meterRegistry the registry the metrics are published to
+     * @return a new {@link GrpcServerMetricsInterceptor}
+     */
+    @Bean
+    public GrpcServerMetricsInterceptor grpcServerMetricsInterceptor(MeterRegistry meterRegistry) {
+        return new GrpcServerMetricsInterceptor(meterRegistry);
+    }
+
+    /**
+     * Creates the lifecycle of the gRPC server.
+     *
+     * @param properties the server properties bound from the application.properties file
+     * @param services all the gRPC service beans of the application
+     * @param metricsInterceptor the interceptor recording the metrics of the calls
+     * @return a new {@link GrpcServerLifecycle}
+     */
+    @Bean
+    public GrpcServerLifecycle grpcServerLifecycle(GrpcServerProperties properties, List<BindableService> services,
+                                                   GrpcServerMetricsInterceptor metricsInterceptor) {
+        return new GrpcServerLifecycle(properties, services, metricsInterceptor);
+    }
+}
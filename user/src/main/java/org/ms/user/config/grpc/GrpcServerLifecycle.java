@@ -0,0 +1,135 @@
+package org.ms.user.config.grpc;
+
+import io.grpc.BindableService;
+import io.grpc.Server;
+import io.grpc.ServerInterceptors;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the gRPC server of the user service as part of the application context.
+ * <p>
+ *     The server is started once the context is refreshed, serving all the {@link BindableService}
+ *     beans, and is shut down with the context. It is built from the {@link GrpcServerProperties}:
+ *     executor, message size, flow-control window and keepalive settings. Every call goes through
+ *     the {@link GrpcServerMetricsInterceptor}.
+ * </p>
+ */
+@Slf4j
+public class GrpcServerLifecycle implements SmartLifecycle {
+
+    private final GrpcServerProperties properties;
+    private final List<BindableService> services;
+    private final GrpcServerMetricsInterceptor metricsInterceptor;
+
+    private Server server;
+    private ExecutorService executor;
+
+    /**
+     * Creates the lifecycle of a server serving the given services.
+     *
+     * @param properties the server properties bound from the application.properties file
+     * @param services the gRPC services to serve
+     * @param metricsInterceptor the interceptor recording the metrics of the calls
+     */
+    public GrpcServerLifecycle(GrpcServerProperties properties, List<BindableService> services,
+                               GrpcServerMetricsInterceptor metricsInterceptor) {
+        this.properties = properties;
+        this.services = services;
+        this.metricsInterceptor = metricsInterceptor;
+    }
+
+    /**
+     * Builds and starts the server.
+     */
+    @Override
+    public synchronized void start() {
+        NettyServerBuilder builder = NettyServerBuilder.forPort(properties.getPort())
+                .maxInboundMessageSize(properties.getMaxInboundMessageSize())
+                .flowControlWindow(properties.getFlowControlWindow())
+                .keepAliveTime(properties.getKeepAliveTime().toMillis(), TimeUnit.MILLISECONDS)
+                .keepAliveTimeout(properties.getKeepAliveTimeout().toMillis(), TimeUnit.MILLISECONDS)
+                .permitKeepAliveTime(properties.getPermitKeepAliveTime().toMillis(), TimeUnit.MILLISECONDS)
+                .permitKeepAliveWithoutCalls(properties.isPermitKeepAliveWithoutCalls())
+                .addStreamTracerFactory(metricsInterceptor);
+        switch (properties.getExecutor()) {
+            case BOUNDED -> {
+                executor = Executors.newFixedThreadPool(properties.getThreads(), namedThreadFactory());
+                builder.executor(executor);
+            }
+            case DIRECT -> builder.directExecutor();
+            case VIRTUAL -> {
+                executor = Executors.newVirtualThreadPerTaskExecutor();
+                builder.executor(executor);
+            }
+        }
+        services.forEach(service -> builder.addService(ServerInterceptors.intercept(service, metricsInterceptor)));
+
+        try {
+            server = builder.build().start();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start the gRPC server on port " + properties.getPort(), e);
+        }
+        log.info("gRPC server started on port {} with the {} executor and {} service(s)",
+                server.getPort(), properties.getExecutor(), services.size());
+    }
+
+    /**
+     * Stops accepting calls, waits for the in-flight ones up to the configured timeout,
+     * then forces the server and its executor to stop.
+     */
+    @Override
+    public synchronized void stop() {
+        if (server == null) {
+            return;
+        }
+        server.shutdown();
+        try {
+            if (!server.awaitTermination(properties.getShutdownTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                server.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            server.shutdownNow();
+        }
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+        server = null;
+        log.info("gRPC server stopped");
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return server != null;
+    }
+
+    /**
+     * Returns the port the server listens on, useful when the configured port is {@code 0}.
+     *
+     * @return the bound port, or {@code -1} if the server is not running
+     */
+    public synchronized int getPort() {
+        return server == null ? -1 : server.getPort();
+    }
+
+    private static ThreadFactory namedThreadFactory() {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "grpc-server-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
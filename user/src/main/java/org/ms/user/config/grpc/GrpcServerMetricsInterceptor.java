@@ -0,0 +1,193 @@
+package org.ms.user.config.grpc;
+
+import com.google.protobuf.MessageLite;
+import io.grpc.Context;
+import io.grpc.ForwardingServerCall;
+import io.grpc.ForwardingServerCallListener;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.ServerStreamTracer;
+import io.grpc.Status;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Records the metrics of the calls served by the gRPC server, per method.
+ * <p>
+ *     As a {@link ServerStreamTracer.Factory}, it notes when the headers of a call arrive on the
+ *     transport thread; as a {@link ServerInterceptor}, it runs once the call reaches the server
+ *     executor and measures the rest of the call. The following metrics are published, all tagged
+ *     with the full method name:
+ *     <ul>
+ *         <li>{@code grpc.server.call.queue}: the time a call waited for a thread of the server executor;</li>
+ *         <li>{@code grpc.server.call.duration}: the time from the start of the handler to the end of the
+ *         call, also tagged with the status code;</li>
+ *         <li>{@code grpc.server.calls.active}: the number of calls in progress;</li>
+ *         <li>{@code grpc.server.message.size}: the serialized size of each message, tagged with the
+ *         'received' or 'sent' direction.</li>
+ *     </ul>
+ * </p>
+ * <p>
+ *     A call cancelled by the client, or by its deadline, is recorded with the {@code CANCELLED} status,
+ *     and a call whose handler throws with the {@code UNKNOWN} status.
+ * </p>
+ */
+public class GrpcServerMetricsInterceptor extends ServerStreamTracer.Factory implements ServerInterceptor {
+
+    private static final Context.Key<Long> ARRIVAL_NANOS = Context.key("grpc-server-arrival-nanos");
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, MethodMetrics> methods = new ConcurrentHashMap<>();
+
+    /**
+     * Creates the interceptor publishing to the given registry.
+     *
+     * @param meterRegistry the registry the metrics are published to
+     */
+    public GrpcServerMetricsInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Creates the tracer of a new call, which stores its arrival time in the context of the call.
+     *
+     * @param fullMethodName the full name of the called method
+     * @param headers the headers of the call
+     * @return the tracer of the call
+     */
+    @Override
+    public ServerStreamTracer newServerStreamTracer(String fullMethodName, Metadata headers) {
+        return new ServerStreamTracer() {
+            @Override
+            public Context filterContext(Context context) {
+                return context.withValue(ARRIVAL_NANOS, System.nanoTime());
+            }
+        };
+    }
+
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(ServerCall<ReqT, RespT> call, Metadata headers,
+                                                                 ServerCallHandler<ReqT, RespT> next) {
+        long start = System.nanoTime();
+        MethodMetrics metrics = methods.computeIfAbsent(call.getMethodDescriptor().getFullMethodName(), MethodMetrics::new);
+        Long arrival = ARRIVAL_NANOS.get();
+        if (arrival != null) {
+            metrics.queue.record(start - arrival, TimeUnit.NANOSECONDS);
+        }
+        metrics.active.incrementAndGet();
+        AtomicBoolean finished = new AtomicBoolean();
+        ServerCall<ReqT, RespT> monitoredCall = new ForwardingServerCall.SimpleForwardingServerCall<>(call) {
+            @Override
+            public void sendMessage(RespT message) {
+                metrics.record(metrics.sent, message);
+                super.sendMessage(message);
+            }
+
+            @Override
+            public void close(Status status, Metadata trailers) {
+                metrics.finish(finished, status.getCode(), start);
+                super.close(status, trailers);
+            }
+        };
+        ServerCall.Listener<ReqT> listener;
+        try {
+            listener = next.startCall(monitoredCall, headers);
+        } catch (RuntimeException e) {
+            metrics.finish(finished, Status.Code.UNKNOWN, start);
+            throw e;
+        }
+        return new ForwardingServerCallListener.SimpleForwardingServerCallListener<>(listener) {
+            @Override
+            public void onMessage(ReqT message) {
+                metrics.record(metrics.received, message);
+                try {
+                    super.onMessage(message);
+                } catch (RuntimeException e) {
+                    metrics.finish(finished, Status.Code.UNKNOWN, start);
+                    throw e;
+                }
+            }
+
+            @Override
+            public void onHalfClose() {
+                try {
+                    super.onHalfClose();
+                } catch (RuntimeException e) {
+                    metrics.finish(finished, Status.Code.UNKNOWN, start);
+                    throw e;
+                }
+            }
+
+            @Override
+            public void onCancel() {
+                metrics.finish(finished, Status.Code.CANCELLED, start);
+                super.onCancel();
+            }
+        };
+    }
+
+    /**
+     * The meters of one method.
+     */
+    private final class MethodMetrics {
+
+        private final String method;
+        private final Timer queue;
+        private final AtomicInteger active = new AtomicInteger();
+        private final DistributionSummary received;
+        private final DistributionSummary sent;
+        private final Map<Status.Code, Timer> durations = new ConcurrentHashMap<>();
+
+        private MethodMetrics(String method) {
+            this.method = method;
+            this.queue = Timer.builder("grpc.server.call.queue")
+                    .description("Time a gRPC call waited for a thread of the server executor")
+                    .tag("method", method)
+                    .register(meterRegistry);
+            Gauge.builder("grpc.server.calls.active", active, AtomicInteger::get)
+                    .description("gRPC calls in progress")
+                    .tag("method", method)
+                    .register(meterRegistry);
+            this.received = messageSize(method, "received");
+            this.sent = messageSize(method, "sent");
+        }
+
+        private DistributionSummary messageSize(String method, String direction) {
+            return DistributionSummary.builder("grpc.server.message.size")
+                    .description("Serialized size of the gRPC messages")
+                    .baseUnit("bytes")
+                    .tag("method", method)
+                    .tag("direction", direction)
+                    .register(meterRegistry);
+        }
+
+        private void record(DistributionSummary size, Object message) {
+            if (message instanceof MessageLite protobufMessage) {
+                size.record(protobufMessage.getSerializedSize());
+            }
+        }
+
+        private void finish(AtomicBoolean finished, Status.Code code, long start) {
+            if (!finished.compareAndSet(false, true)) {
+                return;
+            }
+            active.decrementAndGet();
+            durations.computeIfAbsent(code, c -> Timer.builder("grpc.server.call.duration")
+                            .description("Duration of the gRPC calls, from the start of the handler")
+                            .tag("method", method)
+                            .tag("status", c.name())
+                            .register(meterRegistry))
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package org.ms.user.config.grpc;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the gRPC server of the user service.
+ * <p>
+ *     The values are bound from the 'grpc.server' prefix in the application.properties file.
+ *     For example:
+ *     <pre>
+ *         grpc.server.port=9090
+ *         grpc.server.executor=bounded
+ *         grpc.server.threads=16
+ *         grpc.server.flow-control-window=1048576
+ *     </pre>
+ * </p>
+ */
+@Data
+@ConfigurationProperties(prefix = "grpc.server")
+public class GrpcServerProperties {
+
+    /**
+     * The port the server listens on; {@code 0} picks a free port.
+     */
+    private int port = 9090;
+
+    /**
+     * The executor running the service methods.
+     */
+    private ExecutorType executor = ExecutorType.BOUNDED;
+
+    /**
+     * The number of threads of the {@link ExecutorType#BOUNDED} executor.
+     */
+    private int threads = Runtime.getRuntime().availableProcessors() * 2;
+
+    /**
+     * The maximum size of a message the server accepts, in bytes.
+     */
+    private int maxInboundMessageSize = 4 * 1024 * 1024;
+
+    /**
+     * The initial HTTP/2 flow-control window of each stream, in bytes.
+     */
+    private int flowControlWindow = 1024 * 1024;
+
+    /**
+     * The interval between HTTP/2 PING frames sent to idle clients.
+     */
+    private Duration keepAliveTime = Duration.ofHours(2);
+
+    /**
+     * How long to wait for a PING acknowledgement before closing the connection.
+     */
+    private Duration keepAliveTimeout = Duration.ofSeconds(20);
+
+    /**
+     * The shortest keepalive interval accepted from clients; more frequent PINGs close the connection.
+     * <p>
+     *     This must not be longer than the 'grpc.client.user.keep-alive-time' of the post service.
+     * </p>
+     */
+    private Duration permitKeepAliveTime = Duration.ofSeconds(20);
+
+    /**
+     * Whether clients may send keepalive PINGs on connections without calls.
+     */
+    private boolean permitKeepAliveWithoutCalls = true;
+
+    /**
+     * The maximum number of ids of a {@code lookupUsers} stream resolved by one database query.
+     */
+    private int lookupBatchSize = 100;
+
+    /**
+     * How long the ids of a {@code lookupUsers} stream may wait for a batch to fill before they
+     * are resolved anyway.
+     */
+    private Duration lookupMaxDelay = Duration.ofMillis(2);
+
+    /**
+     * How long in-flight calls may take to complete when the application shuts down.
+     */
+    private Duration shutdownTimeout = Duration.ofSeconds(5);
+
+    /**
+     * The executors available to run the service methods.
+     */
+    public enum ExecutorType {
+
+        /**
+         * A fixed pool of {@code threads} platform threads.
+         */
+        BOUNDED,
+
+        /**
+         * The Netty event loop threads themselves; only for handlers that never block.
+         */
+        DIRECT,
+
+        /**
+         * A new virtual thread per call.
+         */
+        VIRTUAL
+    }
+}
@@ -0,0 +1,29 @@
+package org.ms.user.config.jpa;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Generates the identifier of an entity from a database sequence, allocating a block of
+ * identifiers per sequence call.
+ * <p>
+ *     The block size and the optimizer are read from the Hibernate settings by the
+ *     {@link PooledSequenceGenerator}, so they can be changed per environment.
+ * </p>
+ */
+@IdGeneratorType(PooledSequenceGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface PooledSequence {
+
+    /**
+     * The name of the database sequence.
+     *
+     * @return the sequence name
+     */
+    String name();
+}
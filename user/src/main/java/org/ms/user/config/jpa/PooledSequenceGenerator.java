@@ -0,0 +1,64 @@
+package org.ms.user.config.jpa;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.config.spi.StandardConverters;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Properties;
+
+/**
+ * Sequence generator of the {@link PooledSequence} identifiers.
+ * <p>
+ *     Each call to the sequence reserves 'increment-size' identifiers, which Hibernate hands out
+ *     without going back to the database, so a JDBC batch of inserts needs one sequence call per
+ *     block instead of one per row. The settings are passed through the 'spring.jpa.properties'
+ *     prefix of the application.properties file:
+ *     <pre>
+ *         spring.jpa.properties.ids.sequence.increment-size=50
+ *         spring.jpa.properties.ids.sequence.optimizer=pooled
+ *     </pre>
+ *     The optimizer is {@code pooled}, which reads a sequence value as the upper end of its block,
+ *     or {@code pooled-lo}, which reads it as the lower end. The increment must match the
+ *     increment of the sequence in the database: Hibernate refuses to start otherwise, and an
+ *     existing sequence is changed with {@code ALTER SEQUENCE ... INCREMENT BY}. Instances using
+ *     different optimizers on the same sequence can hand out the same identifiers, so the optimizer
+ *     is only changed with all the instances stopped.
+ * </p>
+ */
+public class PooledSequenceGenerator extends SequenceStyleGenerator {
+
+    /**
+     * The Hibernate setting holding the number of identifiers reserved per sequence call.
+     */
+    public static final String INCREMENT_SIZE_SETTING = "ids.sequence.increment-size";
+
+    /**
+     * The Hibernate setting holding the optimizer, {@code pooled} or {@code pooled-lo}.
+     */
+    public static final String OPTIMIZER_SETTING = "ids.sequence.optimizer";
+
+    private final String sequenceName;
+
+    /**
+     * Creates the generator of an identifier annotated with {@link PooledSequence}.
+     *
+     * @param config the annotation of the identifier
+     */
+    public PooledSequenceGenerator(PooledSequence config) {
+        this.sequenceName = config.name();
+    }
+
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) throws MappingException {
+        ConfigurationService settings = serviceRegistry.requireService(ConfigurationService.class);
+        parameters.setProperty(SEQUENCE_PARAM, sequenceName);
+        parameters.setProperty(INCREMENT_PARAM,
+                settings.getSetting(INCREMENT_SIZE_SETTING, StandardConverters.STRING, "50"));
+        parameters.setProperty(OPT_PARAM,
+                settings.getSetting(OPTIMIZER_SETTING, StandardConverters.STRING, "pooled"));
+        super.configure(type, parameters, serviceRegistry);
+    }
+}
@@ -1,12 +1,16 @@
 package org.ms.user.config.kafka;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.kafka.clients.producer.ProducerConfig;
-import org.apache.kafka.common.serialization.StringSerializer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.LongSerializer;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.MicrometerProducerListener;
 import org.springframework.kafka.core.ProducerFactory;
 
 import java.util.HashMap;
@@ -17,11 +21,15 @@ import java.util.Map;
  * <p>
  * This class provides the configuration settings necessary to create Kafka producers.
  * It defines the producer factory and Kafka template beans, which are used to send
- * messages to Kafka topics.
+ * messages to Kafka topics. The batching, compression and idempotence of the producer
+ * are set by the {@link KafkaProducerProperties}. The metrics of the producer, such as
+ * its {@code kafka.producer.record.send.rate} and {@code kafka.producer.request.latency.avg},
+ * are published to Micrometer.
  * </p>
  *
  */
 @Configuration
+@EnableConfigurationProperties(KafkaProducerProperties.class)
 public class KafkaProducerConfig {
 
     /**
@@ -44,11 +52,26 @@ public class KafkaProducerConfig {
     @Value("${spring.kafka.bootstrap-servers}")
     private String bootstrapAddress;
 
+    /**
+     * The batching, compression and idempotence settings bound from the 'kafka.producer' prefix.
+     */
+    private final KafkaProducerProperties properties;
+
+    /**
+     * Creates the configuration with the given producer properties.
+     *
+     * @param properties the batching, compression and idempotence settings
+     */
+    public KafkaProducerConfig(KafkaProducerProperties properties) {
+        this.properties = properties;
+    }
+
     /**
      * Provides the configuration settings for the Kafka producer.
      * <p>
      *     This method sets up the necessary properties for Kafka producers, including
-     *     the bootstrap servers and serializers for keys and values.
+     *     the bootstrap servers and serializers for keys and values. The keys are user ids,
+     *     and the values are serialized protobuf messages.
      * </p>
      *
      * @return a {@link Map} containing the producer configuration properties
@@ -56,8 +79,15 @@ public class KafkaProducerConfig {
     public Map<String, Object> producerConfig() {
         Map<String, Object> props = new HashMap<>();
         props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapAddress);
-        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, LongSerializer.class);
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+        props.put(ProducerConfig.LINGER_MS_CONFIG, (int) properties.getLinger().toMillis());
+        props.put(ProducerConfig.BATCH_SIZE_CONFIG, properties.getBatchSize());
+        props.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, properties.getCompressionType());
+        props.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, properties.isIdempotence());
+        if (properties.isIdempotence()) {
+            props.put(ProducerConfig.ACKS_CONFIG, "all");
+        }
         return props;
     }
 
@@ -67,13 +97,17 @@ public class KafkaProducerConfig {
      * This bean uses the configuration properties defined in the {@link #producerConfig()} method
      * to create and manage Kafka producers. The {@link ProducerFactory} is responsible for creating
      * producer instances that can be used to send messages to Kafka topics.
+     * The metrics of every producer it creates are bound to the meter registry.
      * </p>
      *
+     * @param meterRegistry the registry the client metrics are published to
      * @return a {@link ProducerFactory} for Kafka producers
      */
     @Bean
-    public ProducerFactory<String, String> producerFactory() {
-        return new DefaultKafkaProducerFactory<>(producerConfig());
+    public ProducerFactory<Long, byte[]> producerFactory(MeterRegistry meterRegistry) {
+        DefaultKafkaProducerFactory<Long, byte[]> producerFactory = new DefaultKafkaProducerFactory<>(producerConfig());
+        producerFactory.addListener(new MicrometerProducerListener<>(meterRegistry));
+        return producerFactory;
     }
 
     /**
@@ -87,8 +121,8 @@ public class KafkaProducerConfig {
      * @return a {@link KafkaTemplate} for sending messages to Kafka topics
      */
     @Bean
-    public KafkaTemplate<String, String> kafkaTemplate(
-            ProducerFactory<String, String> producerFactory
+    public KafkaTemplate<Long, byte[]> kafkaTemplate(
+            ProducerFactory<Long, byte[]> producerFactory
     ) {
         return new KafkaTemplate<>(producerFactory);
     }
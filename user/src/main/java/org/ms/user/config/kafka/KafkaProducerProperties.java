@@ -0,0 +1,47 @@
+package org.ms.user.config.kafka;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the Kafka producer of the user deletion events.
+ * <p>
+ *     The values are bound from the 'kafka.producer' prefix in the application.properties file.
+ *     For example:
+ *     <pre>
+ *         kafka.producer.linger=5ms
+ *         kafka.producer.batch-size=65536
+ *         kafka.producer.compression-type=lz4
+ *         kafka.producer.idempotence=true
+ *     </pre>
+ * </p>
+ */
+@Data
+@ConfigurationProperties(prefix = "kafka.producer")
+public class KafkaProducerProperties {
+
+    /**
+     * How long the producer waits for more records before sending a partly filled batch.
+     */
+    private Duration linger = Duration.ofMillis(5);
+
+    /**
+     * The maximum size of a batch of records sent to one partition, in bytes.
+     */
+    private int batchSize = 64 * 1024;
+
+    /**
+     * The compression of the batches: 'none', 'gzip', 'snappy', 'lz4' or 'zstd'.
+     */
+    private String compressionType = "lz4";
+
+    /**
+     * Whether the producer avoids duplicates and reordering when it retries a send.
+     * <p>
+     *     Idempotence requires the acknowledgement of all the in-sync replicas.
+     * </p>
+     */
+    private boolean idempotence = true;
+}
@@ -0,0 +1,18 @@
+package org.ms.user.config.outbox;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Configuration class for the relay publishing the outbox events to Kafka.
+ * <p>
+ *     The events are published by a scheduled task, on the scheduler thread, so that the
+ *     requests changing the users only have to write them to the outbox.
+ * </p>
+ */
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(OutboxRelayProperties.class)
+public class OutboxRelayConfig {
+}
@@ -0,0 +1,43 @@
+package org.ms.user.config.outbox;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the relay publishing the outbox events to Kafka.
+ * <p>
+ *     The values are bound from the 'outbox.relay' prefix in the application.properties file.
+ *     For example:
+ *     <pre>
+ *         outbox.relay.batch-size=500
+ *         outbox.relay.poll-interval=100
+ *         outbox.relay.send-timeout=10s
+ *     </pre>
+ * </p>
+ */
+@Data
+@ConfigurationProperties(prefix = "outbox.relay")
+public class OutboxRelayProperties {
+
+    /**
+     * The maximum number of events published by one batch, in its own transaction.
+     */
+    private int batchSize = 500;
+
+    /**
+     * How often the outbox is checked when it is empty.
+     * <p>
+     *     The value is also read by {@code @Scheduled}, which only accepts milliseconds or the
+     *     ISO-8601 format, so it is given in milliseconds.
+     * </p>
+     */
+    private Duration pollInterval = Duration.ofMillis(100);
+
+    /**
+     * How long a batch waits for the acknowledgements of its events before it is rolled back
+     * and retried by the next poll.
+     */
+    private Duration sendTimeout = Duration.ofSeconds(10);
+}
@@ -1,5 +1,6 @@
 package org.ms.user.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -13,10 +14,13 @@ import org.ms.user.mappers.impl.UserMapper;
 import org.ms.user.model.dto.UserDto;
 import org.ms.user.model.entity.UserEntity;
 import org.ms.user.service.UserService;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -24,8 +28,7 @@ import java.util.stream.Collectors;
  * Controller for handling user-related HTTP requests.
  * <p>
  *     This controller provides endpoints to manage users, including retrieving, creating,
- *     and deleting users. It uses {@link UserService} for business logic and {@link KafkaTemplate}
- *     for sending messages to Kafka topics.
+ *     and deleting users. It uses {@link UserService} for business logic.
  * </p>
  *
  */
@@ -35,32 +38,102 @@ import java.util.stream.Collectors;
 @Slf4j
 public class UserController {
 
+    /**
+     * The maximum number of users accepted by a single batch request.
+     */
+    private static final int MAX_BATCH_SIZE = 1000;
+
+    /**
+     * The maximum number of users returned by a single page.
+     */
+    private static final int MAX_PAGE_SIZE = 1000;
+
     private final UserService userService;
-    private final KafkaTemplate<String, String> kafkaTemplate;
     private final UserMapper userMapper;
+    private final ObjectMapper objectMapper;
 
     /**
-     * Retrieves all users.
+     * Retrieves a page of users, ordered by ID.
      * <p>
-     *     This endpoint returns a list of all users. The users are mapped from
-     *     {@link UserEntity} to {@link UserDto} for the response.
+     *     This endpoint returns at most {@code limit} users whose ID is greater than {@code after}.
+     *     To get the next page, pass the ID of the last user of the current page as {@code after}.
+     *     The users are mapped from {@link UserEntity} to {@link UserDto} for the response.
+     * </p>
+     * <p>
+     *     The response carries an ETag derived from the IDs and versions of the users. A request
+     *     whose 'If-None-Match' header holds it is answered with '304 Not Modified', without a body.
      * </p>
      *
-     * @return a {@link List} of {@link UserDto} representing all users
+     * @param after the ID of the last user of the previous page; {@code 0} for the first page
+     * @param limit the maximum number of users to return, between 1 and 1000
+     * @return a {@link ResponseEntity} containing a {@link List} of {@link UserDto}, or a bad request
+     * if the limit is out of range
      */
-    @ApiResponse(responseCode = "200", description = "Get all users",
-            content = { @Content(mediaType = "application/json",
-                    schema = @Schema(implementation = UserEntity.class)) })
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Get a page of users",
+                    content = { @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = UserEntity.class)) }),
+            @ApiResponse(responseCode = "304", description = "Page not modified",
+                    content = @Content),
+            @ApiResponse(responseCode = "400", description = "Invalid limit",
+                    content = @Content)})
     @Tag(name = "Get", description = "Get methods of APIs")
-    @Operation(summary = "Get all users",
-            description = "Get all users")
+    @Operation(summary = "Get users",
+            description = "Get a page of users with an ID greater than 'after'")
     @GetMapping
-    public List<UserDto> getUsers() {
-        log.info("Request to get all users");
-        List<UserEntity> users = userService.getUsers();
+    public ResponseEntity<List<UserDto>> getUsers(
+            @Parameter(description = "ID of the last user of the previous page")
+            @RequestParam(defaultValue = "0") long after,
+            @Parameter(description = "Maximum number of users to return")
+            @RequestParam(defaultValue = "100") int limit
+    ) {
+        log.info("Request to get users after ID: {} with limit: {}", after, limit);
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            log.warn("Getting users failed due to invalid input: Limit {} is out of range", limit);
+            return ResponseEntity.badRequest().build();
+        }
+        List<UserEntity> users = userService.getUsers(after, limit);
         List<UserDto> userDtos = users.stream().map(userMapper::mapTo).collect(Collectors.toList());
         log.info("Successfully retrieved {} users", userDtos.size());
-        return userDtos;
+        return ResponseEntity.ok().eTag(UserETags.of(users)).body(userDtos);
+    }
+
+    /**
+     * Streams all users as newline-delimited JSON, ordered by ID.
+     * <p>
+     *     The users are read from a database cursor and written to the response one by one,
+     *     so memory use stays constant regardless of the number of users.
+     * </p>
+     * <p>
+     *     The stream has no time limit unless {@code stream-request-timeout} sets one. A stream
+     *     that is cut short ends without any marker; the client resumes it by passing the ID of
+     *     the last complete line as {@code after}, until a request returns no lines.
+     * </p>
+     *
+     * @param after the ID after which to start; {@code 0} starts from the first user
+     * @return a {@link ResponseEntity} whose body writes one {@link UserDto} JSON object per line
+     */
+    @ApiResponse(responseCode = "200", description = "Stream all users",
+            content = { @Content(mediaType = "application/x-ndjson",
+                    schema = @Schema(implementation = UserEntity.class)) })
+    @Tag(name = "Get", description = "Get methods of APIs")
+    @Operation(summary = "Stream all users",
+            description = "Stream all users as newline-delimited JSON")
+    @GetMapping(value = "/stream", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> streamUsers(
+            @Parameter(description = "ID after which to start")
+            @RequestParam(defaultValue = "0") long after
+    ) {
+        log.info("Request to stream users after ID: {}", after);
+        StreamingResponseBody body = out -> userService.streamUsers(after, user -> {
+            try {
+                out.write(objectMapper.writeValueAsBytes(userMapper.mapTo(user)));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType("application/x-ndjson")).body(body);
     }
 
     /**
@@ -100,11 +173,54 @@ public class UserController {
         return ResponseEntity.ok(userMapper.mapTo(newUser));
     }
 
+    /**
+     * Creates several users in a single request.
+     * <p>
+     *     Every user's name must have at least 4 characters. The users are inserted in one
+     *     transaction, in JDBC batches, so either all the users are created or none of them.
+     * </p>
+     *
+     * @param users the {@link UserDto} objects to be created
+     * @return a {@link ResponseEntity} containing the created users, or a bad request if the batch
+     * is empty or too large, or a name is invalid
+     */
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Users created",
+                    content = { @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = UserEntity.class)) }),
+            @ApiResponse(responseCode = "400", description = "Invalid input",
+                    content = @Content)})
+    @Tag(name = "Post", description = "Post methods of APIs")
+    @Operation(summary = "Create users",
+            description = "Create several users in one request")
+    @PostMapping("/batch")
+    public ResponseEntity<List<UserDto>> createUsers(
+            @Parameter(description = "Users to add, at most 1000.", required = true)
+            @RequestBody List<UserDto> users
+    ) {
+        log.info("Request to create a batch of {} users", users.size());
+        if (users.isEmpty() || users.size() > MAX_BATCH_SIZE) {
+            log.warn("Batch user creation failed due to invalid input: Batch size {} is out of range", users.size());
+            return ResponseEntity.badRequest().build();
+        }
+        for (UserDto user : users) {
+            if (user.getName() == null || user.getName().length() < 4) {
+                log.warn("Batch user creation failed due to invalid input: Name length is less than 4 characters");
+                return ResponseEntity.badRequest().build();
+            }
+        }
+        List<UserEntity> newUsers = userService.createUsers(users.stream().map(userMapper::mapFrom).collect(Collectors.toList()));
+        log.info("Created a batch of {} users", newUsers.size());
+        return ResponseEntity.ok(newUsers.stream().map(userMapper::mapTo).collect(Collectors.toList()));
+    }
+
     /**
      * Retrieves a user by ID.
      * <p>
      *     This endpoint returns the user with the specified ID. If the user is not found,
-     *     it returns a not found response.
+     *     it returns a not found response. The response carries an ETag derived from the ID and
+     *     version of the user, and a request whose 'If-None-Match' header holds it is answered
+     *     with '304 Not Modified', without a body.
      * </p>
      *
      * @param id the unique identifier of the user to retrieve
@@ -114,6 +230,8 @@ public class UserController {
             @ApiResponse(responseCode = "200", description = "Get user by id",
                     content = { @Content(mediaType = "application/json",
                             schema = @Schema(implementation = UserEntity.class)) }),
+            @ApiResponse(responseCode = "304", description = "User not modified",
+                    content = @Content),
             @ApiResponse(responseCode = "400", description = "Invalid input",
                     content = @Content)})
     @Tag(name = "Get", description = "Get methods of APIs")
@@ -131,15 +249,17 @@ public class UserController {
             return ResponseEntity.notFound().build();
         }
         log.info("User with ID: {} retrieved successfully", id);
-        return ResponseEntity.ok(userMapper.mapTo(user));
+        return ResponseEntity.ok().eTag(UserETags.of(user)).body(userMapper.mapTo(user));
     }
 
     /**
      * Deletes a user by ID.
      * <p>
-     *     This endpoint deletes the user with the specified ID. It also sends a message to a Kafka topic
-     *     to notify other services about the deletion to delete related posts. If the user is not found,
-     *     it returns a not found response.
+     *     This endpoint deletes the user with the specified ID. The deletion also records a user
+     *     deletion event, keyed by the user ID, which is published to a Kafka topic afterwards to
+     *     notify other services about the deletion to delete related posts; the request does not
+     *     wait for the broker. If the user is not found, it returns a not found response and no
+     *     event is published.
      * </p>
      *
      * @param id the unique identifier of the user to delete
@@ -160,7 +280,6 @@ public class UserController {
             @PathVariable Long id
     ) {
         log.info("Request to delete user with ID: {}", id);
-        this.kafkaTemplate.send("post_user", id.toString());
         boolean deleted = userService.deleteUser(id);
         if (!deleted) {
             log.error("User with ID: {} not found during deletion", id);
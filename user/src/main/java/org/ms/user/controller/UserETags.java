@@ -0,0 +1,58 @@
+package org.ms.user.controller;
+
+import org.ms.user.model.entity.UserEntity;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Strong ETags of the user responses, derived from the IDs and versions of the users.
+ * <p>
+ *     A tag changes whenever a user of the response is created, updated or deleted, and is
+ *     computed without serializing the response, so a request whose 'If-None-Match' header
+ *     holds the current tag is answered with '304 Not Modified' before any JSON is written.
+ * </p>
+ */
+final class UserETags {
+
+    private UserETags() {
+    }
+
+    /**
+     * Returns the ETag of a single user.
+     *
+     * @param user the user of the response
+     * @return the quoted ETag, made of the ID and version of the user
+     */
+    static String of(UserEntity user) {
+        return "\"" + user.getId() + "." + user.getVersion() + "\"";
+    }
+
+    /**
+     * Returns the ETag of a page of users.
+     *
+     * @param users the users of the response, in response order
+     * @return the quoted ETag, a digest of the IDs and versions of the users
+     */
+    static String of(List<UserEntity> users) {
+        MessageDigest digest = sha256();
+        ByteBuffer buffer = ByteBuffer.allocate(2 * Long.BYTES);
+        for (UserEntity user : users) {
+            buffer.clear();
+            buffer.putLong(user.getId()).putLong(user.getVersion() == null ? 0 : user.getVersion());
+            digest.update(buffer.array());
+        }
+        return "\"" + HexFormat.of().formatHex(digest.digest(), 0, 16) + "\"";
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -1,52 +1,54 @@
 package org.ms.user.mappers.impl;
 
-import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
+import org.ms.user.config.MapperConfig;
 import org.ms.user.mappers.Mapper;
 import org.ms.user.model.dto.UserDto;
 import org.ms.user.model.entity.UserEntity;
-import org.springframework.stereotype.Component;
 
 /**
  * Mapper for converting between {@link UserEntity} and {@link UserDto}.
  * <p>
- *     This class uses {@link ModelMapper} to handle the conversion between the entity and DTO.
+ *     This class copies the fields between the entity and DTO explicitly, without reflection.
  *     It implements the {@link Mapper} interface, providing methods to map {@link UserEntity}
- *     to {@link UserDto} and vice versa.
+ *     to {@link UserDto} and vice versa. The bean is declared in {@link MapperConfig}.
  * </p>
  *
  */
-@Component
-@RequiredArgsConstructor
 public class UserMapper implements Mapper<UserEntity, UserDto> {
 
-    private final ModelMapper modelMapper;
-
     /**
      * Converts a {@link UserEntity} to a {@link UserDto}.
      * <p>
-     *     This method uses {@link ModelMapper} to map the properties from the entity to the DTO.
+     *     This method copies the properties from the entity to the DTO.
      * </p>
      *
      * @param userEntity the {@link UserEntity} to be converted
-     * @return the corresponding {@link UserDto}
+     * @return the corresponding {@link UserDto}, or {@code null} if the entity is {@code null}
      */
     @Override
     public UserDto mapTo(UserEntity userEntity) {
-        return modelMapper.map(userEntity, UserDto.class);
+        if (userEntity == null) {
+            return null;
+        }
+        return new UserDto(userEntity.getId(), userEntity.getName());
     }
 
     /**
      * Converts a {@link UserDto} to a {@link UserEntity}.
      * <p>
-     *     This method uses {@link ModelMapper} to map the properties from the DTO to the entity.
+     *     This method copies the properties from the DTO to the entity, except the ID: the entity
+     *     is always a new one, whose ID is assigned by the database, so an ID sent by a client
+     *     cannot make it look detached.
      * </p>
      *
      * @param userDto the {@link UserDto} to be converted
-     * @return the corresponding {@link UserEntity}
+     * @return the corresponding {@link UserEntity}, or {@code null} if the DTO is {@code null}
      */
     @Override
     public UserEntity mapFrom(UserDto userDto) {
-        return modelMapper.map(userDto, UserEntity.class);
+        if (userDto == null) {
+            return null;
+        }
+        return new UserEntity(null, userDto.getName(), null);
     }
 }
@@ -0,0 +1,59 @@
+package org.ms.user.model.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.ms.user.config.jpa.PooledSequence;
+
+import java.time.Instant;
+
+/**
+ * Entity class representing a user event waiting to be published to Kafka.
+ *
+ * <p>
+ *     This class is mapped to the "outbox_events" table. A row is written in the same transaction
+ *     as the change it announces, so the event exists if and only if the change was committed.
+ *     The row is removed by the outbox relay once the broker has acknowledged the event.
+ * </p>
+ *
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "outbox_events")
+public class OutboxEventEntity {
+
+    /**
+     * The unique identifier of the event. The events are published in this order.
+     */
+    @Id
+    @PooledSequence(name = "outbox_events_seq")
+    private Long id;
+
+    /**
+     * The topic the event is published to.
+     */
+    private String topic;
+
+    /**
+     * The key of the Kafka record, the identifier of the user the event is about.
+     */
+    private Long messageKey;
+
+    /**
+     * The serialized protobuf event, the value of the Kafka record.
+     */
+    private byte[] payload;
+
+    /**
+     * When the event was written.
+     */
+    private Instant createdAt;
+
+}
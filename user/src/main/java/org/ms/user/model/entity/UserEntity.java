@@ -1,13 +1,15 @@
 package org.ms.user.model.entity;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.ms.user.config.jpa.PooledSequence;
 
 /**
  * Entity representing a user in the system.
@@ -29,12 +31,12 @@ public class UserEntity {
      * The unique identifier of the user.
      * <p>
      *     This field is the primary key for the user entity and is used to uniquely identify each user.
-     *     It is auto-generated by the database when a new user is created.
-     *     The value of this field is set by the database.
+     *     It is allocated from the "users_seq" sequence in blocks, so that new users can be
+     *     inserted in JDBC batches without a sequence call per user.
      * </p>
      */
     @Id
-    @GeneratedValue
+    @PooledSequence(name = "users_seq")
     private Long id;
 
     /**
@@ -42,4 +44,16 @@ public class UserEntity {
      */
     private String name;
 
+    /**
+     * The version of the row, {@code null} until it is first stored.
+     * <p>
+     *     It is incremented by every update, and the ETag of the user is derived from it, so a
+     *     client holding the current version gets a '304 Not Modified' answer. Existing rows get
+     *     the version {@code 0} when the column is added.
+     * </p>
+     */
+    @Version
+    @Column(columnDefinition = "bigint default 0 not null")
+    private Long version;
+
 }
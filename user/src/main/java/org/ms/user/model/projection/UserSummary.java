@@ -0,0 +1,15 @@
+package org.ms.user.model.projection;
+
+/**
+ * Projection of a user, holding only the columns needed to answer a lookup.
+ * <p>
+ *     It is built by a JPQL constructor expression, so only these columns are selected and no
+ *     managed {@link org.ms.user.model.entity.UserEntity} is hydrated or snapshotted. Unlike an
+ *     interface projection, no proxy is created per result.
+ * </p>
+ *
+ * @param id the unique identifier of the user
+ * @param name the name of the user
+ */
+public record UserSummary(Long id, String name) {
+}
@@ -0,0 +1,33 @@
+package org.ms.user.repository;
+
+import org.ms.user.model.entity.OutboxEventEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository interface for managing {@link OutboxEventEntity} entities.
+ * <p>
+ *     This interface provides access to the "outbox_events" table, which holds the user events
+ *     waiting to be published to Kafka.
+ * </p>
+ */
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEventEntity, Long> {
+
+    /**
+     * Locks and retrieves the oldest events, skipping the ones locked by another transaction.
+     * <p>
+     *     The rows stay locked until the end of the current transaction, so several relays can
+     *     drain the outbox at the same time without publishing an event twice, and without
+     *     waiting on each other.
+     * </p>
+     *
+     * @param limit the maximum number of events to return
+     * @return a list of at most {@code limit} events, in identifier order
+     */
+    @Query(value = "SELECT * FROM outbox_events ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<OutboxEventEntity> lockNextEvents(int limit);
+}
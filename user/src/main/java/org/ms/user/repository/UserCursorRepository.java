@@ -0,0 +1,24 @@
+package org.ms.user.repository;
+
+import org.ms.user.model.entity.UserEntity;
+
+import java.util.function.Consumer;
+
+/**
+ * Repository fragment for reading the "users" table through a database cursor.
+ * <p>
+ *     The rows are fetched in small chunks and handed to the caller one at a time, without
+ *     being attached to a persistence context, so memory use does not grow with the table size.
+ *     This fragment is part of {@link UserRepository}.
+ * </p>
+ */
+public interface UserCursorRepository {
+
+    /**
+     * Streams the users whose ID is greater than {@code after}, in ID order.
+     *
+     * @param after the ID after which to start; {@code 0} starts from the first user
+     * @param consumer the callback receiving each user; the entities are not managed by JPA
+     */
+    void streamUsersAfter(long after, Consumer<UserEntity> consumer);
+}
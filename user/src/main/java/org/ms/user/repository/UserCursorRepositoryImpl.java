@@ -0,0 +1,50 @@
+package org.ms.user.repository;
+
+import org.ms.user.model.entity.UserEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.util.function.Consumer;
+
+/**
+ * JDBC implementation of the {@link UserCursorRepository} fragment.
+ * <p>
+ *     The query runs inside a read-only transaction with a positive fetch size. With auto-commit
+ *     disabled, the PostgreSQL driver then reads the result set through a server-side cursor,
+ *     {@link #FETCH_SIZE} rows at a time, instead of loading it completely.
+ * </p>
+ */
+public class UserCursorRepositoryImpl implements UserCursorRepository {
+
+    /**
+     * The number of rows fetched from the database per round trip.
+     */
+    private static final int FETCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Creates the fragment on top of the application's data source.
+     *
+     * @param dataSource the data source of the "users" table
+     */
+    public UserCursorRepositoryImpl(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+    }
+
+    /**
+     * Streams the users whose ID is greater than {@code after}, in ID order.
+     *
+     * @param after the ID after which to start; {@code 0} starts from the first user
+     * @param consumer the callback receiving each user; the entities are not managed by JPA
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void streamUsersAfter(long after, Consumer<UserEntity> consumer) {
+        RowCallbackHandler handler = rs -> consumer.accept(new UserEntity(rs.getLong("id"), rs.getString("name"), rs.getLong("version")));
+        jdbcTemplate.query("SELECT id, name, version FROM users WHERE id > ? ORDER BY id", handler, after);
+    }
+}
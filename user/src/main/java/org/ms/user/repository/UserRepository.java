@@ -1,20 +1,63 @@
 package org.ms.user.repository;
 
 import org.ms.user.model.entity.UserEntity;
+import org.ms.user.model.projection.UserSummary;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 /**
  * Repository interface for managing {@link UserEntity} entities.
  * <p>
  *     This interface extends {@link JpaRepository}, providing CRUD operations and additional
  *     data access methods for {@link UserEntity} objects. Spring Data JPA will automatically
- *     provide implementations for these methods at runtime.
+ *     provide implementations for these methods at runtime. Large reads go through keyset pages
+ *     or the {@link UserCursorRepository} fragment instead of {@code findAll()}.
  * </p>
  *
 
  */
 @Repository
-public interface UserRepository extends JpaRepository<UserEntity, Long> {
+public interface UserRepository extends JpaRepository<UserEntity, Long>, UserCursorRepository {
+
+    /**
+     * Retrieves a page of users whose ID is greater than the given cursor, in ID order.
+     * <p>
+     *     This keyset query seeks directly to the cursor through the primary key index, so its cost
+     *     does not grow with the position of the page.
+     * </p>
+     *
+     * @param after the ID of the last user of the previous page; {@code 0} for the first page
+     * @param limit the maximum number of users to return
+     * @return a list of at most {@code limit} users
+     */
+    @Query("SELECT u FROM UserEntity u WHERE u.id > :after ORDER BY u.id")
+    List<UserEntity> findUsersAfter(@Param("after") Long after, Limit limit);
+
+    /**
+     * Retrieves the ID and name of a user, without loading the entity.
+     *
+     * @param id the ID of the user
+     * @return an {@link Optional} containing the {@link UserSummary} if found, or empty if not
+     */
+    @Query("SELECT new org.ms.user.model.projection.UserSummary(u.id, u.name) FROM UserEntity u WHERE u.id = :id")
+    Optional<UserSummary> findSummaryById(@Param("id") Long id);
 
+    /**
+     * Retrieves which of the given IDs belong to existing users.
+     * <p>
+     *     Only the primary key index is read, and no entity is loaded.
+     * </p>
+     *
+     * @param ids the IDs to check
+     * @return the IDs of the existing users
+     */
+    @Query("SELECT u.id FROM UserEntity u WHERE u.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
 }
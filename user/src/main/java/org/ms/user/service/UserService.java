@@ -1,9 +1,12 @@
 package org.ms.user.service;
 
 import org.ms.user.model.entity.UserEntity;
+import org.ms.user.model.projection.UserSummary;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Service interface for managing user-related operations.
@@ -18,11 +21,21 @@ import java.util.List;
 public interface UserService {
 
     /**
-     * Retrieves a list of all users.
+     * Retrieves a page of users, ordered by ID.
      *
-     * @return a {@link List} of {@link UserEntity} objects representing all users
+     * @param after the ID of the last user of the previous page; {@code 0} for the first page
+     * @param limit the maximum number of users to return
+     * @return a {@link List} of at most {@code limit} {@link UserEntity} objects
      */
-    List<UserEntity> getUsers();
+    List<UserEntity> getUsers(long after, int limit);
+
+    /**
+     * Streams all the users after the given ID, ordered by ID, one at a time.
+     *
+     * @param after the ID after which to start; {@code 0} starts from the first user
+     * @param consumer the callback receiving each {@link UserEntity}
+     */
+    void streamUsers(long after, Consumer<UserEntity> consumer);
 
     /**
      * Creates a new user.
@@ -32,6 +45,14 @@ public interface UserService {
      */
     UserEntity createUser(UserEntity user);
 
+    /**
+     * Creates several users in a single transaction.
+     *
+     * @param users the {@link UserEntity} objects to be created
+     * @return the created {@link UserEntity} objects, in the same order
+     */
+    List<UserEntity> createUsers(List<UserEntity> users);
+
     /**
      * Retrieves a user by ID.
      *
@@ -41,7 +62,23 @@ public interface UserService {
     UserEntity getUser(Long id);
 
     /**
-     * Deletes a user by ID.
+     * Retrieves the ID and name of a user, without loading the full entity.
+     *
+     * @param id the ID of the user to retrieve
+     * @return the {@link UserSummary} of the user, or {@code null} if not found
+     */
+    UserSummary getUserSummary(Long id);
+
+    /**
+     * Retrieves which of the given IDs belong to existing users, in a single query.
+     *
+     * @param ids the IDs to check
+     * @return the IDs of the existing users; missing IDs are skipped
+     */
+    List<Long> getExistingUserIds(Collection<Long> ids);
+
+    /**
+     * Deletes a user by ID and records the user deletion event, in one transaction.
      *
      * @param id the ID of the user to delete
      * @return {@code true} if the user was deleted successfully, {@code false} otherwise
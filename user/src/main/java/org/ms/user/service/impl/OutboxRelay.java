@@ -0,0 +1,145 @@
+package org.ms.user.service.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.ms.user.config.outbox.OutboxRelayProperties;
+import org.ms.user.model.entity.OutboxEventEntity;
+import org.ms.user.repository.OutboxEventRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Service publishing the events of the outbox to Kafka.
+ * <p>
+ *     A scheduled task locks the oldest events with {@code FOR UPDATE SKIP LOCKED}, at most
+ *     'outbox.relay.batch-size' per transaction, sends them all through the {@link UserEventPublisher}
+ *     and deletes them once the broker has acknowledged every one of them. A batch whose sends fail
+ *     or time out is rolled back and published again by the next poll, so an event is delivered at
+ *     least once; the post service ignores a deletion it has already recorded. Several instances of
+ *     the service drain the outbox side by side, each skipping the rows locked by the others.
+ * </p>
+ * <p>
+ *     The following metrics are published:
+ *     <ul>
+ *         <li>{@code outbox.relay.published}: the number of published events;</li>
+ *         <li>{@code outbox.relay.rate}: the events published per second by the last run;</li>
+ *         <li>{@code outbox.depth}: the number of events waiting in the outbox;</li>
+ *         <li>{@code outbox.relay.batch}: the duration of a batch transaction.</li>
+ *     </ul>
+ * </p>
+ */
+@Slf4j
+@Service
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final UserEventPublisher userEventPublisher;
+    private final OutboxRelayProperties properties;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Counter publishedCounter;
+    private final Timer batchTimer;
+    private final AtomicLong depth = new AtomicLong();
+    private final AtomicLong eventsPerSecond = new AtomicLong();
+
+    /**
+     * Creates the relay and registers its metrics.
+     *
+     * @param outboxEventRepository the repository of the events to publish
+     * @param userEventPublisher the publisher sending the events to Kafka
+     * @param properties the batching properties bound from the application.properties file
+     * @param transactionManager the transaction manager each batch runs in
+     * @param meterRegistry the registry the metrics are published to
+     */
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       UserEventPublisher userEventPublisher,
+                       OutboxRelayProperties properties,
+                       PlatformTransactionManager transactionManager,
+                       MeterRegistry meterRegistry) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.userEventPublisher = userEventPublisher;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.publishedCounter = Counter.builder("outbox.relay.published")
+                .description("Outbox events published to Kafka")
+                .baseUnit("events")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("outbox.relay.batch")
+                .description("Duration of a batch of outbox events")
+                .register(meterRegistry);
+        Gauge.builder("outbox.depth", depth, AtomicLong::get)
+                .description("Events waiting in the outbox")
+                .baseUnit("events")
+                .register(meterRegistry);
+        Gauge.builder("outbox.relay.rate", eventsPerSecond, AtomicLong::get)
+                .description("Outbox events published per second by the last relay run")
+                .baseUnit("events")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Publishes the events of the outbox, one batch at a time, until a batch is not full.
+     * <p>
+     *     The task runs again 'outbox.relay.poll-interval' after the previous run ended.
+     * </p>
+     */
+    @Scheduled(fixedDelayString = "${outbox.relay.poll-interval:100}")
+    public void relayEvents() {
+        long start = System.nanoTime();
+        long published = 0;
+        try {
+            int batch;
+            do {
+                batch = batchTimer.record(() -> transactionTemplate.execute(status -> relayBatch()));
+                published += batch;
+            } while (batch == properties.getBatchSize());
+        } catch (RuntimeException e) {
+            log.warn("Outbox relay failed, the remaining events are published by the next run", e);
+        } finally {
+            long elapsedNanos = Math.max(1, System.nanoTime() - start);
+            eventsPerSecond.set(published * 1_000_000_000L / elapsedNanos);
+            depth.set(outboxEventRepository.count());
+        }
+    }
+
+    /**
+     * Publishes the next batch of events and deletes them, in the current transaction.
+     *
+     * @return the number of published events
+     * @throws IllegalStateException if an event is not acknowledged within 'outbox.relay.send-timeout'
+     */
+    private int relayBatch() {
+        List<OutboxEventEntity> events = outboxEventRepository.lockNextEvents(properties.getBatchSize());
+        if (events.isEmpty()) {
+            return 0;
+        }
+        CompletableFuture<?>[] sends = new CompletableFuture<?>[events.size()];
+        for (int i = 0; i < sends.length; i++) {
+            OutboxEventEntity event = events.get(i);
+            sends[i] = userEventPublisher.publish(event.getTopic(), event.getMessageKey(), event.getPayload());
+        }
+        try {
+            CompletableFuture.allOf(sends).get(properties.getSendTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IllegalStateException("Failed to publish " + events.size() + " outbox events", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while publishing the outbox events", e);
+        }
+        outboxEventRepository.deleteAllInBatch(events);
+        publishedCounter.increment(events.size());
+        return events.size();
+    }
+}
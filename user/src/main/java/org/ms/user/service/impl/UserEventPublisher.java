@@ -0,0 +1,100 @@
+package org.ms.user.service.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.ms.grpc_prop.prop.UserDeletedEvent;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Service publishing the user events to Kafka.
+ * <p>
+ *     The events are sent asynchronously: the caller does not wait for the broker, and the
+ *     outcome of each send is recorded by a completion callback as the following metrics:
+ *     <ul>
+ *         <li>{@code kafka.producer.send}: the time from the send to its acknowledgement, tagged
+ *         with the topic and the {@code success} or {@code failure} outcome;</li>
+ *         <li>{@code kafka.producer.send.failures}: the number of sends that failed, tagged with the topic.</li>
+ *     </ul>
+ * </p>
+ * <p>
+ *     The events are not sent by the requests themselves: they are written to the outbox with the
+ *     change they announce, and sent by the {@link OutboxRelay}.
+ * </p>
+ */
+@Slf4j
+@Service
+public class UserEventPublisher {
+
+    /**
+     * The topic the user deletion events are published to.
+     */
+    public static final String USER_DELETED_TOPIC = "post_user";
+
+    private final KafkaTemplate<Long, byte[]> kafkaTemplate;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Creates the publisher.
+     *
+     * @param kafkaTemplate the template sending the events
+     * @param meterRegistry the registry the delivery metrics are published to
+     */
+    public UserEventPublisher(KafkaTemplate<Long, byte[]> kafkaTemplate, MeterRegistry meterRegistry) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Serializes the {@link UserDeletedEvent} of a user.
+     *
+     * @param userId the unique identifier of the deleted user
+     * @return the serialized event, to be published keyed by the user id
+     */
+    public static byte[] userDeletedEvent(Long userId) {
+        return UserDeletedEvent.newBuilder()
+                .setUserId(userId)
+                .setDeletedAtMillis(System.currentTimeMillis())
+                .build()
+                .toByteArray();
+    }
+
+    /**
+     * Publishes a serialized event.
+     *
+     * @param topic the topic to publish to
+     * @param key the key of the record, the unique identifier of the user
+     * @param event the serialized event
+     * @return a future completed when the broker acknowledges the event, or failed
+     */
+    public CompletableFuture<SendResult<Long, byte[]>> publish(String topic, Long key, byte[] event) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        return kafkaTemplate.send(topic, key, event)
+                .whenComplete((result, e) -> {
+                    if (e == null) {
+                        sample.stop(sendTimer(topic, "success"));
+                        return;
+                    }
+                    sample.stop(sendTimer(topic, "failure"));
+                    Counter.builder("kafka.producer.send.failures")
+                            .description("Kafka sends that were not acknowledged")
+                            .tag("topic", topic)
+                            .register(meterRegistry)
+                            .increment();
+                    log.error("Failed to publish the event with key {} to {}", key, topic, e);
+                });
+    }
+
+    private Timer sendTimer(String topic, String outcome) {
+        return Timer.builder("kafka.producer.send")
+                .description("Time from a Kafka send to its acknowledgement")
+                .tag("topic", topic)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
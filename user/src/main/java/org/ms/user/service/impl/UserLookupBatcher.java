@@ -0,0 +1,209 @@
+package org.ms.user.service.impl;
+
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import lombok.extern.slf4j.Slf4j;
+import org.ms.grpc_prop.prop.UserRequest;
+import org.ms.grpc_prop.prop.UserResponse;
+import org.ms.user.service.UserService;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Server side of one {@code lookupUsers} stream.
+ * <p>
+ *     The requested ids are buffered and resolved together with one query through
+ *     {@link UserService#getExistingUserIds}, either when {@code batchSize} ids are waiting or
+ *     {@code maxDelay} after the first of them arrived, whichever comes first. Each id is answered
+ *     with a {@link UserResponse} carrying the {@code found} flag, in request order; the name is
+ *     not set. All the methods hold the same lock, as the delayed flushes run on another thread;
+ *     it is a {@link ReentrantLock} rather than a monitor, so a virtual thread waiting on the
+ *     query does not pin its carrier thread.
+ * </p>
+ * <p>
+ *     The timer only hands the delayed flushes to the flush executor, so it never waits on a
+ *     query. When the answers go to a gRPC call, the stream reads at most {@code batchSize} ids
+ *     ahead, and reads more only once the answers were taken by the transport: a client that does
+ *     not read its answers stops the stream instead of filling the server's memory.
+ * </p>
+ */
+@Slf4j
+class UserLookupBatcher implements StreamObserver<UserRequest> {
+
+    private final UserService userService;
+    private final StreamObserver<UserResponse> responseObserver;
+    private final ServerCallStreamObserver<UserResponse> call;
+    private final ScheduledExecutorService timer;
+    private final Executor flusher;
+    private final int batchSize;
+    private final long maxDelayNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final List<Long> pending = new ArrayList<>();
+    private ScheduledFuture<?> scheduledFlush;
+    private int deferredRequests;
+    private boolean closed;
+
+    /**
+     * Creates the server side of a stream.
+     *
+     * @param userService the service resolving the ids
+     * @param responseObserver the observer receiving the answers
+     * @param timer the executor triggering the delayed flushes
+     * @param flusher the executor running the delayed flushes
+     * @param batchSize the maximum number of ids resolved by one query
+     * @param maxDelay how long an id may wait for its batch to fill
+     */
+    UserLookupBatcher(UserService userService, StreamObserver<UserResponse> responseObserver,
+                      ScheduledExecutorService timer, Executor flusher, int batchSize, Duration maxDelay) {
+        this.userService = userService;
+        this.responseObserver = responseObserver;
+        this.timer = timer;
+        this.flusher = flusher;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxDelayNanos = maxDelay.toNanos();
+        if (responseObserver instanceof ServerCallStreamObserver<UserResponse> serverCall) {
+            this.call = serverCall;
+            serverCall.disableAutoRequest();
+            serverCall.setOnReadyHandler(this::onReady);
+            serverCall.request(this.batchSize);
+        } else {
+            this.call = null;
+        }
+    }
+
+    @Override
+    public void onNext(UserRequest request) {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            pending.add(request.getUserId());
+            if (pending.size() >= batchSize) {
+                flush();
+            } else if (scheduledFlush == null) {
+                scheduledFlush = timer.schedule(() -> flusher.execute(this::flushDelayed),
+                        maxDelayNanos, TimeUnit.NANOSECONDS);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        log.debug("lookupUsers stream cancelled by the client: {}", t.getMessage());
+        lock.lock();
+        try {
+            close();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void onCompleted() {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            flush();
+            if (!closed) {
+                close();
+                responseObserver.onCompleted();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void onReady() {
+        lock.lock();
+        try {
+            if (!closed && deferredRequests > 0 && call.isReady()) {
+                call.request(deferredRequests);
+                deferredRequests = 0;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void flushDelayed() {
+        lock.lock();
+        try {
+            scheduledFlush = null;
+            if (!closed) {
+                flush();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Resolves the pending ids and sends their answers; fails the stream if the lookup fails.
+     */
+    private void flush() {
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        Set<Long> existing;
+        try {
+            existing = new HashSet<>(userService.getExistingUserIds(pending));
+        } catch (RuntimeException e) {
+            log.error("Failed to look up {} user(s) of a lookupUsers stream", pending.size(), e);
+            close();
+            responseObserver.onError(Status.INTERNAL.withDescription("User lookup failed").asRuntimeException());
+            return;
+        }
+        for (Long userId : pending) {
+            responseObserver.onNext(UserResponse.newBuilder()
+                    .setUserId(userId)
+                    .setFound(existing.contains(userId))
+                    .build());
+        }
+        requestMore(pending.size());
+        pending.clear();
+    }
+
+    /**
+     * Reads {@code count} more ids if the answers sent so far were taken, otherwise once they are.
+     */
+    private void requestMore(int count) {
+        if (call == null) {
+            return;
+        }
+        if (call.isReady()) {
+            call.request(count);
+        } else {
+            deferredRequests += count;
+        }
+    }
+
+    private void close() {
+        closed = true;
+        pending.clear();
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+    }
+}
@@ -1,35 +1,92 @@
 package org.ms.user.service.impl;
 
 import io.grpc.stub.StreamObserver;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
-import net.devh.boot.grpc.server.service.GrpcService;
 import org.ms.grpc_prop.prop.UserRequest;
 import org.ms.grpc_prop.prop.UserResponse;
 import org.ms.grpc_prop.prop.UserServiceGrpc;
-import org.ms.user.UsersApplication;
-import org.ms.user.model.entity.UserEntity;
+import org.ms.grpc_prop.prop.UsersRequest;
+import org.ms.grpc_prop.prop.UsersResponse;
+import org.ms.user.config.grpc.GrpcServerProperties;
+import org.ms.user.model.projection.UserSummary;
 import org.ms.user.service.UserService;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * gRPC service implementation for managing user-related operations.
  * <p>
  *     This class implements the {@link UserServiceGrpc.UserServiceImplBase} and provides
- *     the gRPC endpoint for retrieving user information by user ID. It interacts with the
+ *     the gRPC endpoints for retrieving user information by user ID, one or many at a time, or over
+ *     a long-lived {@code lookupUsers} stream. It interacts with the
  *     {@link UserService} to fetch user details and responds to gRPC requests accordingly.
+ *     It is served by the gRPC server of the {@link org.ms.user.config.grpc.GrpcServerLifecycle}.
  * </p>
  *
  */
 @Slf4j
-@GrpcService
+@Service
 public class UserServiceGRPC extends UserServiceGrpc.UserServiceImplBase {
 
+    private final UserService userService;
+    private final GrpcServerProperties properties;
+    private final ScheduledExecutorService lookupTimer;
+    private final ExecutorService lookupFlusher;
+
+    /**
+     * Creates the gRPC service.
+     * <p>
+     *     The delayed flushes of the {@code lookupUsers} streams are triggered by a single timer
+     *     thread, which only hands them to a separate executor, as they run a database query:
+     *     a new virtual thread per flush with the {@code virtual} server executor, otherwise a
+     *     cached pool of platform threads. A slow query therefore never delays the flushes of
+     *     the other streams.
+     * </p>
+     *
+     * @param userService the service the requests are delegated to
+     * @param properties the server properties, holding the batching settings of {@code lookupUsers}
+     */
+    public UserServiceGRPC(UserService userService, GrpcServerProperties properties) {
+        this.userService = userService;
+        this.properties = properties;
+        this.lookupTimer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "grpc-lookup-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (properties.getExecutor() == GrpcServerProperties.ExecutorType.VIRTUAL) {
+            this.lookupFlusher = Executors.newVirtualThreadPerTaskExecutor();
+        } else {
+            AtomicInteger count = new AtomicInteger();
+            this.lookupFlusher = Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "grpc-lookup-flusher-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * Stops the timer and the executor of the delayed {@code lookupUsers} flushes.
+     */
+    @PreDestroy
+    public void shutdown() {
+        lookupTimer.shutdownNow();
+        lookupFlusher.shutdownNow();
+    }
+
     /**
      * Retrieves a user by ID and sends the response via gRPC.
      * <p>
-     *     This method processes a {@link UserRequest} to fetch a {@link UserEntity} from the
-     *     {@link UserService}. It then builds a {@link UserResponse} with the user details or
-     *     an error response if the user is not found. The response is sent to the client using
-     *     the provided {@link StreamObserver}.
+     *     This method processes a {@link UserRequest} by reading only the {@link UserSummary} of the
+     *     user from the {@link UserService}. It then builds a {@link UserResponse} with the user
+     *     details and {@code found} set, or with {@code found} unset if the user does not exist.
+     *     The response is sent to the client using the provided {@link StreamObserver}.
      * </p>
      *
      * @param request the {@link UserRequest} containing the user ID
@@ -37,25 +94,55 @@ public class UserServiceGRPC extends UserServiceGrpc.UserServiceImplBase {
      */
     @Override
     public void getUserById(UserRequest request, StreamObserver<UserResponse> responseObserver) {
-        UserService userService = UsersApplication.context.getBean(UserService.class);
-        UserEntity userEntity = null;
-        try {
-            userEntity = userService.getUser(request.getUserId());
-        } catch (Exception e) {
-            log.error("The user with id {} does not exist", request.getUserId());
-        }
+        UserSummary user = userService.getUserSummary(request.getUserId());
 
-        if (userEntity == null) {
-            responseObserver.onNext(UserResponse.newBuilder().setUserId(-1L).build());
-            responseObserver.onCompleted();
+        UserResponse.Builder response = UserResponse.newBuilder().setUserId(request.getUserId());
+        if (user == null) {
+            log.debug("The user with id {} does not exist", request.getUserId());
         } else {
-            UserResponse empResp = UserResponse.newBuilder()
-                    .setUserId(userEntity.getId())
-                    .setName(userEntity.getName())
-                    .build();
-            responseObserver.onNext(empResp);
-
-            responseObserver.onCompleted();
+            response.setFound(true);
+            if (user.name() != null) {
+                response.setName(user.name());
+            }
         }
+        responseObserver.onNext(response.build());
+        responseObserver.onCompleted();
+    }
+
+    /**
+     * Checks which of the requested user IDs exist and sends them back via gRPC.
+     * <p>
+     *     This method resolves all the IDs of the {@link UsersRequest} with a single query through
+     *     the {@link UserService} and responds with the subset of IDs that belong to existing users.
+     * </p>
+     *
+     * @param request the {@link UsersRequest} containing the user IDs
+     * @param responseObserver the {@link StreamObserver} to send the {@link UsersResponse}
+     */
+    @Override
+    public void getUsersByIds(UsersRequest request, StreamObserver<UsersResponse> responseObserver) {
+        UsersResponse response = UsersResponse.newBuilder()
+                .addAllExistingUserIds(userService.getExistingUserIds(request.getUserIdsList()))
+                .build();
+        responseObserver.onNext(response);
+        responseObserver.onCompleted();
+    }
+
+    /**
+     * Opens a {@code lookupUsers} stream, answering each requested user ID with its existence.
+     * <p>
+     *     The IDs are resolved in batches of up to 'grpc.server.lookup-batch-size', by one query each,
+     *     and an ID waits at most 'grpc.server.lookup-max-delay' for its batch to fill. The answers
+     *     are sent in request order, and no more IDs are read while the client does not take the
+     *     answers. See {@link UserLookupBatcher}.
+     * </p>
+     *
+     * @param responseObserver the {@link StreamObserver} to send the {@link UserResponse} answers
+     * @return the {@link StreamObserver} receiving the {@link UserRequest} messages of the client
+     */
+    @Override
+    public StreamObserver<UserRequest> lookupUsers(StreamObserver<UserResponse> responseObserver) {
+        return new UserLookupBatcher(userService, responseObserver, lookupTimer, lookupFlusher,
+                properties.getLookupBatchSize(), properties.getLookupMaxDelay());
     }
 }
@@ -1,19 +1,32 @@
 package org.ms.user.service.impl;
 
 import lombok.RequiredArgsConstructor;
+import org.ms.user.config.cache.UserCacheConfig;
+import org.ms.user.model.entity.OutboxEventEntity;
 import org.ms.user.model.entity.UserEntity;
+import org.ms.user.model.projection.UserSummary;
+import org.ms.user.repository.OutboxEventRepository;
 import org.ms.user.repository.UserRepository;
 import org.ms.user.service.UserService;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Implementation of the {@link UserService} interface.
  * <p>
  *     This class provides concrete implementations for managing user data,
  *     including retrieving, creating, and deleting user entities. It interacts
- *     with the {@link UserRepository} to perform CRUD operations on user data.
+ *     with the {@link UserRepository} to perform CRUD operations on user data, and records the
+ *     user events in the outbox.
  * </p>
  *
  */
@@ -22,49 +35,136 @@ import java.util.List;
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
+    private final OutboxEventRepository outboxEventRepository;
 
     /**
-     * Retrieves a list of all users.
+     * Retrieves a page of users, ordered by ID.
+     * <p>
+     *     The page is read in a read-only transaction, so Hibernate keeps no snapshots
+     *     of the loaded entities for dirty checking.
+     * </p>
      *
-     * @return a {@link List} of {@link UserEntity} objects representing all users
+     * @param after the ID of the last user of the previous page; {@code 0} for the first page
+     * @param limit the maximum number of users to return
+     * @return a {@link List} of at most {@code limit} {@link UserEntity} objects
      */
     @Override
-    public List<UserEntity> getUsers() {
-        return userRepository.findAll();
+    @Transactional(readOnly = true)
+    public List<UserEntity> getUsers(long after, int limit) {
+        return userRepository.findUsersAfter(after, Limit.of(limit));
+    }
+
+    /**
+     * Streams all the users after the given ID through a database cursor.
+     *
+     * @param after the ID after which to start; {@code 0} starts from the first user
+     * @param consumer the callback receiving each {@link UserEntity}
+     */
+    @Override
+    public void streamUsers(long after, Consumer<UserEntity> consumer) {
+        userRepository.streamUsersAfter(after, consumer);
     }
 
     /**
      * Creates a new user.
+     * <p>
+     *     The created user is written to the user cache, so the first read of a new user
+     *     does not go to the database.
+     * </p>
      *
      * @param user the {@link UserEntity} object to be created
      * @return the created {@link UserEntity} object
      */
     @Override
+    @CachePut(cacheNames = UserCacheConfig.USERS_CACHE, key = "#result.id")
     public UserEntity createUser(UserEntity user) {
         return userRepository.save(user);
     }
 
+    /**
+     * Creates several users in a single transaction.
+     * <p>
+     *     The inserts are sent to the database in JDBC batches whose size is set by the
+     *     'spring.jpa.properties.hibernate.jdbc.batch_size' property.
+     * </p>
+     *
+     * @param users the {@link UserEntity} objects to be created
+     * @return the created {@link UserEntity} objects, in the same order
+     */
+    @Override
+    @Transactional
+    public List<UserEntity> createUsers(List<UserEntity> users) {
+        return userRepository.saveAll(users);
+    }
+
     /**
      * Retrieves a user by ID.
+     * <p>
+     *     The user is read through the user cache. Missing users are not cached, so unknown
+     *     IDs cannot fill the cache. A cache miss is read in a read-only transaction, on a
+     *     replica when there are some.
+     * </p>
      *
      * @param id the ID of the user to retrieve
      * @return the {@link UserEntity} object with the specified ID, or {@code null} if not found
      */
     @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = UserCacheConfig.USERS_CACHE, unless = "#result == null")
     public UserEntity getUser(Long id) {
         return userRepository.findById(id).orElse(null);
     }
 
     /**
-     * Deletes a user by ID.
+     * Retrieves the ID and name of a user, without loading the full entity.
+     * <p>
+     *     The existence checks of the post service read from the primary, so a post can be created
+     *     for a user as soon as the user is created.
+     * </p>
+     *
+     * @param id the ID of the user to retrieve
+     * @return the {@link UserSummary} of the user, or {@code null} if not found
+     */
+    @Override
+    public UserSummary getUserSummary(Long id) {
+        return userRepository.findSummaryById(id).orElse(null);
+    }
+
+    /**
+     * Retrieves which of the given IDs belong to existing users, in a single query.
+     *
+     * @param ids the IDs to check
+     * @return the IDs of the existing users; missing IDs are skipped
+     */
+    @Override
+    public List<Long> getExistingUserIds(Collection<Long> ids) {
+        return userRepository.findExistingIds(ids);
+    }
+
+    /**
+     * Deletes a user by ID and evicts it from the user cache.
+     * <p>
+     *     The user deletion event is written to the outbox in the same transaction, and published
+     *     to Kafka later by the {@link OutboxRelay}: the event is sent if and only if the user was
+     *     deleted, and the caller does not wait for the broker. The user is evicted from the cache
+     *     after the commit, as ordered by {@link UserCacheConfig}.
+     * </p>
      *
      * @param id the ID of the user to delete
      * @return {@code true} if the user was deleted successfully, {@code false} otherwise
      */
     @Override
+    @Transactional
+    @CacheEvict(cacheNames = UserCacheConfig.USERS_CACHE)
     public boolean deleteUser(Long id) {
         if (userRepository.existsById(id)) {
             userRepository.deleteById(id);
+            outboxEventRepository.save(OutboxEventEntity.builder()
+                    .topic(UserEventPublisher.USER_DELETED_TOPIC)
+                    .messageKey(id)
+                    .payload(UserEventPublisher.userDeletedEvent(id))
+                    .createdAt(Instant.now())
+                    .build());
             return true;
         }
         return false;
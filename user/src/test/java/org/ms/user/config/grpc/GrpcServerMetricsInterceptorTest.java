@@ -0,0 +1,113 @@
+package org.ms.user.config.grpc;
+
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.Server;
+import io.grpc.ServerInterceptors;
+import io.grpc.StatusRuntimeException;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import io.grpc.stub.StreamObserver;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.ms.grpc_prop.prop.UserRequest;
+import org.ms.grpc_prop.prop.UserResponse;
+import org.ms.grpc_prop.prop.UserServiceGrpc;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GrpcServerMetricsInterceptorTest {
+
+    private static final String GET_USER_BY_ID = UserServiceGrpc.getGetUserByIdMethod().getFullMethodName();
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch callReceived = new CountDownLatch(1);
+    private final CountDownLatch answer = new CountDownLatch(1);
+
+    private ExecutorService executor;
+    private Server server;
+    private ManagedChannel channel;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        GrpcServerMetricsInterceptor interceptor = new GrpcServerMetricsInterceptor(meterRegistry);
+        executor = Executors.newSingleThreadExecutor();
+        server = NettyServerBuilder.forPort(0)
+                .executor(executor)
+                .addStreamTracerFactory(interceptor)
+                .addService(ServerInterceptors.intercept(new UserServiceGrpc.UserServiceImplBase() {
+                    @Override
+                    public void getUserById(UserRequest request, StreamObserver<UserResponse> responseObserver) {
+                        if (request.getUserId() < 0) {
+                            throw new IllegalArgumentException("negative id");
+                        }
+                        callReceived.countDown();
+                        try {
+                            answer.await(5, TimeUnit.SECONDS);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        responseObserver.onNext(UserResponse.newBuilder().setUserId(request.getUserId()).setFound(true).build());
+                        responseObserver.onCompleted();
+                    }
+                }, interceptor))
+                .build().start();
+        channel = ManagedChannelBuilder.forAddress("localhost", server.getPort()).usePlaintext().build();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        server.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        executor.shutdownNow();
+    }
+
+    @Test
+    void callsRecordTheirDurationStatusSizesAndQueueTime() throws Exception {
+        UserServiceGrpc.UserServiceBlockingStub stub = UserServiceGrpc.newBlockingStub(channel);
+        CompletableFuture<UserResponse> first = CompletableFuture.supplyAsync(() ->
+                stub.getUserById(UserRequest.newBuilder().setUserId(7L).build()));
+        assertThat(callReceived.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<UserResponse> second = CompletableFuture.supplyAsync(() ->
+                stub.getUserById(UserRequest.newBuilder().setUserId(8L).build()));
+        Thread.sleep(200);
+
+        assertThat(meterRegistry.get("grpc.server.calls.active").tag("method", GET_USER_BY_ID).gauge().value()).isEqualTo(1);
+        answer.countDown();
+        first.get(5, TimeUnit.SECONDS);
+        second.get(5, TimeUnit.SECONDS);
+
+        assertThat(meterRegistry.get("grpc.server.call.duration").tags("method", GET_USER_BY_ID, "status", "OK")
+                .timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("grpc.server.calls.active").tag("method", GET_USER_BY_ID).gauge().value()).isZero();
+        assertThat(meterRegistry.get("grpc.server.call.queue").tag("method", GET_USER_BY_ID).timer()
+                .max(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(50);
+        assertThat(meterRegistry.get("grpc.server.message.size").tags("method", GET_USER_BY_ID, "direction", "received")
+                .summary().totalAmount()).isEqualTo(2 * UserRequest.newBuilder().setUserId(7L).build().getSerializedSize());
+        assertThat(meterRegistry.get("grpc.server.message.size").tags("method", GET_USER_BY_ID, "direction", "sent")
+                .summary().count()).isEqualTo(2);
+    }
+
+    @Test
+    void failingHandlerIsRecordedAsUnknown() {
+        UserServiceGrpc.UserServiceBlockingStub stub = UserServiceGrpc.newBlockingStub(channel);
+
+        assertThatThrownBy(() -> stub.getUserById(UserRequest.newBuilder().setUserId(-1L).build()))
+                .isInstanceOf(StatusRuntimeException.class);
+
+        assertThat(meterRegistry.get("grpc.server.call.duration").tags("method", GET_USER_BY_ID, "status", "UNKNOWN")
+                .timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.find("grpc.server.call.duration").tag("status", "CANCELLED").timer()).isNull();
+        assertThat(meterRegistry.get("grpc.server.calls.active").tag("method", GET_USER_BY_ID).gauge().value()).isZero();
+    }
+}
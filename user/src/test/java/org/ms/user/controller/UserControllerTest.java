@@ -0,0 +1,55 @@
+package org.ms.user.controller;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.ms.user.mappers.impl.UserMapper;
+import org.ms.user.model.entity.UserEntity;
+import org.ms.user.service.UserService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(UserController.class)
+@Import(UserMapper.class)
+class UserControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private UserService userService;
+
+    @Test
+    void createdUsersIgnoreTheIdSentByTheClient() throws Exception {
+        when(userService.createUser(any())).thenReturn(new UserEntity(8L, "a user", 0L));
+        when(userService.createUsers(any())).thenReturn(List.of(new UserEntity(8L, "a user", 0L)));
+
+        mockMvc.perform(post("/users").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"id\":5,\"name\":\"a user\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(8));
+        mockMvc.perform(post("/users/batch").contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"id\":5,\"name\":\"a user\"}]"))
+                .andExpect(status().isOk());
+
+        ArgumentCaptor<UserEntity> created = ArgumentCaptor.forClass(UserEntity.class);
+        verify(userService).createUser(created.capture());
+        assertThat(created.getValue().getId()).isNull();
+        ArgumentCaptor<List<UserEntity>> batch = ArgumentCaptor.captor();
+        verify(userService).createUsers(batch.capture());
+        assertThat(batch.getValue()).extracting(UserEntity::getId).containsOnlyNulls();
+    }
+}
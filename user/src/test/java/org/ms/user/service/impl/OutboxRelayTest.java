@@ -0,0 +1,180 @@
+package org.ms.user.service.impl;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.ms.grpc_prop.prop.UserDeletedEvent;
+import org.ms.user.config.outbox.OutboxRelayProperties;
+import org.ms.user.model.entity.OutboxEventEntity;
+import org.ms.user.model.entity.UserEntity;
+import org.ms.user.repository.OutboxEventRepository;
+import org.ms.user.repository.UserRepository;
+import org.mockito.InOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest(properties = "outbox.relay.batch-size=2")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({OutboxRelay.class, UserServiceImpl.class, OutboxRelayTest.Config.class})
+class OutboxRelayTest {
+
+    private static final String TOPIC = UserEventPublisher.USER_DELETED_TOPIC;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private UserServiceImpl userService;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockBean
+    private UserEventPublisher userEventPublisher;
+
+    @AfterEach
+    void tearDown() {
+        outboxEventRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void deleteUserRecordsTheEventWithTheDeletion() throws Exception {
+        Long id = userRepository.save(UserEntity.builder().name("user").build()).getId();
+
+        assertThat(userService.deleteUser(id)).isTrue();
+
+        assertThat(userRepository.existsById(id)).isFalse();
+        List<OutboxEventEntity> events = outboxEventRepository.findAll();
+        assertThat(events).singleElement().satisfies(event -> {
+            assertThat(event.getTopic()).isEqualTo(TOPIC);
+            assertThat(event.getMessageKey()).isEqualTo(id);
+        });
+        assertThat(UserDeletedEvent.parseFrom(events.get(0).getPayload()).getUserId()).isEqualTo(id);
+    }
+
+    @Test
+    void deleteOfAMissingUserRecordsNoEvent() {
+        assertThat(userService.deleteUser(404L)).isFalse();
+
+        assertThat(outboxEventRepository.count()).isZero();
+        verify(userEventPublisher, never()).publish(any(), any(), any());
+    }
+
+    @Test
+    void relayPublishesTheEventsInOrderAndDeletesThem() {
+        saveEvents(1L, 2L, 3L, 4L, 5L);
+        when(userEventPublisher.publish(eq(TOPIC), anyLong(), any())).thenReturn(CompletableFuture.completedFuture(null));
+        double published = meterRegistry.get("outbox.relay.published").counter().count();
+        long batches = meterRegistry.get("outbox.relay.batch").timer().count();
+
+        outboxRelay.relayEvents();
+
+        InOrder order = inOrder(userEventPublisher);
+        for (long key = 1; key <= 5; key++) {
+            order.verify(userEventPublisher).publish(eq(TOPIC), eq(key), any());
+        }
+        assertThat(outboxEventRepository.count()).isZero();
+        assertThat(meterRegistry.get("outbox.relay.published").counter().count()).isEqualTo(published + 5);
+        assertThat(meterRegistry.get("outbox.relay.batch").timer().count()).isEqualTo(batches + 3);
+        assertThat(meterRegistry.get("outbox.depth").gauge().value()).isZero();
+    }
+
+    @Test
+    void failedSendKeepsTheBatchForTheNextRun() {
+        saveEvents(1L, 2L, 3L);
+        when(userEventPublisher.publish(eq(TOPIC), anyLong(), any()))
+                .thenReturn(CompletableFuture.completedFuture(null))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+
+        outboxRelay.relayEvents();
+
+        assertThat(outboxEventRepository.findAll()).extracting(OutboxEventEntity::getMessageKey)
+                .containsExactlyInAnyOrder(1L, 2L, 3L);
+        assertThat(meterRegistry.get("outbox.depth").gauge().value()).isEqualTo(3.0);
+    }
+
+    @Test
+    void relaySkipsTheEventsLockedByAnotherRelay() throws Exception {
+        saveEvents(1L, 2L, 3L);
+        when(userEventPublisher.publish(eq(TOPIC), anyLong(), any())).thenReturn(CompletableFuture.completedFuture(null));
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> otherRelay = CompletableFuture.runAsync(() ->
+                new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                    outboxEventRepository.lockNextEvents(2);
+                    locked.countDown();
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }));
+        assertThat(locked.await(5, TimeUnit.SECONDS)).isTrue();
+
+        outboxRelay.relayEvents();
+        release.countDown();
+        otherRelay.get(5, TimeUnit.SECONDS);
+
+        verify(userEventPublisher, times(1)).publish(any(), any(), any());
+        verify(userEventPublisher).publish(eq(TOPIC), eq(3L), any());
+        assertThat(outboxEventRepository.findAll()).extracting(OutboxEventEntity::getMessageKey)
+                .containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    private void saveEvents(Long... keys) {
+        for (Long key : keys) {
+            outboxEventRepository.save(OutboxEventEntity.builder()
+                    .topic(TOPIC)
+                    .messageKey(key)
+                    .payload(UserEventPublisher.userDeletedEvent(key))
+                    .createdAt(Instant.now())
+                    .build());
+        }
+    }
+
+    @TestConfiguration
+    @EnableConfigurationProperties(OutboxRelayProperties.class)
+    static class Config {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package org.ms.user.service.impl;
+
+import io.grpc.stub.ServerCallStreamObserver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.ms.grpc_prop.prop.UserRequest;
+import org.ms.grpc_prop.prop.UserResponse;
+import org.ms.user.service.UserService;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class UserLookupBatcherTest {
+
+    private static final Set<Long> EXISTING = Set.of(1L, 3L, 4L);
+
+    private final List<List<Long>> queries = new CopyOnWriteArrayList<>();
+    private final List<String> queryThreads = new CopyOnWriteArrayList<>();
+
+    private UserService userService;
+    private ScheduledExecutorService timer;
+    private ExecutorService flusher;
+    private FakeCall call;
+
+    @BeforeEach
+    void setUp() {
+        userService = mock(UserService.class);
+        when(userService.getExistingUserIds(any())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            queries.add(List.copyOf(ids));
+            queryThreads.add(Thread.currentThread().getName());
+            return ids.stream().filter(EXISTING::contains).toList();
+        });
+        timer = Executors.newSingleThreadScheduledExecutor(runnable -> new Thread(runnable, "timer"));
+        flusher = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "flusher"));
+        call = new FakeCall();
+    }
+
+    @AfterEach
+    void tearDown() {
+        timer.shutdownNow();
+        flusher.shutdownNow();
+    }
+
+    @Test
+    void fullBatchesAreResolvedByOneQueryAndAnsweredInOrder() {
+        UserLookupBatcher batcher = batcher(Duration.ofMinutes(1));
+
+        send(batcher, 4L, 2L, 1L, 5L, 3L);
+        batcher.onCompleted();
+
+        assertThat(queries).containsExactly(List.of(4L, 2L, 1L), List.of(5L, 3L));
+        assertThat(call.answers).extracting(UserResponse::getUserId).containsExactly(4L, 2L, 1L, 5L, 3L);
+        assertThat(call.answers).extracting(UserResponse::getFound).containsExactly(true, false, true, false, true);
+        assertThat(call.completed).isTrue();
+    }
+
+    @Test
+    void delayedFlushRunsOnTheFlushExecutor() throws InterruptedException {
+        UserLookupBatcher batcher = batcher(Duration.ofMillis(5));
+
+        send(batcher, 1L, 2L);
+
+        assertThat(call.answered.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(queries).containsExactly(List.of(1L, 2L));
+        assertThat(queryThreads).containsExactly("flusher");
+    }
+
+    @Test
+    void readsNoMoreIdsUntilTheAnswersAreTaken() {
+        UserLookupBatcher batcher = batcher(Duration.ofMinutes(1));
+        assertThat(call.requested).containsExactly(3);
+
+        call.ready = false;
+        send(batcher, 1L, 2L, 3L);
+        assertThat(call.requested).containsExactly(3);
+
+        call.ready = true;
+        call.onReady.run();
+        assertThat(call.requested).containsExactly(3, 3);
+    }
+
+    private UserLookupBatcher batcher(Duration maxDelay) {
+        return new UserLookupBatcher(userService, call, timer, flusher, 3, maxDelay);
+    }
+
+    private static void send(UserLookupBatcher batcher, long... userIds) {
+        for (long userId : userIds) {
+            batcher.onNext(UserRequest.newBuilder().setUserId(userId).build());
+        }
+    }
+
+    private static class FakeCall extends ServerCallStreamObserver<UserResponse> {
+
+        private final List<UserResponse> answers = new CopyOnWriteArrayList<>();
+        private final List<Integer> requested = new ArrayList<>();
+        private final CountDownLatch answered = new CountDownLatch(2);
+        private volatile boolean ready = true;
+        private volatile boolean completed;
+        private Runnable onReady;
+
+        @Override
+        public void onNext(UserResponse value) {
+            answers.add(value);
+            answered.countDown();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+        }
+
+        @Override
+        public void onCompleted() {
+            completed = true;
+        }
+
+        @Override
+        public boolean isReady() {
+            return ready;
+        }
+
+        @Override
+        public void setOnReadyHandler(Runnable onReadyHandler) {
+            onReady = onReadyHandler;
+        }
+
+        @Override
+        public void request(int count) {
+            requested.add(count);
+        }
+
+        @Override
+        public void disableAutoRequest() {
+        }
+
+        @Override
+        public void disableAutoInboundFlowControl() {
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return false;
+        }
+
+        @Override
+        public void setOnCancelHandler(Runnable onCancelHandler) {
+        }
+
+        @Override
+        public void setCompression(String compression) {
+        }
+
+        @Override
+        public void setMessageCompression(boolean enable) {
+        }
+    }
+}
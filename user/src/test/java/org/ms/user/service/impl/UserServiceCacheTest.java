@@ -0,0 +1,84 @@
+package org.ms.user.service.impl;
+
+import org.junit.jupiter.api.Test;
+import org.ms.user.config.cache.UserCacheConfig;
+import org.ms.user.model.entity.UserEntity;
+import org.ms.user.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({UserServiceImpl.class, UserCacheConfig.class, UserServiceCacheTest.Config.class})
+class UserServiceCacheTest {
+
+    @Autowired
+    private UserServiceImpl userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RecordingCache cache;
+
+    @Test
+    void deletedUserIsEvictedAfterTheCommit() {
+        Long id = userRepository.save(UserEntity.builder().name("user").build()).getId();
+        assertThat(userService.getUser(id)).isNotNull();
+        assertThat(cache.get(id)).isNotNull();
+
+        assertThat(userService.deleteUser(id)).isTrue();
+
+        assertThat(cache.get(id)).isNull();
+        assertThat(cache.evictionsInTransaction).containsExactly(false);
+    }
+
+    @TestConfiguration
+    static class Config {
+
+        @Bean
+        RecordingCache usersCache() {
+            return new RecordingCache();
+        }
+
+        @Bean
+        CacheManager cacheManager(RecordingCache usersCache) {
+            SimpleCacheManager cacheManager = new SimpleCacheManager();
+            cacheManager.setCaches(List.<Cache>of(usersCache));
+            return cacheManager;
+        }
+    }
+
+    /**
+     * A cache recording whether each eviction ran inside a transaction.
+     */
+    static class RecordingCache extends ConcurrentMapCache {
+
+        private final List<Boolean> evictionsInTransaction = new CopyOnWriteArrayList<>();
+
+        RecordingCache() {
+            super(UserCacheConfig.USERS_CACHE);
+        }
+
+        @Override
+        public void evict(Object key) {
+            evictionsInTransaction.add(TransactionSynchronizationManager.isActualTransactionActive());
+            super.evict(key);
+        }
+    }
+}